@@ -38,6 +38,22 @@ idea-extension)
   mvn -e --no-transfer-progress verify
   ;;
 
+benchmark)
+  cd sevntu-checks
+  mvn -e --no-transfer-progress clean install -Pno-validations
+  cd ..
+  cd sevntu-checks-benchmark
+  mvn -e --no-transfer-progress package
+  ;;
+
+runner)
+  cd sevntu-checks
+  mvn -e --no-transfer-progress clean install -Pno-validations
+  cd ..
+  cd sevntu-runner
+  mvn -e --no-transfer-progress package
+  ;;
+
 sonar-plugin)
   cd sevntu-checks
   mvn -e --no-transfer-progress clean install -Pno-validations
@@ -14,8 +14,10 @@ fi
 
 POM_FILES=(eclipse-pom.xml
 sevntu-checks/pom.xml
+sevntu-checks-benchmark/pom.xml
 sevntu-checkstyle-idea-extension/pom.xml
 sevntu-checkstyle-sonar-plugin/pom.xml
+sevntu-runner/pom.xml
 )
 for i in "${POM_FILES[@]}"
 do
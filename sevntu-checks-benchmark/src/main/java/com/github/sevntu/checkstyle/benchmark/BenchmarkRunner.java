@@ -0,0 +1,152 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.sevntu.checkstyle.benchmark;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.puppycrawl.tools.checkstyle.PackageNamesLoader;
+import com.puppycrawl.tools.checkstyle.utils.ModuleReflectionUtil;
+
+/**
+ * Runs {@link CheckBenchmark} for every sevntu check and prints a summary with
+ * files/sec, ns/token and bytes allocated per pass over the corpus for each of them.
+ *
+ * <p>
+ * Usage: {@code java -jar target/benchmarks.jar [corpusDirectory] [checkNameRegexp]}
+ * </p>
+ */
+public final class BenchmarkRunner {
+
+    /** Package all sevntu checks are located in. */
+    private static final String CHECKS_PACKAGE = "com.github.sevntu.checkstyle.checks.";
+
+    /** Default corpus, sources of sevntu-checks itself. */
+    private static final String DEFAULT_CORPUS = "../sevntu-checks/src/main/java";
+
+    /** Nanoseconds in one second. */
+    private static final double NANOS_IN_SECOND = 1_000_000_000.0;
+
+    /** Prevent instances. */
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * Entry point.
+     *
+     * @param args optional corpus directory and optional regexp to filter checks by name
+     * @throws Exception if benchmarks can not be run
+     */
+    public static void main(String... args) throws Exception {
+        String corpusDirectory = DEFAULT_CORPUS;
+        if (args.length > 0) {
+            corpusDirectory = args[0];
+        }
+        Pattern filter = Pattern.compile(".*");
+        if (args.length > 1) {
+            filter = Pattern.compile(args[1]);
+        }
+        final Pattern checkFilter = filter;
+        final List<String> checks = getSevntuChecks().stream()
+                .filter(name -> checkFilter.matcher(name).find())
+                .collect(Collectors.toList());
+
+        final ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(CheckBenchmark.class.getSimpleName())
+                .param("checkName", checks.toArray(new String[0]))
+                .param("corpusDirectory", corpusDirectory)
+                .addProfiler(GCProfiler.class);
+
+        printSummary(new Runner(options.build()).run());
+    }
+
+    /**
+     * Discovers sevntu checks the same way checkstyle discovers its modules, through
+     * the {@code checkstyle_packages.xml} files found on the class path.
+     *
+     * @return sorted fully qualified names of the sevntu checks
+     * @throws Exception if the attempt to read class path resources failed
+     */
+    public static List<String> getSevntuChecks() throws Exception {
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        return ModuleReflectionUtil.getCheckstyleModules(
+                PackageNamesLoader.getPackageNames(loader), loader).stream()
+            .filter(ModuleReflectionUtil::isCheckstyleTreeWalkerCheck)
+            .map(Class::getName)
+            .filter(name -> name.startsWith(CHECKS_PACKAGE))
+            .sorted()
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Prints one line per check, sorted from the slowest to the fastest.
+     *
+     * @param results results of the benchmarks
+     */
+    private static void printSummary(Collection<RunResult> results) {
+        System.out.println();
+        System.out.println(String.format(Locale.ROOT, "%-60s %14s %12s %16s",
+                "Check", "files/sec", "ns/token", "bytes/op"));
+        results.stream()
+            .sorted((first, second) -> Double.compare(
+                    getSecondaryScore(first, "tokens"), getSecondaryScore(second, "tokens")))
+            .forEach(result -> {
+                final String check = result.getParams().getParam("checkName")
+                        .replace(CHECKS_PACKAGE, "");
+                final double tokensPerSecond = getSecondaryScore(result, "tokens");
+                System.out.println(String.format(Locale.ROOT, "%-60s %14.1f %12.2f %16.0f",
+                        check,
+                        getSecondaryScore(result, "files"),
+                        NANOS_IN_SECOND / tokensPerSecond,
+                        getSecondaryScore(result, "gc.alloc.rate.norm")));
+            });
+    }
+
+    /**
+     * Gets score of a secondary result by label suffix, as profiler labels are prefixed
+     * differently by different JMH versions.
+     *
+     * @param result result of the benchmark
+     * @param label label suffix of the secondary result
+     * @return score of the result, or {@code NaN} if it is not available
+     */
+    private static double getSecondaryScore(RunResult result, String label) {
+        double score = Double.NaN;
+        for (Map.Entry<String, Result> entry : result.getSecondaryResults().entrySet()) {
+            if (entry.getKey().endsWith(label)) {
+                score = entry.getValue().getScore();
+                break;
+            }
+        }
+        return score;
+    }
+
+}
@@ -0,0 +1,119 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.sevntu.checkstyle.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.sevntu.checkstyle.benchmark.Corpus.CorpusFile;
+
+/**
+ * Measures how fast a single check processes the whole corpus. One operation is one pass
+ * over every file of the corpus, secondary {@code files} and {@code tokens} counters give
+ * per-file and per-token throughput. Allocation per operation is reported when the
+ * benchmark is run with the GC profiler, which {@link BenchmarkRunner} always enables.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class CheckBenchmark {
+
+    /** Fully qualified name of the measured check, overridden by {@link BenchmarkRunner}. */
+    @Param("com.github.sevntu.checkstyle.checks.coding.ReturnCountExtendedCheck")
+    public String checkName;
+
+    /** Directory with the java sources to run the check over. */
+    @Param("../sevntu-checks/src/main/java")
+    public String corpusDirectory;
+
+    /** Parsed sources. */
+    private Corpus corpus;
+
+    /** Driver of the measured check. */
+    private CheckDriver driver;
+
+    /**
+     * Parses the corpus and creates the check.
+     *
+     * @throws Exception if corpus can not be loaded or check can not be created
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        corpus = Corpus.load(corpusDirectory);
+        driver = new CheckDriver(checkName);
+    }
+
+    /**
+     * Runs the check over every file of the corpus.
+     *
+     * @param counters secondary per-file and per-token counters
+     * @return number of violations, returned so the work can not be eliminated
+     */
+    @Benchmark
+    public int processCorpus(Counters counters) {
+        int violations = 0;
+        for (CorpusFile file : corpus.getFiles()) {
+            violations += driver.process(file);
+        }
+        counters.files += corpus.getFiles().size();
+        counters.tokens += corpus.getTokenCount();
+        return violations;
+    }
+
+    /**
+     * Secondary throughput counters. JMH reports them as rates, so {@code files} is
+     * files/sec and {@code tokens} is tokens/sec, ns/token being its reciprocal.
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+
+        /** Number of processed files. */
+        public long files;
+
+        /** Number of processed AST nodes. */
+        public long tokens;
+
+        /** Resets counters before each iteration. */
+        @Setup(Level.Iteration)
+        public void reset() {
+            files = 0;
+            tokens = 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,109 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.sevntu.checkstyle.benchmark;
+
+import java.util.BitSet;
+
+import com.github.sevntu.checkstyle.benchmark.Corpus.CorpusFile;
+import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+
+/**
+ * Feeds already parsed files to a single check the same way {@code TreeWalker} does,
+ * without parsing and without any other check being involved.
+ */
+public final class CheckDriver {
+
+    /** Check under measurement. */
+    private final AbstractCheck check;
+
+    /** Token types the check subscribes to. */
+    private final BitSet tokens = new BitSet();
+
+    /** Whether check has to receive comment nodes. */
+    private final boolean commentNodesRequired;
+
+    /**
+     * Creates and configures a check with its default properties.
+     *
+     * @param checkClassName fully qualified name of the check
+     * @throws CheckstyleException if check can not be instantiated or configured
+     */
+    public CheckDriver(String checkClassName) throws CheckstyleException {
+        try {
+            check = (AbstractCheck) Class.forName(checkClassName)
+                    .getDeclaredConstructor().newInstance();
+        }
+        catch (ReflectiveOperationException | ClassCastException exc) {
+            throw new CheckstyleException("Unable to instantiate " + checkClassName, exc);
+        }
+        check.configure(new DefaultConfiguration(checkClassName));
+        check.init();
+        for (int token : check.getDefaultTokens()) {
+            tokens.set(token);
+        }
+        for (int token : check.getRequiredTokens()) {
+            tokens.set(token);
+        }
+        commentNodesRequired = check.isCommentNodesRequired();
+    }
+
+    /**
+     * Runs the check over a single file.
+     *
+     * @param file file to process
+     * @return number of violations reported by the check
+     */
+    public int process(CorpusFile file) {
+        final DetailAST root = file.getRoot(commentNodesRequired);
+        check.clearViolations();
+        check.setFileContents(file.getContents());
+        check.beginTree(root);
+        walk(root);
+        check.finishTree(root);
+        return check.getViolations().size();
+    }
+
+    /**
+     * Visits every node of the tree, notifying the check about the subscribed ones.
+     *
+     * @param root first top level node
+     */
+    private void walk(DetailAST root) {
+        DetailAST curNode = root;
+        while (curNode != null) {
+            if (tokens.get(curNode.getType())) {
+                check.visitToken(curNode);
+            }
+            DetailAST toVisit = curNode.getFirstChild();
+            while (curNode != null && toVisit == null) {
+                if (tokens.get(curNode.getType())) {
+                    check.leaveToken(curNode);
+                }
+                toVisit = curNode.getNextSibling();
+                curNode = curNode.getParent();
+            }
+            curNode = toVisit;
+        }
+    }
+
+}
@@ -0,0 +1,206 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.sevntu.checkstyle.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.puppycrawl.tools.checkstyle.JavaParser;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileContents;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+
+/**
+ * Fixed set of java sources which are parsed once, before measurement starts, so
+ * benchmarks only measure the time spent inside of checks.
+ */
+public final class Corpus {
+
+    /** Parsed files in stable (path) order. */
+    private final List<CorpusFile> files;
+
+    /** Total number of AST nodes, comments excluded, in all files. */
+    private final long tokenCount;
+
+    /**
+     * Creates corpus from already parsed files.
+     *
+     * @param files parsed files
+     */
+    private Corpus(List<CorpusFile> files) {
+        this.files = Collections.unmodifiableList(files);
+        long count = 0;
+        for (CorpusFile file : files) {
+            count += file.getTokenCount();
+        }
+        tokenCount = count;
+    }
+
+    /**
+     * Loads every java file found under the given directory. Files which can not be
+     * parsed (e.g. non-compilable inputs) are skipped.
+     *
+     * @param directory root directory of the corpus
+     * @return loaded corpus
+     * @throws IOException if directory can not be read
+     */
+    public static Corpus load(String directory) throws IOException {
+        final Path root = Paths.get(directory);
+        final List<Path> paths;
+        try (Stream<Path> stream = Files.walk(root)) {
+            paths = stream
+                .filter(path -> path.toString().endsWith(".java"))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+
+        final List<CorpusFile> result = new ArrayList<>();
+        for (Path path : paths) {
+            try {
+                result.add(parse(path.toFile()));
+            }
+            catch (CheckstyleException ignored) {
+                // file is not a valid java source, it is not part of the corpus
+            }
+        }
+        if (result.isEmpty()) {
+            throw new IllegalStateException("No parsable java sources found in "
+                    + root.toAbsolutePath());
+        }
+        return new Corpus(result);
+    }
+
+    /**
+     * Parses a single file with and without comment nodes.
+     *
+     * @param file file to parse
+     * @return parsed file
+     * @throws IOException if file can not be read
+     * @throws CheckstyleException if file can not be parsed
+     */
+    private static CorpusFile parse(File file) throws IOException, CheckstyleException {
+        final FileText text = new FileText(file, StandardCharsets.UTF_8.name());
+        final FileContents contents = new FileContents(text);
+        final DetailAST root = JavaParser.parse(contents);
+        final DetailAST rootWithComments =
+                JavaParser.appendHiddenCommentNodes(JavaParser.parse(contents));
+        return new CorpusFile(contents, root, rootWithComments, countNodes(root));
+    }
+
+    /**
+     * Counts all nodes of a tree, including siblings of the root.
+     *
+     * @param root first top level node
+     * @return number of nodes
+     */
+    private static int countNodes(DetailAST root) {
+        int result = 0;
+        DetailAST curNode = root;
+        while (curNode != null) {
+            result++;
+            DetailAST toVisit = curNode.getFirstChild();
+            while (curNode != null && toVisit == null) {
+                toVisit = curNode.getNextSibling();
+                curNode = curNode.getParent();
+            }
+            curNode = toVisit;
+        }
+        return result;
+    }
+
+    public List<CorpusFile> getFiles() {
+        return files;
+    }
+
+    public long getTokenCount() {
+        return tokenCount;
+    }
+
+    /**
+     * Single parsed file of the corpus.
+     */
+    public static final class CorpusFile {
+
+        /** Contents of the file. */
+        private final FileContents contents;
+
+        /** AST without comment nodes. */
+        private final DetailAST root;
+
+        /** AST with comment nodes. */
+        private final DetailAST rootWithComments;
+
+        /** Number of nodes in AST without comments. */
+        private final int tokenCount;
+
+        /**
+         * Creates parsed file.
+         *
+         * @param contents contents of the file
+         * @param root AST without comment nodes
+         * @param rootWithComments AST with comment nodes
+         * @param tokenCount number of nodes in AST without comments
+         */
+        private CorpusFile(FileContents contents, DetailAST root, DetailAST rootWithComments,
+                int tokenCount) {
+            this.contents = contents;
+            this.root = root;
+            this.rootWithComments = rootWithComments;
+            this.tokenCount = tokenCount;
+        }
+
+        public FileContents getContents() {
+            return contents;
+        }
+
+        /**
+         * Gets the AST to feed to a check.
+         *
+         * @param withComments whether check requires comment nodes
+         * @return root of the AST
+         */
+        public DetailAST getRoot(boolean withComments) {
+            final DetailAST result;
+            if (withComments) {
+                result = rootWithComments;
+            }
+            else {
+                result = root;
+            }
+            return result;
+        }
+
+        public int getTokenCount() {
+            return tokenCount;
+        }
+
+    }
+
+}
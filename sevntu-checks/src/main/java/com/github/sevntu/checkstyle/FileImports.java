@@ -0,0 +1,197 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.sevntu.checkstyle;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FullIdent;
+import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+
+/**
+ * Package and imports of a Java file. They are resolved once per file and shared by all checks
+ * which need them, instead of each check building the names from IMPORT and PACKAGE_DEF nodes.
+ * The last resolved file is cached per thread by the identity of its root AST, which is the same
+ * for all checks of a TreeWalker while the file is processed. The cache refers to it weakly, so it
+ * is released with the file once the checks drop it in finishTree. Checks which use the imports
+ * keep them in a field till finishTree, otherwise a garbage collection between their beginTree
+ * calls would make the next check resolve the imports again.
+ */
+public final class FileImports {
+
+    /** Suffix of the name of an on-demand import. */
+    private static final String ON_DEMAND_SUFFIX = ".*";
+
+    /**
+     * Imports of the file last resolved by the current thread. They are held weakly, so the
+     * thread does not keep the file reachable once no check refers to them anymore.
+     */
+    private static final ThreadLocal<WeakReference<FileImports>> LAST_RESOLVED =
+            ThreadLocal.withInitial(() -> new WeakReference<>(null));
+
+    /** Root AST of the file. */
+    private final DetailAST rootAST;
+
+    /** Qualified names of types imported by single-type imports, by their simple names. */
+    private final Map<String, String> singleTypeImports = new HashMap<>();
+
+    /** Names of packages and types, members of which are imported on demand. */
+    private final List<String> onDemandImports = new ArrayList<>();
+
+    /** Qualified names of static imports, ending with ".*" for static imports on demand. */
+    private final List<String> staticImports = new ArrayList<>();
+
+    /** Qualified names of imports, ending with ".*" for imports on demand, by import node. */
+    private final Map<DetailAST, String> importNames = new IdentityHashMap<>();
+
+    /** Package name of the file, null for the default package. */
+    private String packageName;
+
+    /**
+     * Resolves the package and imports of the file.
+     *
+     * @param rootAST the root AST of the file, null for an empty file.
+     */
+    private FileImports(DetailAST rootAST) {
+        this.rootAST = rootAST;
+        DetailAST child = null;
+        if (rootAST != null) {
+            child = rootAST.getFirstChild();
+        }
+        while (child != null) {
+            switch (child.getType()) {
+                case TokenTypes.PACKAGE_DEF:
+                    packageName = FullIdent.createFullIdent(
+                            child.getLastChild().getPreviousSibling()).getText();
+                    break;
+                case TokenTypes.IMPORT:
+                    addImport(child);
+                    break;
+                case TokenTypes.STATIC_IMPORT:
+                    addStaticImport(child);
+                    break;
+                default:
+                    break;
+            }
+            child = child.getNextSibling();
+        }
+    }
+
+    /**
+     * Gets the package and imports of the file, resolving them when the file is processed
+     * by the current thread for the first time.
+     *
+     * @param rootAST the root AST of the file, as passed to beginTree.
+     * @return the package and imports of the file.
+     */
+    public static FileImports of(DetailAST rootAST) {
+        FileImports result = LAST_RESOLVED.get().get();
+        if (result == null || result.rootAST != rootAST) {
+            result = new FileImports(rootAST);
+            LAST_RESOLVED.set(new WeakReference<>(result));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the package name of the file.
+     *
+     * @return the package name, null for the default package.
+     */
+    public String getPackageName() {
+        return packageName;
+    }
+
+    /**
+     * Gets the types imported by single-type imports. If several imports have the same simple
+     * name, the first one is kept.
+     *
+     * @return the qualified names of the imported types by their simple names.
+     */
+    public Map<String, String> getSingleTypeImports() {
+        return Collections.unmodifiableMap(singleTypeImports);
+    }
+
+    /**
+     * Gets the packages and types, members of which are imported on demand. For example,
+     * "java.util" for "import java.util.*;".
+     *
+     * @return the names of packages and types in the order of imports.
+     */
+    public List<String> getOnDemandImports() {
+        return Collections.unmodifiableList(onDemandImports);
+    }
+
+    /**
+     * Gets the static imports. For example, "org.junit.Assert.fail" for
+     * "import static org.junit.Assert.fail;" and "org.junit.Assert.*" for
+     * "import static org.junit.Assert.*;".
+     *
+     * @return the qualified names of static imports in the order of imports.
+     */
+    public List<String> getStaticImports() {
+        return Collections.unmodifiableList(staticImports);
+    }
+
+    /**
+     * Gets the qualified name of the import, ending with ".*" for an import on demand.
+     *
+     * @param importAst the IMPORT or STATIC_IMPORT node of the file.
+     * @return the qualified name of the import.
+     */
+    public String getImportName(DetailAST importAst) {
+        return importNames.get(importAst);
+    }
+
+    /**
+     * Adds the single-type or on-demand import.
+     *
+     * @param importAst the IMPORT node.
+     */
+    private void addImport(DetailAST importAst) {
+        final String name = FullIdent.createFullIdent(importAst.getFirstChild()).getText();
+        importNames.put(importAst, name);
+        if (name.endsWith(ON_DEMAND_SUFFIX)) {
+            onDemandImports.add(name.substring(0, name.length() - ON_DEMAND_SUFFIX.length()));
+        }
+        else {
+            singleTypeImports.putIfAbsent(name.substring(name.lastIndexOf('.') + 1), name);
+        }
+    }
+
+    /**
+     * Adds the static import.
+     *
+     * @param staticImportAst the STATIC_IMPORT node.
+     */
+    private void addStaticImport(DetailAST staticImportAst) {
+        final String name = FullIdent.createFullIdent(
+                staticImportAst.getFirstChild().getNextSibling()).getText();
+        importNames.put(staticImportAst, name);
+        staticImports.add(name);
+    }
+
+}
@@ -19,6 +19,9 @@
 
 package com.github.sevntu.checkstyle;
 
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.utils.TokenUtil;
@@ -46,7 +49,20 @@ public final class SevntuUtil {
      *         always
      */
     public static void reportInvalidToken(int token) {
-        throw new IllegalArgumentException("Found unsupported token: "
+        throw createInvalidTokenException(token);
+    }
+
+    /**
+     * Creates the exception {@link #reportInvalidToken(int)} throws for an unsupported token.
+     * It lets a caller throw the exception itself, where the compiler needs to know that the
+     * code after the call is unreachable.
+     *
+     * @param token
+     *        token/type that is not supported
+     * @return the exception to throw
+     */
+    public static IllegalArgumentException createInvalidTokenException(int token) {
+        return new IllegalArgumentException("Found unsupported token: "
                 + TokenUtil.getTokenName(token));
     }
 
@@ -77,4 +93,101 @@ public final class SevntuUtil {
         return toVisitAst;
     }
 
+    /**
+     * Gets the next node of a syntactical tree skipping the children of a current node
+     * (sibling of a current node, or sibling of a parent of a current node).
+     *
+     * @param node
+     *            Current node in considering
+     * @param subTreeRoot
+     *            The root node of the subtree. Can be a top level root node
+     * @return Current node after bypassing, if current node is the last node of a subtree
+     *     method returns null
+     */
+    public static DetailAST getNextSubTreeNodeSkippingChildren(DetailAST node,
+            DetailAST subTreeRoot) {
+        DetailAST toVisitAst = null;
+        DetailAST currentNode = node;
+
+        while (toVisitAst == null && currentNode != subTreeRoot) {
+            toVisitAst = currentNode.getNextSibling();
+            currentNode = currentNode.getParent();
+        }
+        return toVisitAst;
+    }
+
+    /**
+     * Finds the first node of a subtree in the order of traversal which matches the predicate.
+     * The root node of the subtree is not tested. The subtree is traversed iteratively,
+     * without allocations, and the traversal stops at the first matching node.
+     *
+     * @param subTreeRoot
+     *            The root node of the subtree
+     * @param skipChildren
+     *            The predicate of nodes, children of which are not traversed
+     * @param predicate
+     *            The predicate of the node to find
+     * @return the first matching node, or null if there is no such node
+     */
+    public static DetailAST findFirstSubTreeNode(DetailAST subTreeRoot,
+            Predicate<DetailAST> skipChildren, Predicate<DetailAST> predicate) {
+        DetailAST result = null;
+        DetailAST currentNode = subTreeRoot.getFirstChild();
+
+        while (result == null && currentNode != null) {
+            if (predicate.test(currentNode)) {
+                result = currentNode;
+            }
+            else {
+                currentNode = getNextSubTreeNode(currentNode, subTreeRoot, skipChildren);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Passes each node of a subtree except its root to the action in the order of traversal.
+     * The subtree is traversed iteratively, without allocations.
+     *
+     * @param subTreeRoot
+     *            The root node of the subtree
+     * @param skipChildren
+     *            The predicate of nodes, children of which are not traversed
+     * @param action
+     *            The action for each traversed node
+     */
+    public static void forEachSubTreeNode(DetailAST subTreeRoot,
+            Predicate<DetailAST> skipChildren, Consumer<DetailAST> action) {
+        DetailAST currentNode = subTreeRoot.getFirstChild();
+
+        while (currentNode != null) {
+            action.accept(currentNode);
+            currentNode = getNextSubTreeNode(currentNode, subTreeRoot, skipChildren);
+        }
+    }
+
+    /**
+     * Gets the next node of a subtree, skipping the children of a current node
+     * if it matches the predicate.
+     *
+     * @param node
+     *            Current node in considering
+     * @param subTreeRoot
+     *            The root node of the subtree
+     * @param skipChildren
+     *            The predicate of nodes, children of which are not traversed
+     * @return the next node, or null if it is the last node of the subtree
+     */
+    private static DetailAST getNextSubTreeNode(DetailAST node, DetailAST subTreeRoot,
+            Predicate<DetailAST> skipChildren) {
+        DetailAST toVisitAst = null;
+        if (!skipChildren.test(node)) {
+            toVisitAst = node.getFirstChild();
+        }
+        if (toVisitAst == null) {
+            toVisitAst = getNextSubTreeNodeSkippingChildren(node, subTreeRoot);
+        }
+        return toVisitAst;
+    }
+
 }
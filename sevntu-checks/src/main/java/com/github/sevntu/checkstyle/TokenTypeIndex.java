@@ -0,0 +1,304 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.sevntu.checkstyle;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+
+/**
+ * Index of the nodes of a Java file by token type. Nodes are numbered in document order
+ * (pre-order), so the nodes of a subtree have consecutive numbers, and the nodes of a token type
+ * in a subtree are found by a binary search instead of a traversal of the subtree. The numbers
+ * are kept in an open addressing hash table by the identity of the nodes, so they are not boxed.
+ * The index is built on the first query. The index of the last file is cached per thread by the
+ * identity of its root AST, which is the same for all checks of a TreeWalker while the file is
+ * processed. The cache refers to it weakly, so it is released with the file once the checks drop
+ * it in finishTree.
+ */
+public final class TokenTypeIndex {
+
+    /**
+     * Index of the file last requested by the current thread. It is held weakly, so the
+     * thread does not keep the file reachable once no check refers to the index anymore.
+     */
+    private static final ThreadLocal<WeakReference<TokenTypeIndex>> LAST_REQUESTED =
+            ThreadLocal.withInitial(() -> new WeakReference<>(null));
+
+    /** Root AST of the file. */
+    private final DetailAST rootAST;
+
+    /** Nodes in the hash table of their numbers, null for the free slots. */
+    private DetailAST[] hashedNodes;
+
+    /** Numbers of the nodes, by slot of the node in the hash table. */
+    private int[] hashedNumbers;
+
+    /** Nodes in document order. */
+    private DetailAST[] nodes;
+
+    /** Number following the last node of the subtree, by number of the subtree root. */
+    private int[] subtreeEnds;
+
+    /** Sorted numbers of the nodes, by token type. */
+    private int[][] numbersByType;
+
+    /**
+     * Creates an index, which is not built yet.
+     *
+     * @param rootAST the root AST of the file, null for an empty file.
+     */
+    private TokenTypeIndex(DetailAST rootAST) {
+        this.rootAST = rootAST;
+    }
+
+    /**
+     * Gets the index of the file, creating it when the file is requested by the current thread
+     * for the first time.
+     *
+     * @param rootAST the root AST of the file, as passed to beginTree.
+     * @return the index of the file.
+     */
+    public static TokenTypeIndex of(DetailAST rootAST) {
+        TokenTypeIndex result = LAST_REQUESTED.get().get();
+        if (result == null || result.rootAST != rootAST) {
+            result = new TokenTypeIndex(rootAST);
+            LAST_REQUESTED.set(new WeakReference<>(result));
+        }
+        return result;
+    }
+
+    /**
+     * Finds the nodes of the token types in the subtree, including its root.
+     *
+     * @param subtreeRoot the root of the subtree, a node of the file.
+     * @param tokenTypes the token types of the nodes to find.
+     * @return the nodes in document order.
+     */
+    public List<DetailAST> findAll(DetailAST subtreeRoot, int... tokenTypes) {
+        build();
+        final int start = getNumber(subtreeRoot);
+        return find(start, subtreeEnds[start], tokenTypes);
+    }
+
+    /**
+     * Finds the nodes of the token types which follow the first node in document order,
+     * and precede the last node. The first node itself is included, the last node is not.
+     *
+     * @param first the first node of the file.
+     * @param last the node of the file to stop at, or null to search till the end of the file.
+     * @param tokenTypes the token types of the nodes to find.
+     * @return the nodes in document order.
+     */
+    public List<DetailAST> findAllBetween(DetailAST first, DetailAST last, int... tokenTypes) {
+        build();
+        final int end;
+        if (last == null) {
+            end = nodes.length;
+        }
+        else {
+            end = getNumber(last);
+        }
+        return find(getNumber(first), end, tokenTypes);
+    }
+
+    /**
+     * Checks whether the subtree contains a node of the token type.
+     *
+     * @param subtreeRoot the root of the subtree, a node of the file.
+     * @param tokenType the token type.
+     * @return true if the root of the subtree or one of its descendants has the token type.
+     */
+    public boolean contains(DetailAST subtreeRoot, int tokenType) {
+        build();
+        boolean result = false;
+        if (tokenType < numbersByType.length) {
+            final int start = getNumber(subtreeRoot);
+            final int[] typeNumbers = numbersByType[tokenType];
+            final int index = insertionPoint(typeNumbers, start);
+            result = index < typeNumbers.length && typeNumbers[index] < subtreeEnds[start];
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the node is in the subtree.
+     *
+     * @param subtreeRoot the root of the subtree, a node of the file.
+     * @param ast the node of the file to check.
+     * @return true if the node is the root of the subtree or one of its descendants.
+     */
+    public boolean isInSubtree(DetailAST subtreeRoot, DetailAST ast) {
+        build();
+        final int start = getNumber(subtreeRoot);
+        final int number = getNumber(ast);
+        return number >= start && number < subtreeEnds[start];
+    }
+
+    /**
+     * Finds the nodes of the token types, numbers of which are in the range.
+     *
+     * @param start the first number of the range.
+     * @param end the number following the last number of the range.
+     * @param tokenTypes the token types of the nodes to find.
+     * @return the nodes in document order.
+     */
+    private List<DetailAST> find(int start, int end, int... tokenTypes) {
+        int[] found = new int[0];
+        for (int tokenType : tokenTypes) {
+            if (tokenType < numbersByType.length) {
+                final int[] typeNumbers = numbersByType[tokenType];
+                final int from = insertionPoint(typeNumbers, start);
+                final int to = insertionPoint(typeNumbers, end);
+                final int length = found.length;
+                found = Arrays.copyOf(found, length + to - from);
+                System.arraycopy(typeNumbers, from, found, length, to - from);
+            }
+        }
+        if (tokenTypes.length > 1) {
+            Arrays.sort(found);
+        }
+        final List<DetailAST> result = new ArrayList<>(found.length);
+        for (int index = 0; index < found.length; index++) {
+            if (index == 0 || found[index] != found[index - 1]) {
+                result.add(nodes[found[index]]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Builds the index, if it is not built yet.
+     */
+    private void build() {
+        if (nodes == null) {
+            final List<DetailAST> order = new ArrayList<>();
+            int maxType = -1;
+            DetailAST node = rootAST;
+            while (node != null) {
+                order.add(node);
+                maxType = Math.max(maxType, node.getType());
+                node = getNextNode(node);
+            }
+            nodes = order.toArray(new DetailAST[0]);
+
+            final int capacity = Integer.highestOneBit(nodes.length * 2 + 1) * 2;
+            hashedNodes = new DetailAST[capacity];
+            hashedNumbers = new int[capacity];
+            for (int number = 0; number < nodes.length; number++) {
+                final int slot = getSlot(nodes[number]);
+                hashedNodes[slot] = nodes[number];
+                hashedNumbers[slot] = number;
+            }
+
+            subtreeEnds = new int[nodes.length];
+            final int[] typeCounts = new int[maxType + 1];
+            for (int number = nodes.length - 1; number >= 0; number--) {
+                subtreeEnds[number] = Math.max(subtreeEnds[number], number + 1);
+                final DetailAST parent = nodes[number].getParent();
+                if (parent != null) {
+                    final int parentNumber = getNumber(parent);
+                    subtreeEnds[parentNumber] = Math.max(subtreeEnds[parentNumber],
+                            subtreeEnds[number]);
+                }
+                typeCounts[nodes[number].getType()]++;
+            }
+
+            numbersByType = new int[maxType + 1][];
+            for (int type = 0; type <= maxType; type++) {
+                numbersByType[type] = new int[typeCounts[type]];
+                typeCounts[type] = 0;
+            }
+            for (int number = 0; number < nodes.length; number++) {
+                final int type = nodes[number].getType();
+                numbersByType[type][typeCounts[type]] = number;
+                typeCounts[type]++;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of the node.
+     *
+     * @param node the node of the file.
+     * @return the number of the node in document order.
+     * @throws IllegalArgumentException if the node is not a node of the file.
+     */
+    private int getNumber(DetailAST node) {
+        final int slot = getSlot(node);
+        if (hashedNodes[slot] == null) {
+            throw new IllegalArgumentException("Node is not in the file: " + node);
+        }
+        return hashedNumbers[slot];
+    }
+
+    /**
+     * Gets the slot of the hash table, which holds the node or is free for it.
+     * The table is at least twice as large as the number of nodes, so it always has
+     * a free slot, which ends the linear probing.
+     *
+     * @param node the node.
+     * @return the slot of the node.
+     */
+    private int getSlot(DetailAST node) {
+        final int mask = hashedNodes.length - 1;
+        int result = System.identityHashCode(node) & mask;
+        while (hashedNodes[result] != null && hashedNodes[result] != node) {
+            result = result + 1 & mask;
+        }
+        return result;
+    }
+
+    /**
+     * Gets the node following the given one in document order.
+     *
+     * @param node the node.
+     * @return the next node, or null if the node is the last one.
+     */
+    private static DetailAST getNextNode(DetailAST node) {
+        DetailAST result = node.getFirstChild();
+        DetailAST current = node;
+        while (result == null && current != null) {
+            result = current.getNextSibling();
+            current = current.getParent();
+        }
+        return result;
+    }
+
+    /**
+     * Gets the index of the first number in the sorted numbers, which is not less than the
+     * given one.
+     *
+     * @param sortedNumbers the sorted numbers.
+     * @param number the number to search for.
+     * @return the index of the number, or of the place where it would be inserted.
+     */
+    private static int insertionPoint(int[] sortedNumbers, int number) {
+        int result = Arrays.binarySearch(sortedNumbers, number);
+        if (result < 0) {
+            result = -result - 1;
+        }
+        return result;
+    }
+
+}
@@ -19,9 +19,13 @@
 
 package com.github.sevntu.checkstyle.checks.coding;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.function.Consumer;
 
+import com.github.sevntu.checkstyle.SevntuUtil;
+import com.github.sevntu.checkstyle.TokenTypeIndex;
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
@@ -74,6 +78,9 @@ public class AvoidHidingCauseExceptionCheck extends AbstractCheck {
      */
     public static final String MSG_KEY = "avoid.hiding.cause.exception";
 
+    /** Index of the nodes of the current file by token type. */
+    private TokenTypeIndex tokenIndex;
+
     @Override
     public int[] getDefaultTokens() {
         return new int[] {
@@ -91,6 +98,17 @@ public class AvoidHidingCauseExceptionCheck extends AbstractCheck {
         return getDefaultTokens();
     }
 
+    @Override
+    public void beginTree(DetailAST rootAST) {
+        tokenIndex = TokenTypeIndex.of(rootAST);
+    }
+
+    @Override
+    public void finishTree(DetailAST rootAST) {
+        // the index of the file is not needed anymore and can be collected
+        tokenIndex = null;
+    }
+
     @Override
     public void visitToken(DetailAST detailAST) {
         final String originExcName = detailAST
@@ -101,12 +119,10 @@ public class AvoidHidingCauseExceptionCheck extends AbstractCheck {
 
         final List<String> wrapExcNames = new LinkedList<>();
         wrapExcNames.add(originExcName);
-        wrapExcNames.addAll(makeExceptionsList(detailAST, detailAST,
-                            originExcName));
+        wrapExcNames.addAll(makeExceptionsList(detailAST, originExcName));
 
         for (DetailAST throwAST : throwList) {
-            final List<DetailAST> throwParamNamesList = new LinkedList<>();
-            buildThrowParamNamesList(throwAST, throwParamNamesList);
+            final List<DetailAST> throwParamNamesList = buildThrowParamNamesList(throwAST);
             if (!isContainsCaughtExc(throwParamNamesList, wrapExcNames)) {
                 log(throwAST, MSG_KEY, originExcName);
             }
@@ -138,47 +154,42 @@ public class AvoidHidingCauseExceptionCheck extends AbstractCheck {
      * parameters  for current "throw" keyword.
      *
      * @param startNode The start node for exception name searching.
-     * @param paramNamesAST The list, that will be contain names of the
-     *     parameters
      * @return A null-safe list of tokens ({@code DetailAST}) contains the
      *     thrown exception name if it was found or null otherwise.
      */
-    private List<DetailAST> buildThrowParamNamesList(DetailAST startNode,
-                            List<DetailAST> paramNamesAST) {
-        for (DetailAST currentNode : getChildNodes(startNode)) {
+    private static List<DetailAST> buildThrowParamNamesList(DetailAST startNode) {
+        final List<DetailAST> paramNamesAST = new ArrayList<>();
+        final Consumer<DetailAST> action = currentNode -> {
             if (currentNode.getType() == TokenTypes.IDENT) {
                 paramNamesAST.add(currentNode);
             }
-
-            if (currentNode.getType() != TokenTypes.PARAMETER_DEF
-                    && currentNode.getType() != TokenTypes.LITERAL_TRY
-                    && currentNode.getFirstChild() != null) {
-                buildThrowParamNamesList(currentNode, paramNamesAST);
-            }
-        }
+        };
+        SevntuUtil.forEachSubTreeNode(startNode,
+                currentNode -> currentNode.getType() == TokenTypes.PARAMETER_DEF
+                        || currentNode.getType() == TokenTypes.LITERAL_TRY,
+                action);
         return paramNamesAST;
     }
 
     /**
-     * Recursive method which searches for the {@code LITERAL_THROW}
-     * DetailASTs all levels below on the current {@code aParentAST} node
-     * without entering into nested try/catch blocks.
+     * Searches for the {@code LITERAL_THROW} DetailASTs all levels below on
+     * the current {@code aParentAST} node without entering into nested
+     * try/catch blocks, parameter definitions and other "throw" statements.
      *
      * @param parentAST A start node for "throw" keyword {@code DetailASTs} searching.
      * @return null-safe list of {@code LITERAL_THROW} literals
      */
     private List<DetailAST> makeThrowList(DetailAST parentAST) {
         final List<DetailAST> throwList = new LinkedList<>();
-        for (DetailAST currentNode : getChildNodes(parentAST)) {
-            if (currentNode.getType() == TokenTypes.LITERAL_THROW) {
-                throwList.add(currentNode);
-            }
-
-            if (currentNode.getType() != TokenTypes.PARAMETER_DEF
-                    && currentNode.getType() != TokenTypes.LITERAL_THROW
-                    && currentNode.getType() != TokenTypes.LITERAL_TRY
-                    && currentNode.getFirstChild() != null) {
-                throwList.addAll(makeThrowList(currentNode));
+        DetailAST skippedSubtree = null;
+        for (DetailAST currentNode : tokenIndex.findAll(parentAST, TokenTypes.LITERAL_THROW,
+                TokenTypes.LITERAL_TRY, TokenTypes.PARAMETER_DEF)) {
+            if (skippedSubtree == null
+                    || !tokenIndex.isInSubtree(skippedSubtree, currentNode)) {
+                if (currentNode.getType() == TokenTypes.LITERAL_THROW) {
+                    throwList.add(currentNode);
+                }
+                skippedSubtree = currentNode;
             }
         }
         return throwList;
@@ -190,68 +201,57 @@ public class AvoidHidingCauseExceptionCheck extends AbstractCheck {
      *
      * @param currentCatchAST A LITERAL_CATCH node of the
      *     current "catch" block.
-     * @param parentAST Current parent node to start search.
      * @param currentExcName The name of exception handled by
      *     current "catch" block.
      * @return List contains exceptions that wraps the original
      *     exception object.
      */
-    private List<String> makeExceptionsList(DetailAST currentCatchAST,
-            DetailAST parentAST, String currentExcName) {
-        final List<String> wrapExcNames = new LinkedList<>();
-
-        for (DetailAST currentNode : getChildNodes(parentAST)) {
+    private static List<String> makeExceptionsList(DetailAST currentCatchAST,
+            String currentExcName) {
+        final List<String> wrapExcNames = new ArrayList<>();
+        final Consumer<DetailAST> action = currentNode -> {
             if (currentNode.getType() == TokenTypes.IDENT
                     && currentNode.getText().equals(currentExcName)
                     && currentNode.getParent().getType() != TokenTypes.DOT) {
-                DetailAST temp = currentNode;
-
-                while (!temp.equals(currentCatchAST)
-                        && temp.getType() != TokenTypes.ASSIGN) {
-                    temp = temp.getParent();
-                }
-
-                if (temp.getType() == TokenTypes.ASSIGN) {
-                    final DetailAST convertedExc;
-                    if (temp.getParent().getType() == TokenTypes.VARIABLE_DEF) {
-                        convertedExc = temp.getParent().findFirstToken(TokenTypes.IDENT);
-                    }
-                    else {
-                        convertedExc = temp.findFirstToken(TokenTypes.IDENT);
-                    }
-                    if (convertedExc != null) {
-                        wrapExcNames.add(convertedExc.getText());
-                    }
-                }
-            }
-
-            if (currentNode.getType() != TokenTypes.PARAMETER_DEF
-                    && currentNode.getFirstChild() != null) {
-                wrapExcNames.addAll(makeExceptionsList(currentCatchAST,
-                        currentNode, currentExcName));
+                addWrapExcName(wrapExcNames, currentCatchAST, currentNode);
             }
-        }
+        };
+        SevntuUtil.forEachSubTreeNode(currentCatchAST,
+                currentNode -> currentNode.getType() == TokenTypes.PARAMETER_DEF, action);
         return wrapExcNames;
     }
 
     /**
-     * Gets all the children one level below on the current parent node.
+     * Adds the name of exception, which wraps the original exception object,
+     * if the usage of the original exception is a part of an assignment.
      *
-     * @param node Current parent node.
-     * @return List of children one level below on the current
-     *         parent node (aNode).
+     * @param wrapExcNames List contains exceptions that wraps the original
+     *     exception object.
+     * @param currentCatchAST A LITERAL_CATCH node of the
+     *     current "catch" block.
+     * @param excUsage IDENT node of the original exception usage.
      */
-    private static List<DetailAST> getChildNodes(DetailAST node) {
-        final List<DetailAST> result = new LinkedList<>();
+    private static void addWrapExcName(List<String> wrapExcNames, DetailAST currentCatchAST,
+            DetailAST excUsage) {
+        DetailAST temp = excUsage;
 
-        DetailAST currNode = node.getFirstChild();
-
-        while (currNode != null) {
-            result.add(currNode);
-            currNode = currNode.getNextSibling();
+        while (!temp.equals(currentCatchAST)
+                && temp.getType() != TokenTypes.ASSIGN) {
+            temp = temp.getParent();
         }
 
-        return result;
+        if (temp.getType() == TokenTypes.ASSIGN) {
+            final DetailAST convertedExc;
+            if (temp.getParent().getType() == TokenTypes.VARIABLE_DEF) {
+                convertedExc = temp.getParent().findFirstToken(TokenTypes.IDENT);
+            }
+            else {
+                convertedExc = temp.findFirstToken(TokenTypes.IDENT);
+            }
+            if (convertedExc != null) {
+                wrapExcNames.add(convertedExc.getText());
+            }
+        }
     }
 
 }
@@ -19,19 +19,14 @@
 
 package com.github.sevntu.checkstyle.checks.coding;
 
-import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Locale;
-import java.util.Set;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 import com.github.sevntu.checkstyle.SevntuUtil;
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
-import com.puppycrawl.tools.checkstyle.api.FullIdent;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
-import com.puppycrawl.tools.checkstyle.utils.TokenUtil;
 
 /**
  * <p>
@@ -157,59 +152,67 @@ public class AvoidModifiersForTypesCheck extends AbstractCheck {
      */
     public static final String MSG_KEY = "avoid.modifiers.for.types";
 
-    /**
-     * Pattern object is used to store the regexp for the names of classes, that
-     * could not have 'annotation' modifier.
-     */
-    private Pattern forbiddenClassesRegexpAnnotation = Pattern.compile("");
+    /** Index of the 'annotation' modifier, its bit in the modifiers mask is 1 shifted by it. */
+    private static final int MODIFIER_ANNOTATION = 0;
 
-    /**
-     * Pattern object is used to store the regexp for the names of classes, that
-     * could not have 'final' modifier.
-     */
-    private Pattern forbiddenClassesRegexpFinal = Pattern.compile("");
+    /** Index of the 'final' modifier. */
+    private static final int MODIFIER_FINAL = 1;
 
-    /**
-     * Pattern object is used to store the regexp for the names of classes, that
-     * could not have 'static' modifier.
-     */
-    private Pattern forbiddenClassesRegexpStatic = Pattern.compile("ULC.+");
+    /** Index of the 'static' modifier. */
+    private static final int MODIFIER_STATIC = 2;
 
-    /**
-     * Pattern object is used to store the regexp for the names of classes, that
-     * could not have 'transient' modifier.
-     */
-    private Pattern forbiddenClassesRegexpTransient = Pattern.compile("");
+    /** Index of the 'transient' modifier. */
+    private static final int MODIFIER_TRANSIENT = 3;
 
-    /**
-     * Pattern object is used to store the regexp for the names of classes, that
-     * could not have 'volatile' modifier.
-     */
-    private Pattern forbiddenClassesRegexpVolatile = Pattern.compile("");
+    /** Index of the 'volatile' modifier. */
+    private static final int MODIFIER_VOLATILE = 4;
 
-    /**
-     * Pattern object is used to store the regexp for the names of classes, that
-     * could not have 'private' modifier.
-     */
-    private Pattern forbiddenClassesRegexpPrivate = Pattern.compile("");
+    /** Index of the 'private' modifier. */
+    private static final int MODIFIER_PRIVATE = 5;
 
-    /**
-     * Pattern object is used to store the regexp for the names of classes, that
-     * could not have no modifier 'package-private'.
-     */
-    private Pattern forbiddenClassesRegexpPackagePrivate = Pattern.compile("");
+    /** Index of no access modifier ('package-private'). */
+    private static final int MODIFIER_PACKAGE_PRIVATE = 6;
+
+    /** Index of the 'protected' modifier. */
+    private static final int MODIFIER_PROTECTED = 7;
+
+    /** Index of the 'public' modifier. */
+    private static final int MODIFIER_PUBLIC = 8;
+
+    /** Names of the modifiers used in violation messages, by modifier index. */
+    private static final String[] MODIFIER_NAMES = {
+        "annotation",
+        "final",
+        "static",
+        "transient",
+        "volatile",
+        "private",
+        "package-private",
+        "protected",
+        "public",
+    };
+
+    /** Mask of the access modifiers, a field without them is 'package-private'. */
+    private static final int ACCESS_MODIFIERS_MASK = 1 << MODIFIER_PRIVATE
+            | 1 << MODIFIER_PROTECTED | 1 << MODIFIER_PUBLIC;
 
     /**
-     * Pattern object is used to store the regexp for the names of classes, that
-     * could not have 'protected' modifier.
+     * Pattern objects are used to store the regexps for the names of classes, that
+     * could not have the modifier of the same index. An empty regexp is stored as null,
+     * so it is never evaluated.
      */
-    private Pattern forbiddenClassesRegexpProtected = Pattern.compile("");
+    private final Pattern[] forbiddenClassesRegexps = new Pattern[MODIFIER_NAMES.length];
 
     /**
-     * Pattern object is used to store the regexp for the names of classes, that
-     * could not have 'public' modifier.
+     * Masks of the modifiers forbidden for the names of classes met in the current file,
+     * by the name of class.
      */
-    private Pattern forbiddenClassesRegexpPublic = Pattern.compile("");
+    private final Map<String, Integer> forbiddenModifiers = new HashMap<>();
+
+    /** Creates the check with the default regexps. */
+    public AvoidModifiersForTypesCheck() {
+        forbiddenClassesRegexps[MODIFIER_STATIC] = Pattern.compile("ULC.+");
+    }
 
     /**
      * Sets the regexp for the names of classes, that could not have 'annotation'
@@ -220,16 +223,7 @@ public class AvoidModifiersForTypesCheck extends AbstractCheck {
      *        could not have 'annotation' modifier.
      */
     public void setForbiddenClassesRegexpAnnotation(String forbiddenClassesRegexpAnnotation) {
-        final String regexp;
-
-        if (forbiddenClassesRegexpAnnotation == null) {
-            regexp = "";
-        }
-        else {
-            regexp = forbiddenClassesRegexpAnnotation;
-        }
-
-        this.forbiddenClassesRegexpAnnotation = Pattern.compile(regexp);
+        setForbiddenClassesRegexp(MODIFIER_ANNOTATION, forbiddenClassesRegexpAnnotation);
     }
 
     /**
@@ -241,16 +235,7 @@ public class AvoidModifiersForTypesCheck extends AbstractCheck {
      *        could not have 'final' modifier.
      */
     public void setForbiddenClassesRegexpFinal(String forbiddenClassesRegexpFinal) {
-        final String regexp;
-
-        if (forbiddenClassesRegexpFinal == null) {
-            regexp = "";
-        }
-        else {
-            regexp = forbiddenClassesRegexpFinal;
-        }
-
-        this.forbiddenClassesRegexpFinal = Pattern.compile(regexp);
+        setForbiddenClassesRegexp(MODIFIER_FINAL, forbiddenClassesRegexpFinal);
     }
 
     /**
@@ -262,16 +247,7 @@ public class AvoidModifiersForTypesCheck extends AbstractCheck {
      *        could not have 'static' modifier.
      */
     public void setForbiddenClassesRegexpStatic(String forbiddenClassesRegexpStatic) {
-        final String regexp;
-
-        if (forbiddenClassesRegexpStatic == null) {
-            regexp = "";
-        }
-        else {
-            regexp = forbiddenClassesRegexpStatic;
-        }
-
-        this.forbiddenClassesRegexpStatic = Pattern.compile(regexp);
+        setForbiddenClassesRegexp(MODIFIER_STATIC, forbiddenClassesRegexpStatic);
     }
 
     /**
@@ -283,16 +259,7 @@ public class AvoidModifiersForTypesCheck extends AbstractCheck {
      *        could not have 'transient' modifier.
      */
     public void setForbiddenClassesRegexpTransient(String forbiddenClassesRegexpTransient) {
-        final String regexp;
-
-        if (forbiddenClassesRegexpTransient == null) {
-            regexp = "";
-        }
-        else {
-            regexp = forbiddenClassesRegexpTransient;
-        }
-
-        this.forbiddenClassesRegexpTransient = Pattern.compile(regexp);
+        setForbiddenClassesRegexp(MODIFIER_TRANSIENT, forbiddenClassesRegexpTransient);
     }
 
     /**
@@ -304,16 +271,7 @@ public class AvoidModifiersForTypesCheck extends AbstractCheck {
      *        could not have 'volatile' modifier.
      */
     public void setForbiddenClassesRegexpVolatile(String forbiddenClassesRegexpVolatile) {
-        final String regexp;
-
-        if (forbiddenClassesRegexpVolatile == null) {
-            regexp = "";
-        }
-        else {
-            regexp = forbiddenClassesRegexpVolatile;
-        }
-
-        this.forbiddenClassesRegexpVolatile = Pattern.compile(regexp);
+        setForbiddenClassesRegexp(MODIFIER_VOLATILE, forbiddenClassesRegexpVolatile);
     }
 
     /**
@@ -325,16 +283,7 @@ public class AvoidModifiersForTypesCheck extends AbstractCheck {
      *        could not have 'private' modifier.
      */
     public void setForbiddenClassesRegexpPrivate(String forbiddenClassesRegexpPrivate) {
-        final String regexp;
-
-        if (forbiddenClassesRegexpPrivate == null) {
-            regexp = "";
-        }
-        else {
-            regexp = forbiddenClassesRegexpPrivate;
-        }
-
-        this.forbiddenClassesRegexpPrivate = Pattern.compile(regexp);
+        setForbiddenClassesRegexp(MODIFIER_PRIVATE, forbiddenClassesRegexpPrivate);
     }
 
     /**
@@ -347,16 +296,7 @@ public class AvoidModifiersForTypesCheck extends AbstractCheck {
      */
     public void setForbiddenClassesRegexpPackagePrivate(
             String forbiddenClassesRegexpPackagePrivate) {
-        final String regexp;
-
-        if (forbiddenClassesRegexpPackagePrivate == null) {
-            regexp = "";
-        }
-        else {
-            regexp = forbiddenClassesRegexpPackagePrivate;
-        }
-
-        this.forbiddenClassesRegexpPackagePrivate = Pattern.compile(regexp);
+        setForbiddenClassesRegexp(MODIFIER_PACKAGE_PRIVATE, forbiddenClassesRegexpPackagePrivate);
     }
 
     /**
@@ -368,16 +308,7 @@ public class AvoidModifiersForTypesCheck extends AbstractCheck {
      *        could not have 'protected' modifier.
      */
     public void setForbiddenClassesRegexpProtected(String forbiddenClassesRegexpProtected) {
-        final String regexp;
-
-        if (forbiddenClassesRegexpProtected == null) {
-            regexp = "";
-        }
-        else {
-            regexp = forbiddenClassesRegexpProtected;
-        }
-
-        this.forbiddenClassesRegexpProtected = Pattern.compile(regexp);
+        setForbiddenClassesRegexp(MODIFIER_PROTECTED, forbiddenClassesRegexpProtected);
     }
 
     /**
@@ -389,16 +320,7 @@ public class AvoidModifiersForTypesCheck extends AbstractCheck {
      *        could not have 'public' modifier.
      */
     public void setForbiddenClassesRegexpPublic(String forbiddenClassesRegexpPublic) {
-        final String regexp;
-
-        if (forbiddenClassesRegexpPublic == null) {
-            regexp = "";
-        }
-        else {
-            regexp = forbiddenClassesRegexpPublic;
-        }
-
-        this.forbiddenClassesRegexpPublic = Pattern.compile(regexp);
+        setForbiddenClassesRegexp(MODIFIER_PUBLIC, forbiddenClassesRegexpPublic);
     }
 
     @Override
@@ -417,102 +339,78 @@ public class AvoidModifiersForTypesCheck extends AbstractCheck {
     }
 
     @Override
-    public void visitToken(DetailAST ast) {
-        final String classNameAndPath = getClassNameAndPath(ast);
+    public void beginTree(DetailAST rootAST) {
+        forbiddenModifiers.clear();
+    }
 
-        if (classNameAndPath != null) {
-            final String className = getClassName(classNameAndPath);
+    @Override
+    public void visitToken(DetailAST ast) {
+        final String className = getClassName(ast);
 
-            final Set<Integer> modifiersSet = getModifiers(ast);
+        if (className != null) {
+            int modifiers = getModifiers(ast);
 
             if (ast.getParent().getType() == TokenTypes.OBJBLOCK
-                    && !modifiersSet.contains(TokenTypes.LITERAL_PUBLIC)
-                    && !modifiersSet.contains(TokenTypes.LITERAL_PROTECTED)
-                    && !modifiersSet.contains(TokenTypes.LITERAL_PRIVATE)
-                    && forbiddenClassesRegexpPackagePrivate.matcher(className).matches()) {
-                log(ast, MSG_KEY, className, "package-private");
+                    && (modifiers & ACCESS_MODIFIERS_MASK) == 0) {
+                modifiers |= 1 << MODIFIER_PACKAGE_PRIVATE;
             }
 
-            for (int modifierType : modifiersSet) {
-                if (match(modifierType, className)) {
-                    String tokenName = TokenUtil.getTokenName(modifierType);
+            final int violations = modifiers
+                    & forbiddenModifiers.computeIfAbsent(className, this::getForbiddenModifiers);
 
-                    // Remove literal prefix and switch to lower case for better readability
-                    tokenName = tokenName.toLowerCase(Locale.ENGLISH).replaceAll("literal_", "");
-
-                    log(ast, MSG_KEY, className, tokenName);
+            for (int modifier = 0; modifier < MODIFIER_NAMES.length; modifier++) {
+                if ((violations & 1 << modifier) != 0) {
+                    log(ast, MSG_KEY, className, MODIFIER_NAMES[modifier]);
                 }
             }
         }
     }
 
     /**
-     * Checks whether a specific Java modifier is used in a given class with
-     * the specified regular expression.
+     * Sets the regexp for the names of classes, that could not have the modifier.
      *
-     * @param modifierType the modifier type
-     * @param className the class name
-     * @return either {@code true} if the regexp match the className,
-     *     else {@code false}
+     * @param modifier the modifier index
+     * @param regexp the regexp, null or empty if no class is forbidden the modifier
      */
-    private boolean match(int modifierType, String className) {
-        final Pattern pattern = mapToRegExp(modifierType);
-        return pattern.matcher(className).matches();
+    private void setForbiddenClassesRegexp(int modifier, String regexp) {
+        Pattern pattern = null;
+
+        if (regexp != null && !regexp.isEmpty()) {
+            pattern = Pattern.compile(regexp);
+        }
+
+        forbiddenClassesRegexps[modifier] = pattern;
     }
 
     /**
-     * Maps the modifierType to a regular expression.
+     * Gets the mask of modifiers, which regexps match the class name.
      *
-     * @param modifierType the modifier type
-     * @return the Pattern object storing the regexp for the names of classes,
-     *     that must not have the modifierType.
+     * @param className the class name
+     * @return the mask of modifiers forbidden for the class
      */
-    private Pattern mapToRegExp(int modifierType) {
-        Pattern result = null;
+    private int getForbiddenModifiers(String className) {
+        int result = 0;
 
-        switch (modifierType) {
-            case TokenTypes.ANNOTATION:
-                result = forbiddenClassesRegexpAnnotation;
-                break;
-            case TokenTypes.FINAL:
-                result = forbiddenClassesRegexpFinal;
-                break;
-            case TokenTypes.LITERAL_STATIC:
-                result = forbiddenClassesRegexpStatic;
-                break;
-            case TokenTypes.LITERAL_TRANSIENT:
-                result = forbiddenClassesRegexpTransient;
-                break;
-            case TokenTypes.LITERAL_VOLATILE:
-                result = forbiddenClassesRegexpVolatile;
-                break;
-            case TokenTypes.LITERAL_PRIVATE:
-                result = forbiddenClassesRegexpPrivate;
-                break;
-            case TokenTypes.LITERAL_PROTECTED:
-                result = forbiddenClassesRegexpProtected;
-                break;
-            case TokenTypes.LITERAL_PUBLIC:
-                result = forbiddenClassesRegexpPublic;
-                break;
-            default:
-                SevntuUtil.reportInvalidToken(modifierType);
-                break;
+        for (int modifier = 0; modifier < forbiddenClassesRegexps.length; modifier++) {
+            final Pattern pattern = forbiddenClassesRegexps[modifier];
+            if (pattern != null && pattern.matcher(className).matches()) {
+                result |= 1 << modifier;
+            }
         }
 
         return result;
     }
 
     /**
-     * Gets the full className of the defined variable.
+     * Gets the class name of the defined variable, without the dotted path.
      *
      * @param variableDefNode
      *        A DetailAST node is related to variable definition (VARIABLE_DEF
      *        node type).
-     * @return String contains the className of the defined variable or null if
+     * @return String contains the class name of the defined variable or null if
      *         the current processed object is an array of primitive types
      */
-    private static String getClassNameAndPath(DetailAST variableDefNode) {
+    private static String getClassName(DetailAST variableDefNode) {
         String result = null;
         final DetailAST type = variableDefNode.findFirstToken(TokenTypes.TYPE);
         final DetailAST textWithoutDots = type.findFirstToken(TokenTypes.IDENT);
@@ -521,10 +419,7 @@ public class AvoidModifiersForTypesCheck extends AbstractCheck {
             // if there are TokenTypes.DOT nodes in subTree.
             final DetailAST parentDotAST = type.findFirstToken(TokenTypes.DOT);
             if (parentDotAST != null) {
-                final FullIdent dottedPathIdent = FullIdent
-                        .createFullIdentBelow(parentDotAST);
-                final DetailAST nameAST = parentDotAST.getLastChild();
-                result = dottedPathIdent.getText() + "." + nameAST.getText();
+                result = parentDotAST.getLastChild().getText();
             }
         }
         // if subtree doesn`t contain dots.
@@ -535,18 +430,6 @@ public class AvoidModifiersForTypesCheck extends AbstractCheck {
         return result;
     }
 
-    /**
-     * Gets the class name from full (dotted) classPath.
-     *
-     * @param classNameAndPath
-     *        - the full (dotted) classPath. Must not be null.
-     * @return the name of the class is specified by the current full name&path.
-     *         Guaranteed to not be null if aClassNameAndPath is not null.
-     */
-    private static String getClassName(final String classNameAndPath) {
-        return classNameAndPath.replaceAll(".+\\.", "");
-    }
-
     /**
      * Gets the modifiers of the defined variable (annotation, public, private, final, static,
      * transient or volatile).
@@ -554,34 +437,58 @@ public class AvoidModifiersForTypesCheck extends AbstractCheck {
      * @param variableDefAst
      *        A DetailAST node is related to the variable definition
      *        (VARIABLE_DEF type)
-     * @return List of token types is related to the given variable modifiers.
+     * @return the mask of modifiers of the given variable.
      */
-    private static Set<Integer> getModifiers(DetailAST variableDefAst) {
-        final Set<Integer> modifiersSet = new HashSet<>();
-        final DetailAST modifiersAST = variableDefAst
-                .findFirstToken(TokenTypes.MODIFIERS);
-        for (DetailAST modifier : getChildren(modifiersAST)) {
-            modifiersSet.add(modifier.getType());
+    private static int getModifiers(DetailAST variableDefAst) {
+        int result = 0;
+        DetailAST modifier = variableDefAst.findFirstToken(TokenTypes.MODIFIERS).getFirstChild();
+
+        while (modifier != null) {
+            result |= 1 << getModifier(modifier.getType());
+            modifier = modifier.getNextSibling();
         }
 
-        return modifiersSet;
+        return result;
     }
 
     /**
-     * Gets all the children which are one level below on the current DetailAST
-     * parent node.
+     * Maps the modifier token type to the modifier index.
      *
-     * @param node
-     *        The parent node.
-     * @return The list of children one level below on the current parent node.
+     * @param modifierType the modifier token type
+     * @return the modifier index
      */
-    private static List<DetailAST> getChildren(final DetailAST node) {
-        final List<DetailAST> result = new LinkedList<>();
-        DetailAST curNode = node.getFirstChild();
-        while (curNode != null) {
-            result.add(curNode);
-            curNode = curNode.getNextSibling();
+    private static int getModifier(int modifierType) {
+        int result = 0;
+
+        switch (modifierType) {
+            case TokenTypes.ANNOTATION:
+                result = MODIFIER_ANNOTATION;
+                break;
+            case TokenTypes.FINAL:
+                result = MODIFIER_FINAL;
+                break;
+            case TokenTypes.LITERAL_STATIC:
+                result = MODIFIER_STATIC;
+                break;
+            case TokenTypes.LITERAL_TRANSIENT:
+                result = MODIFIER_TRANSIENT;
+                break;
+            case TokenTypes.LITERAL_VOLATILE:
+                result = MODIFIER_VOLATILE;
+                break;
+            case TokenTypes.LITERAL_PRIVATE:
+                result = MODIFIER_PRIVATE;
+                break;
+            case TokenTypes.LITERAL_PROTECTED:
+                result = MODIFIER_PROTECTED;
+                break;
+            case TokenTypes.LITERAL_PUBLIC:
+                result = MODIFIER_PUBLIC;
+                break;
+            default:
+                throw SevntuUtil.createInvalidTokenException(modifierType);
         }
+
         return result;
     }
 
@@ -19,14 +19,20 @@
 
 package com.github.sevntu.checkstyle.checks.coding;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 
+import com.github.sevntu.checkstyle.SevntuUtil;
+import com.github.sevntu.checkstyle.TokenTypeIndex;
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.FullIdent;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+import com.puppycrawl.tools.checkstyle.utils.TokenUtil;
 
 /**
  * This check limits using of not short-circuit operators
@@ -85,22 +91,40 @@ public class AvoidNotShortCircuitOperatorsForBooleanCheck extends AbstractCheck
      */
     private static final Pattern BOOLEAN_TYPE_PATTERN = Pattern.compile("^boolean(\\[[^]]*])*");
 
+    /**
+     * Tokens, which bodies are scopes of Boolean variables visible to expressions.
+     */
+    private static final int[] SCOPE_TOKENS = {
+        TokenTypes.CTOR_DEF,
+        TokenTypes.METHOD_DEF,
+        TokenTypes.CLASS_DEF,
+        TokenTypes.INTERFACE_DEF,
+        TokenTypes.ANNOTATION_DEF,
+        TokenTypes.ENUM_DEF,
+    };
+
     /**
      * A list contains all names of operands, which are used in the current
      * expression, which calculates with using "|", "&", "|=", "&=" operators.
      */
-    private final List<String> supportedOperands = new LinkedList<>();
+    private final List<String> supportedOperands = new ArrayList<>();
 
     /**
-     * Variable, that indicates keywords "true" or "false" in current
-     * expression.
+     * Boolean variables, which are defined on the top level of method or class
+     * bodies, mapped by the body. Each variable name is mapped to the line
+     * of its first definition.
      */
-    private boolean hasTrueOrFalseLiteralInExpression;
+    private final Map<DetailAST, Map<String, Integer>> booleanVariables = new HashMap<>();
+
+    /**
+     * Index of the nodes of the current file by token type.
+     */
+    private TokenTypeIndex tokenIndex;
 
     @Override
     public final int[] getDefaultTokens() {
         return new int[] {TokenTypes.BOR, TokenTypes.BAND,
-            TokenTypes.BOR_ASSIGN, TokenTypes.BAND_ASSIGN, };
+            TokenTypes.BOR_ASSIGN, TokenTypes.BAND_ASSIGN, TokenTypes.VARIABLE_DEF, };
     }
 
     @Override
@@ -113,8 +137,51 @@ public class AvoidNotShortCircuitOperatorsForBooleanCheck extends AbstractCheck
         return getDefaultTokens();
     }
 
+    @Override
+    public void beginTree(DetailAST rootAST) {
+        booleanVariables.clear();
+        tokenIndex = TokenTypeIndex.of(rootAST);
+    }
+
+    @Override
+    public void finishTree(DetailAST rootAST) {
+        // the index of the file is not needed anymore and can be collected
+        tokenIndex = null;
+    }
+
     @Override
     public final void visitToken(final DetailAST detailAST) {
+        if (detailAST.getType() == TokenTypes.VARIABLE_DEF) {
+            addBooleanVariable(detailAST);
+        }
+        else {
+            checkOperator(detailAST);
+        }
+    }
+
+    /**
+     * Remembers the variable, if it has a Boolean type and is defined on the top
+     * level of a method or class body.
+     *
+     * @param variableDef - current TokenTypes.VARIABLE_DEF node.
+     */
+    private void addBooleanVariable(final DetailAST variableDef) {
+        final DetailAST body = variableDef.getParent();
+        if (body.getNextSibling() == null
+                && TokenUtil.isOfType(body.getParent(), SCOPE_TOKENS)
+                && isBooleanType(variableDef)) {
+            booleanVariables.computeIfAbsent(body, key -> new HashMap<>())
+                    .putIfAbsent(variableDef.findFirstToken(TokenTypes.IDENT).getText(),
+                            variableDef.getLineNo());
+        }
+    }
+
+    /**
+     * Checks the not short-circuit operator.
+     *
+     * @param detailAST - current "|", "&amp;", "|=", "&amp;=" operator node.
+     */
+    private void checkOperator(final DetailAST detailAST) {
         DetailAST currentNode = detailAST;
         // look for EXPR which is always around BOR/BAND... operators
         while (currentNode != null && currentNode.getType() != TokenTypes.EXPR) {
@@ -130,7 +197,6 @@ public class AvoidNotShortCircuitOperatorsForBooleanCheck extends AbstractCheck
         }
 
         supportedOperands.clear();
-        hasTrueOrFalseLiteralInExpression = false;
     }
 
     /**
@@ -161,30 +227,18 @@ public class AvoidNotShortCircuitOperatorsForBooleanCheck extends AbstractCheck
         DetailAST curNode = node;
 
         final List<String> childNames = getSupportedOperandsNames(curNode);
-        final List<String> booleanVariablesNames = new LinkedList<>();
 
-        while (curNode.getType() != TokenTypes.CTOR_DEF
-                && curNode.getType() != TokenTypes.METHOD_DEF
-                && curNode.getType() != TokenTypes.CLASS_DEF
-                && curNode.getType() != TokenTypes.INTERFACE_DEF
-                && curNode.getType() != TokenTypes.ANNOTATION_DEF
-                && curNode.getType() != TokenTypes.ENUM_DEF) {
+        while (!TokenUtil.isOfType(curNode, SCOPE_TOKENS)) {
             curNode = curNode.getParent();
         }
 
+        final Map<String, Integer> booleanVariablesLines = booleanVariables
+                .getOrDefault(curNode.getLastChild(), Collections.emptyMap());
         final int line = node.getLineNo();
-        for (DetailAST currentNode : getChildren(curNode.getLastChild())) {
-            if (currentNode.getLineNo() < line
-                    && currentNode.getType() == TokenTypes.VARIABLE_DEF
-                    && isBooleanType(currentNode)) {
-                booleanVariablesNames.add(currentNode.findFirstToken(
-                        TokenTypes.IDENT).getText());
-            }
-        }
-
         boolean result = false;
         for (String name : childNames) {
-            if (booleanVariablesNames.contains(name)) {
+            final Integer variableLine = booleanVariablesLines.get(name);
+            if (variableLine != null && variableLine < line) {
                 result = true;
                 break;
             }
@@ -203,18 +257,21 @@ public class AvoidNotShortCircuitOperatorsForBooleanCheck extends AbstractCheck
      */
     public final List<String> getSupportedOperandsNames(
             final DetailAST exprParentAST) {
-        for (DetailAST currentNode : getChildren(exprParentAST)) {
-            if (currentNode.getFirstChild() != null
-                    && currentNode.getType() != TokenTypes.METHOD_CALL) {
-                getSupportedOperandsNames(currentNode);
-            }
+        SevntuUtil.forEachSubTreeNode(exprParentAST,
+                node -> node.getType() == TokenTypes.METHOD_CALL, this::addSupportedOperand);
+        return supportedOperands;
+    }
 
-            if (currentNode.getType() == TokenTypes.IDENT
-                    && currentNode.getParent().getType() != TokenTypes.DOT) {
-                supportedOperands.add(currentNode.getText());
-            }
+    /**
+     * Remembers the operand name, if the node is a supported operand.
+     *
+     * @param node - a node of the current expression.
+     */
+    private void addSupportedOperand(final DetailAST node) {
+        if (node.getType() == TokenTypes.IDENT
+                && node.getParent().getType() != TokenTypes.DOT) {
+            supportedOperands.add(node.getText());
         }
-        return supportedOperands;
     }
 
     /**
@@ -226,42 +283,8 @@ public class AvoidNotShortCircuitOperatorsForBooleanCheck extends AbstractCheck
      *     "true" or "false" keywords and false otherwise.
      */
     public final boolean hasTrueOrFalseLiteral(final DetailAST parentAST) {
-        for (DetailAST currentNode : getChildren(parentAST)) {
-            if (currentNode.getFirstChild() != null) {
-                hasTrueOrFalseLiteral(currentNode);
-            }
-
-            final int type = currentNode.getType();
-            if (type == TokenTypes.LITERAL_TRUE
-                    || type == TokenTypes.LITERAL_FALSE) {
-                hasTrueOrFalseLiteralInExpression = true;
-            }
-
-            if (hasTrueOrFalseLiteralInExpression) {
-                break;
-            }
-        }
-        return hasTrueOrFalseLiteralInExpression;
-    }
-
-    /**
-     * Gets all the children one level below on the current top node.
-     *
-     * @param node - current parent node.
-     * @return an array of children one level below on the current parent node
-     *         aNode.
-     */
-    private static List<DetailAST> getChildren(final DetailAST node) {
-        final List<DetailAST> result = new LinkedList<>();
-
-        DetailAST currNode = node.getFirstChild();
-
-        while (currNode != null) {
-            result.add(currNode);
-            currNode = currNode.getNextSibling();
-        }
-
-        return result;
+        return tokenIndex.contains(parentAST, TokenTypes.LITERAL_TRUE)
+                || tokenIndex.contains(parentAST, TokenTypes.LITERAL_FALSE);
     }
 
 }
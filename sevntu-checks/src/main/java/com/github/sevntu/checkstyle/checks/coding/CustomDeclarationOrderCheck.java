@@ -21,14 +21,19 @@ package com.github.sevntu.checkstyle.checks.coding;
 
 import java.beans.Introspector;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
@@ -238,6 +243,30 @@ public class CustomDeclarationOrderCheck extends AbstractCheck {
     /** Macro string for String. */
     private static final String STRING_MACRO = "String";
 
+    /** RegExp which matches any class member. */
+    private static final String MATCH_ALL_FORMAT = ".*";
+
+    /**
+     * Modifiers which rules can be matched against by modifier bitmask, the bit of
+     * a modifier in the mask is 1 shifted by its index.
+     */
+    private static final String[] MASK_MODIFIERS = {
+        "public", "protected", "private", "static", "final", "abstract",
+        "transient", "volatile", "synchronized", "native",
+    };
+
+    /** Token types of {@link #MASK_MODIFIERS}, by the same index. */
+    private static final int[] MASK_MODIFIER_TOKENS = {
+        TokenTypes.LITERAL_PUBLIC, TokenTypes.LITERAL_PROTECTED, TokenTypes.LITERAL_PRIVATE,
+        TokenTypes.LITERAL_STATIC, TokenTypes.FINAL, TokenTypes.ABSTRACT,
+        TokenTypes.LITERAL_TRANSIENT, TokenTypes.LITERAL_VOLATILE,
+        TokenTypes.LITERAL_SYNCHRONIZED, TokenTypes.LITERAL_NATIVE,
+    };
+
+    /** RegExp of the rules which can only be found in the text of a single modifier. */
+    private static final Pattern SINGLE_MODIFIER_FORMAT =
+        Pattern.compile("(?:\\.\\*)?(\\w+) (?:\\.\\*)?");
+
     /** Default format for custom declaration check. */
     private static final String DEFAULT_DECLARATION = "Field(.*public .*) "
             + "### Field(.*protected .*) ### Field(.*private .*) ### CTOR(.*) ### "
@@ -258,6 +287,9 @@ public class CustomDeclarationOrderCheck extends AbstractCheck {
     private final List<FormatMatcher> customOrderDeclaration =
         new ArrayList<>();
 
+    /** Rules of the custom order declaration by token type of class member. */
+    private final Map<Integer, MemberRules> rulesByMemberType = new HashMap<>();
+
     /** Save compile flags for further usage. */
     private int compileFlags;
 
@@ -280,6 +312,12 @@ public class CustomDeclarationOrderCheck extends AbstractCheck {
      */
     private final Deque<ClassDetail> classDetails = new LinkedList<>();
 
+    /**
+     * Class definitions of the current file which are in method definitions.
+     */
+    private final Set<DetailAST> classDefsInMethodDefs =
+        Collections.newSetFromMap(new IdentityHashMap<>());
+
     /** Constructor to set default format. */
     public CustomDeclarationOrderCheck() {
         setCustomDeclarationOrder(DEFAULT_DECLARATION);
@@ -305,6 +343,14 @@ public class CustomDeclarationOrderCheck extends AbstractCheck {
                         + currentState, exp);
             }
         }
+
+        rulesByMemberType.clear();
+        for (int index = 0; index < customOrderDeclaration.size(); index++) {
+            final FormatMatcher currentRule = customOrderDeclaration.get(index);
+            rulesByMemberType
+                    .computeIfAbsent(currentRule.getClassMember(), type -> new MemberRules())
+                    .addRule(index, currentRule);
+        }
     }
 
     /**
@@ -367,6 +413,11 @@ public class CustomDeclarationOrderCheck extends AbstractCheck {
         return getDefaultTokens();
     }
 
+    @Override
+    public void beginTree(DetailAST rootAST) {
+        classDefsInMethodDefs.clear();
+    }
+
     @Override
     public void visitToken(DetailAST ast) {
         if (ast.getType() == TokenTypes.CLASS_DEF) {
@@ -383,7 +434,10 @@ public class CustomDeclarationOrderCheck extends AbstractCheck {
      * @param ast The class definition.
      */
     private void validateClassDef(DetailAST ast) {
-        if (!isClassDefInMethodDef(ast)) {
+        if (isNestedInMethodDef(ast)) {
+            classDefsInMethodDefs.add(ast);
+        }
+        else {
             if (checkInnerClasses && !classDetails.isEmpty()) {
                 final int position = getPositionInOrderDeclaration(ast);
 
@@ -413,7 +467,7 @@ public class CustomDeclarationOrderCheck extends AbstractCheck {
             final DetailAST classDefAst = objBlockAst.getParent();
 
             if (classDefAst.getType() == TokenTypes.CLASS_DEF
-                && !isClassDefInMethodDef(classDefAst)) {
+                && !classDefsInMethodDefs.contains(classDefAst)) {
                 if (checkGettersSetters) {
                     collectGetterSetter(ast);
                 }
@@ -435,7 +489,7 @@ public class CustomDeclarationOrderCheck extends AbstractCheck {
     @Override
     public void leaveToken(DetailAST ast) {
         if (ast.getType() == TokenTypes.CLASS_DEF
-                && !isClassDefInMethodDef(ast)) {
+                && !classDefsInMethodDefs.contains(ast)) {
             // -@cs[MoveVariableInsideIf] assignment value is a modification
             // call so it can't be moved
             final ClassDetail classDetail = classDetails.pop();
@@ -518,23 +572,24 @@ public class CustomDeclarationOrderCheck extends AbstractCheck {
     }
 
     /**
-     * Verify that class definition is in method definition.
+     * Verify that class definition is in method definition. Walks up only to
+     * the closest enclosing method or class definition, enclosing class
+     * definitions are visited before and their result is reused.
      *
      * @param classDef
      *        DetailAST of CLASS_DEF.
      * @return true if class definition is in method definition.
      */
-    private static boolean isClassDefInMethodDef(DetailAST classDef) {
-        boolean result = false;
+    private boolean isNestedInMethodDef(DetailAST classDef) {
         DetailAST currentParentAst = classDef.getParent();
-        while (currentParentAst != null) {
-            if (currentParentAst.getType() == TokenTypes.METHOD_DEF) {
-                result = true;
-                break;
-            }
+        while (currentParentAst != null
+                && currentParentAst.getType() != TokenTypes.METHOD_DEF
+                && currentParentAst.getType() != TokenTypes.CLASS_DEF) {
             currentParentAst = currentParentAst.getParent();
         }
-        return result;
+        return currentParentAst != null
+                && (currentParentAst.getType() == TokenTypes.METHOD_DEF
+                    || classDefsInMethodDefs.contains(currentParentAst));
     }
 
     /**
@@ -638,6 +693,9 @@ public class CustomDeclarationOrderCheck extends AbstractCheck {
     /**
      * Search in existing custom declaration order current aAST state. It's
      * necessary for getting order of declarations.
+     * Rules for anonymous class fields, getters and setters and main methods
+     * take precedence, the last matching of them is taken. Otherwise the first
+     * matching rule is taken.
      *
      * @param ast current DetailAST state.
      * @return position in the list of the sequence declaration if
@@ -645,35 +703,49 @@ public class CustomDeclarationOrderCheck extends AbstractCheck {
      */
     private int getPositionInOrderDeclaration(final DetailAST ast) {
         int result = -1;
-        final String modifiers = getCombinedModifiersList(ast);
-        for (int index = 0; result != 1 && index < customOrderDeclaration.size(); index++) {
-            final FormatMatcher currentRule = customOrderDeclaration.get(index);
-            if (currentRule.getClassMember() == ast.getType()
-                    && currentRule.getRegexp().matcher(modifiers).find()) {
-                if (currentRule.hasRule(ANON_CLASS_FIELD_MACRO)
-                        || currentRule.hasRule(GETTER_SETTER_MACRO)
-                        || currentRule.hasRule(MAIN_METHOD_MACRO)) {
-                    final String methodName = getIdentifier(ast);
-                    final ClassDetail classDetail = classDetails.peek();
-
-                    if (isAnonymousClassField(ast)
-                            || classDetail.containsGetter(methodName)
-                            || classDetail.containsSetter(methodName)
-                            || isMainMethod(ast)) {
-                        result = index;
+        final MemberRules memberRules = rulesByMemberType.get(ast.getType());
+        if (memberRules != null) {
+            final ClassMember member = new ClassMember(ast);
+
+            final List<Integer> specialRules = memberRules.getSpecialRules();
+            if (!specialRules.isEmpty() && isSpecialMember(ast)) {
+                for (int index = specialRules.size() - 1; result == -1 && index >= 0; index--) {
+                    final int position = specialRules.get(index);
+                    if (customOrderDeclaration.get(position).matches(member)) {
+                        result = position;
                     }
                 }
-                else {
-                    // if more than one rule matches current AST node, then keep first one
-                    if (result == -1) {
-                        result = index;
-                    }
+            }
+
+            final List<Integer> generalRules = memberRules.getGeneralRules();
+            for (int index = 0; result == -1 && index < generalRules.size(); index++) {
+                final int position = generalRules.get(index);
+                if (customOrderDeclaration.get(position).matches(member)) {
+                    result = position;
                 }
             }
         }
         return result;
     }
 
+    /**
+     * Verify that class member can be matched by rules for anonymous class
+     * fields, getters and setters and main methods.
+     *
+     * @param ast DetailAST of class member.
+     * @return true if class member is an anonymous class field, known getter
+     *         or setter or main method.
+     */
+    private boolean isSpecialMember(final DetailAST ast) {
+        final String methodName = getIdentifier(ast);
+        final ClassDetail classDetail = classDetails.peek();
+
+        return isAnonymousClassField(ast)
+                || classDetail.containsGetter(methodName)
+                || classDetail.containsSetter(methodName)
+                || isMainMethod(ast);
+    }
+
     /**
      * Verify that there is anonymous class in variable definition and this
      * variable is a field.
@@ -867,6 +939,23 @@ public class CustomDeclarationOrderCheck extends AbstractCheck {
         return modifiers.toString();
     }
 
+    /**
+     * Gets bit of the modifier in the modifiers mask.
+     *
+     * @param tokenType token type of the modifier.
+     * @return bit of the modifier, 0 if rules can not be matched by it.
+     */
+    private static int getModifierBit(int tokenType) {
+        int result = 0;
+        for (int index = 0; index < MASK_MODIFIER_TOKENS.length; index++) {
+            if (MASK_MODIFIER_TOKENS[index] == tokenType) {
+                result = 1 << index;
+                break;
+            }
+        }
+        return result;
+    }
+
     /**
      * Get text representation of MODIFIERS node.
      *
@@ -1239,6 +1328,15 @@ public class CustomDeclarationOrderCheck extends AbstractCheck {
         private final String rule;
         /** The string format of the RegExp. */
         private String format;
+        /** True if the RegExp matches any string. */
+        private boolean matchesAll;
+        /**
+         * Modifier which alone makes the RegExp found in the text of class member,
+         * null if there is no such modifier.
+         */
+        private String modifier;
+        /** Bit of {@link #modifier} in the modifiers mask, 0 if there is no modifier. */
+        private int modifierMask;
 
         /**
          * Creates a new {@code FormatMatcher} instance.
@@ -1300,12 +1398,45 @@ public class CustomDeclarationOrderCheck extends AbstractCheck {
             try {
                 regExp = Pattern.compile(newFormat, compileFlags);
                 format = newFormat;
+                matchesAll = MATCH_ALL_FORMAT.equals(newFormat);
+                modifier = null;
+                modifierMask = 0;
+                final Matcher singleModifier = SINGLE_MODIFIER_FORMAT.matcher(newFormat);
+                if ((compileFlags & Pattern.CASE_INSENSITIVE) == 0 && singleModifier.matches()) {
+                    final int index = Arrays.asList(MASK_MODIFIERS)
+                            .indexOf(singleModifier.group(1));
+                    if (index != -1) {
+                        modifier = MASK_MODIFIERS[index];
+                        modifierMask = 1 << index;
+                    }
+                }
             }
             catch (final PatternSyntaxException exc) {
                 throw new IllegalArgumentException("unable to parse " + newFormat, exc);
             }
         }
 
+        /**
+         * Check that the RegExp can be found in the text of class member. The text
+         * is not built when the RegExp matches any string or when the modifiers of
+         * class member are enough to tell the result.
+         *
+         * @param member class member.
+         * @return true if the RegExp can be found in the text.
+         */
+        private boolean matches(ClassMember member) {
+            boolean result = matchesAll;
+            if (!result) {
+                if (modifierMask != 0 && member.hasAnyModifier(modifierMask)) {
+                    result = true;
+                }
+                else if (modifierMask == 0 || member.hasTextOutsideModifiers(modifier)) {
+                    result = regExp.matcher(member.getText()).find();
+                }
+            }
+            return result;
+        }
+
         /**
          * Check that format matcher contains rule.
          *
@@ -1323,6 +1454,151 @@ public class CustomDeclarationOrderCheck extends AbstractCheck {
 
     }
 
+    /**
+     * Rules of the custom order declaration for one type of class members.
+     */
+    private static final class MemberRules {
+
+        /**
+         * Positions of rules for anonymous class fields, getters and setters
+         * and main methods.
+         */
+        private final List<Integer> specialRules = new ArrayList<>();
+
+        /** Positions of all other rules. */
+        private final List<Integer> generalRules = new ArrayList<>();
+
+        /**
+         * Adds rule to the rules of the class member type.
+         *
+         * @param position position of the rule in the custom order declaration.
+         * @param rule the rule.
+         */
+        private void addRule(int position, FormatMatcher rule) {
+            if (rule.hasRule(ANON_CLASS_FIELD_MACRO)
+                    || rule.hasRule(GETTER_SETTER_MACRO)
+                    || rule.hasRule(MAIN_METHOD_MACRO)) {
+                specialRules.add(position);
+            }
+            else {
+                generalRules.add(position);
+            }
+        }
+
+        /**
+         * Getter for the special rules field.
+         *
+         * @return positions of rules for anonymous class fields, getters and
+         *         setters and main methods.
+         */
+        private List<Integer> getSpecialRules() {
+            return specialRules;
+        }
+
+        /**
+         * Getter for the general rules field.
+         *
+         * @return positions of all other rules.
+         */
+        private List<Integer> getGeneralRules() {
+            return generalRules;
+        }
+
+    }
+
+    /**
+     * Class member being matched against the rules, its modifiers and text are
+     * collected on first use.
+     */
+    private static final class ClassMember {
+
+        /** Definition of the class member. */
+        private final DetailAST ast;
+        /** True if modifiers of the class member are collected. */
+        private boolean modifiersCollected;
+        /** Mask of the modifiers of the class member. */
+        private int modifierMask;
+        /** True if the class member has annotations among its modifiers. */
+        private boolean annotated;
+        /** Text of class member annotations, modifiers, type and name. */
+        private String text;
+
+        /**
+         * Creates a new {@code ClassMember} instance.
+         *
+         * @param ast definition of the class member.
+         */
+        private ClassMember(DetailAST ast) {
+            this.ast = ast;
+        }
+
+        /**
+         * Check that the class member has any of the modifiers.
+         *
+         * @param mask mask of the modifiers.
+         * @return true if the class member has any of the modifiers.
+         */
+        private boolean hasAnyModifier(int mask) {
+            collectModifiers();
+            return (modifierMask & mask) != 0;
+        }
+
+        /**
+         * Check that the modifier followed by space may appear in the text of
+         * class member not as a modifier, that is in annotations or at the end
+         * of its type.
+         *
+         * @param modifier text of the modifier.
+         * @return true if the text has to be searched for the modifier.
+         */
+        private boolean hasTextOutsideModifiers(String modifier) {
+            collectModifiers();
+            boolean result = annotated;
+            DetailAST node = ast.findFirstToken(TokenTypes.MODIFIERS).getNextSibling();
+            while (!result && node.getType() != TokenTypes.IDENT) {
+                DetailAST lastLeaf = node;
+                while (lastLeaf.getLastChild() != null) {
+                    lastLeaf = lastLeaf.getLastChild();
+                }
+                result = lastLeaf.getText().endsWith(modifier);
+                node = node.getNextSibling();
+            }
+            return result;
+        }
+
+        /**
+         * Getter for the text of class member, builds it on first use.
+         *
+         * @return text of class member annotations, modifiers, type and name.
+         */
+        private String getText() {
+            if (text == null) {
+                text = getCombinedModifiersList(ast);
+            }
+            return text;
+        }
+
+        /**
+         * Collects the mask of modifiers and presence of annotations on first use.
+         */
+        private void collectModifiers() {
+            if (!modifiersCollected) {
+                modifiersCollected = true;
+                DetailAST modifierAst = ast.findFirstToken(TokenTypes.MODIFIERS).getFirstChild();
+                while (modifierAst != null) {
+                    if (modifierAst.getType() == TokenTypes.ANNOTATION) {
+                        annotated = true;
+                    }
+                    else {
+                        modifierMask |= getModifierBit(modifierAst.getType());
+                    }
+                    modifierAst = modifierAst.getNextSibling();
+                }
+            }
+        }
+
+    }
+
     /**
      * Class to keep current position and collect getters, setters.
      */
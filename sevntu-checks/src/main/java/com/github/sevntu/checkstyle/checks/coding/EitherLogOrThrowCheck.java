@@ -25,6 +25,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.regex.Pattern;
 
+import com.github.sevntu.checkstyle.FileImports;
 import com.github.sevntu.checkstyle.SevntuUtil;
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
@@ -166,6 +167,11 @@ public class EitherLogOrThrowCheck extends AbstractCheck {
      */
     private boolean hasLoggerClassInImports;
 
+    /**
+     * Package and imports of the current file.
+     */
+    private FileImports fileImports;
+
     /**
      * Considered class definition.
      */
@@ -206,7 +212,6 @@ public class EitherLogOrThrowCheck extends AbstractCheck {
     @Override
     public int[] getDefaultTokens() {
         return new int[] {
-            TokenTypes.IMPORT,
             TokenTypes.CLASS_DEF,
             TokenTypes.LITERAL_CATCH,
             TokenTypes.VARIABLE_DEF,
@@ -215,7 +220,12 @@ public class EitherLogOrThrowCheck extends AbstractCheck {
 
     @Override
     public int[] getAcceptableTokens() {
-        return getDefaultTokens();
+        return new int[] {
+            TokenTypes.CLASS_DEF,
+            TokenTypes.LITERAL_CATCH,
+            TokenTypes.VARIABLE_DEF,
+            TokenTypes.METHOD_DEF,
+            TokenTypes.IMPORT, };
     }
 
     @Override
@@ -223,15 +233,22 @@ public class EitherLogOrThrowCheck extends AbstractCheck {
         return getDefaultTokens();
     }
 
+    @Override
+    public void beginTree(DetailAST rootAST) {
+        fileImports = FileImports.of(rootAST);
+        hasLoggerClassInImports = loggerFullyQualifiedClassName.equals(
+                fileImports.getSingleTypeImports().get(loggerSimpleClassName));
+    }
+
+    @Override
+    public void finishTree(DetailAST rootAST) {
+        // the imports of the file are not needed anymore and can be collected
+        fileImports = null;
+    }
+
     @Override
     public void visitToken(final DetailAST ast) {
         switch (ast.getType()) {
-            case TokenTypes.IMPORT:
-                if (!hasLoggerClassInImports
-                    && isLoggerImport(ast)) {
-                    hasLoggerClassInImports = true;
-                }
-                break;
             case TokenTypes.CLASS_DEF:
                 if (!isInnerClass(ast)) {
                     currentClassDefAst = ast;
@@ -258,25 +275,15 @@ public class EitherLogOrThrowCheck extends AbstractCheck {
             case TokenTypes.LITERAL_CATCH:
                 processCatchNode(ast);
                 break;
+            case TokenTypes.IMPORT:
+                // the logger imports are resolved in beginTree
+                break;
             default:
                 SevntuUtil.reportInvalidToken(ast.getType());
                 break;
         }
     }
 
-    /**
-     * Checks if AST object is logger import.
-     *
-     * @param importAst
-     *        DetailAST of import statement.
-     * @return true if import equals logger full class name.
-     */
-    private boolean isLoggerImport(final DetailAST importAst) {
-        final String importIdentifier =
-                FullIdent.createFullIdent(importAst.getFirstChild()).getText();
-        return loggerFullyQualifiedClassName.equals(importIdentifier);
-    }
-
     /**
      * Verify that class is inner.
      *
@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Pattern;
 
+import com.github.sevntu.checkstyle.FileImports;
 import com.github.sevntu.checkstyle.SevntuUtil;
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
@@ -111,14 +112,9 @@ public class EmptyPublicCtorInClassCheck extends AbstractCheck {
     public static final String MSG_KEY = "empty.public.ctor";
 
     /**
-     * List of single-type-imports for current AST.
+     * Package and imports of current AST.
      */
-    private final List<String> singleTypeImports = new ArrayList<>();
-
-    /**
-     * List of on-demand-imports for current AST.
-     */
-    private final List<String> onDemandImports = new ArrayList<>();
+    private FileImports fileImports;
 
     /**
      * Package name for current AST or empty string if AST does not contain package name.
@@ -172,14 +168,16 @@ public class EmptyPublicCtorInClassCheck extends AbstractCheck {
     public int[] getDefaultTokens() {
         return new int[] {
             TokenTypes.CLASS_DEF,
-            TokenTypes.PACKAGE_DEF,
-            TokenTypes.IMPORT,
         };
     }
 
     @Override
     public int[] getAcceptableTokens() {
-        return getDefaultTokens();
+        return new int[] {
+            TokenTypes.CLASS_DEF,
+            TokenTypes.PACKAGE_DEF,
+            TokenTypes.IMPORT,
+        };
     }
 
     @Override
@@ -189,25 +187,22 @@ public class EmptyPublicCtorInClassCheck extends AbstractCheck {
 
     @Override
     public void beginTree(DetailAST aRootNode) {
-        singleTypeImports.clear();
-        onDemandImports.clear();
-        filePackageName = "";
+        fileImports = FileImports.of(aRootNode);
+        filePackageName = fileImports.getPackageName();
+        if (filePackageName == null) {
+            filePackageName = "";
+        }
+    }
+
+    @Override
+    public void finishTree(DetailAST aRootNode) {
+        // the imports of the file are not needed anymore and can be collected
+        fileImports = null;
     }
 
     @Override
     public void visitToken(DetailAST node) {
         switch (node.getType()) {
-            case TokenTypes.IMPORT:
-                final String packageMemberName = getIdentifierName(node);
-
-                if (isOnDemandImport(packageMemberName)) {
-                    onDemandImports.add(packageMemberName);
-                }
-                else {
-                    singleTypeImports.add(packageMemberName);
-                }
-                break;
-
             case TokenTypes.CLASS_DEF:
                 if (getClassCtorCount(node) == 1) {
                     final DetailAST ctorDef = getFirstCtorDefinition(node);
@@ -221,9 +216,9 @@ public class EmptyPublicCtorInClassCheck extends AbstractCheck {
                     }
                 }
                 break;
-
             case TokenTypes.PACKAGE_DEF:
-                filePackageName = getIdentifierName(node);
+            case TokenTypes.IMPORT:
+                // annotation names are qualified with the imports read in beginTree
                 break;
             default:
                 SevntuUtil.reportInvalidToken(node.getType());
@@ -371,17 +366,6 @@ public class EmptyPublicCtorInClassCheck extends AbstractCheck {
         return annotationNames;
     }
 
-    /**
-     * Checks whether import is on demand import(one that imports entire package).
-     *
-     * @param importTargetName
-     *        target of import statement.
-     * @return true, if import is on demand import import.
-     */
-    private static boolean isOnDemandImport(String importTargetName) {
-        return importTargetName.endsWith(".*");
-    }
-
     /**
      * <p>
      * Generates possible canonical annotation names.
@@ -395,19 +379,18 @@ public class EmptyPublicCtorInClassCheck extends AbstractCheck {
             generateAnnotationPossibleCanonicalNames(String annotationName) {
         final List<String> annotationPossibleCanonicalNames = new ArrayList<>();
 
-        for (String importEntry : singleTypeImports) {
-            final String annotationCanonicalName =
-                    joinSingleTypeImportWithIdentifier(importEntry, annotationName);
+        final String annotationNameFirstPart = getQualifiedNameFirstPart(annotationName);
+        final String singleTypeImport =
+                fileImports.getSingleTypeImports().get(annotationNameFirstPart);
 
-            if (annotationCanonicalName != null) {
-                annotationPossibleCanonicalNames.add(annotationCanonicalName);
-                break;
-            }
+        if (singleTypeImport != null) {
+            annotationPossibleCanonicalNames.add(singleTypeImport
+                    + annotationName.substring(annotationNameFirstPart.length()));
         }
 
-        for (String importEntry : onDemandImports) {
+        for (String onDemandImport : fileImports.getOnDemandImports()) {
             final String annotationCanonicalName =
-                    joinOnDemandImportWithIdentifier(importEntry, annotationName);
+                    joinFilePackageNameWithIdentifier(onDemandImport, annotationName);
 
             annotationPossibleCanonicalNames.add(annotationCanonicalName);
         }
@@ -420,59 +403,6 @@ public class EmptyPublicCtorInClassCheck extends AbstractCheck {
         return annotationPossibleCanonicalNames;
     }
 
-    /**
-     * <p>
-     * Joins single type import entry and identifier name into fully qualified name.
-     * </p>
-     * <p>
-     * For example: joinMemberImportWithIdentifier("package.Person","Person") returns
-     * "package.Person", joinMemberImportWithIdentifier("package.Person","Person.Name") returns
-     * "package.Person.Name".
-     * </p>
-     *
-     * @param importEntry
-     *        single type import entry for join.
-     * @param identifierName
-     *        identifier name to join to import.
-     * @return fully qualified identifier name if given import corresponds to identifier, otherwise
-     *         null.
-     */
-    private static String
-            joinSingleTypeImportWithIdentifier(String importEntry, String identifierName) {
-        final String result;
-        final String importEntryLastPart = getSimpleIdentifierNameFromQualifiedName(importEntry);
-        final String annotationNameFirstPart = getQualifiedNameFirstPart(identifierName);
-
-        if (importEntryLastPart.equals(annotationNameFirstPart)) {
-            result = importEntry + identifierName.substring(annotationNameFirstPart.length());
-        }
-        else {
-            result = null;
-        }
-
-        return result;
-    }
-
-    /**
-     * <p>
-     * Joins on demand import entry and identifier name into fully qualified name.
-     * </p>
-     * <p>
-     * For example: joinWildcardImportWithIdentifier("package.*","Person") returns "package.Person",
-     * joinWildcardImportWithIdentifier("package.*","Person.Name") returns "package.Person.Name".
-     * </p>
-     *
-     * @param importEntry
-     *        on demand import entry for join.
-     * @param identifierName
-     *        identifier name to join to import.
-     * @return fully qualified identifier name.
-     */
-    private static String
-            joinOnDemandImportWithIdentifier(String importEntry, String identifierName) {
-        return importEntry.substring(0, importEntry.length() - 1) + identifierName;
-    }
-
     /**
      * <p>
      * Joins package name with identifier name into fully qualified name.
@@ -515,22 +445,6 @@ public class EmptyPublicCtorInClassCheck extends AbstractCheck {
         return result;
     }
 
-    /**
-     * <p>
-     * Returns simple identifier name from its qualified name.
-     * </p>
-     * <p>
-     * For example: If method called for name "com.example.company.Person" it will return "Person".
-     * </p>
-     *
-     * @param qualifiedName
-     *        qualified identifier name.
-     * @return simple identifier name.
-     */
-    private static String getSimpleIdentifierNameFromQualifiedName(String qualifiedName) {
-        return qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1);
-    }
-
     /**
      * Returns name of identifier contained in specified node.
      *
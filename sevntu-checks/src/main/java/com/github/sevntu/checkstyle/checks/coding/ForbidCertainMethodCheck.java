@@ -21,7 +21,9 @@ package com.github.sevntu.checkstyle.checks.coding;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -47,6 +49,11 @@ import com.puppycrawl.tools.checkstyle.utils.CommonUtil;
  * When blank or unspecified, all the methods are allowed.</li>
  * <li><b>argumentCount</b> - Number or range to match number of arguments the method takes.
  * Multiple numbers/ranges must be comma separated. When unspecified, defaults to "0-".
+ * <li><b>rules</b> - Table of additional forbidden methods, so a single instance of the check
+ * can replace many instances configured with {@code methodName} and {@code argumentCount}.
+ * Rules are separated by {@code ;}, each rule has the form
+ * {@code methodName#argumentCount#message} where argument count and message are optional.
+ * When a message is given, it is reported instead of the default one.</li>
  * </ul>
  *
  * <p>An example configuration:
@@ -74,6 +81,18 @@ import com.puppycrawl.tools.checkstyle.utils.CommonUtil;
  *    &lt;property name="argumentCount" value="-3, 5-7, 9-"/&gt;
  * &lt;/module&gt;
  * </pre>
+ * The same restrictions can be configured by one instance of the check:
+ *
+ * <pre>
+ * &lt;module name="ForbidCertainMethodCheck"&gt;
+ *    &lt;property name="rules" value="exit; assert(True|False)#1#Provide a message;
+ *        asList#-3, 5-7, 9-"/&gt;
+ * &lt;/module&gt;
+ * </pre>
+ * Rules whose method name is a plain identifier are found by hash lookup, so their number
+ * barely affects the cost of the check. All other rules are matched one by one.
+ * When several rules match the same method call, only the first of them is reported,
+ * the rule given by {@code methodName} and {@code argumentCount} goes first.
  *
  * <p>
  * Note: The check only matches method name. Matching on class/object of the
@@ -89,8 +108,19 @@ public class ForbidCertainMethodCheck extends AbstractCheck {
 
     /** Key is pointing to the warning message text in "messages.properties" file. */
     public static final String MSG_KEY = "forbid.certain.method";
+    /** Key is pointing to the warning message text for rules with custom message. */
+    public static final String MSG_KEY_RULE = "forbid.certain.method.rule";
     /** Regex for splitting string on comma. */
     private static final Pattern COMMA_REGEX = Pattern.compile(",");
+    /** Regex for splitting table of rules into rules. */
+    private static final Pattern RULES_SEPARATOR_REGEX = Pattern.compile(";");
+    /** Regex for splitting rule into method name, argument count and message. */
+    private static final Pattern RULE_FIELDS_SEPARATOR_REGEX = Pattern.compile("#");
+    /**
+     * Regex for method name patterns which can match only themselves. It has no '$',
+     * as it is the end anchor in a pattern.
+     */
+    private static final Pattern LITERAL_NAME_REGEX = Pattern.compile("\\w+");
 
     /** Name of the method. */
     private Pattern methodName = CommonUtil.createPattern("^$");
@@ -101,6 +131,13 @@ public class ForbidCertainMethodCheck extends AbstractCheck {
     private final List<IntRange> argumentCountRanges = new ArrayList<>(
         Collections.singletonList(new IntRange(0, Integer.MAX_VALUE)));
 
+    /** Rules configured by table of rules. */
+    private final List<Rule> tableRules = new ArrayList<>();
+    /** Rules with literal method name, mapped by this name. */
+    private final Map<String, List<Rule>> literalRules = new HashMap<>();
+    /** Rules with method name pattern which is not literal. */
+    private final List<Rule> patternRules = new ArrayList<>();
+
     /**
      * Set method name regex for the forbidden method.
      *
@@ -124,10 +161,36 @@ public class ForbidCertainMethodCheck extends AbstractCheck {
                 "argumentCount must be non-empty, found: " + argumentCount);
         }
 
-        final String[] rangeTokens = COMMA_REGEX.split(argumentCount);
         argumentCountRanges.clear();
-        for (String oneToken : rangeTokens) {
-            argumentCountRanges.add(IntRange.from(oneToken));
+        argumentCountRanges.addAll(parseRanges(argumentCount));
+    }
+
+    /**
+     * Set table of rules for forbidden methods.
+     * Rules are separated by ';', each rule has the form 'methodName#argumentCount#message',
+     * argument count defaults to "0-" and message is optional.
+     *
+     * @param rules table of rules
+     * @throws CheckstyleException when any rule is not valid
+     */
+    public void setRules(String rules) throws CheckstyleException {
+        tableRules.clear();
+        for (String rule : RULES_SEPARATOR_REGEX.split(rules)) {
+            if (!CommonUtil.isBlank(rule)) {
+                tableRules.add(Rule.from(rule));
+            }
+        }
+    }
+
+    @Override
+    public void init() {
+        literalRules.clear();
+        patternRules.clear();
+        final List<Rule> rules = new ArrayList<>();
+        rules.add(new Rule(methodName, argumentCount, argumentCountRanges, null));
+        rules.addAll(tableRules);
+        for (int order = 0; order < rules.size(); order++) {
+            addRule(rules.get(order), order);
         }
     }
 
@@ -162,9 +225,15 @@ public class ForbidCertainMethodCheck extends AbstractCheck {
                 methodNameInCode = dot.getLastChild().getText();
             }
             final int numArgsInCode = getMethodCallParameterCount(ast);
-            if (isForbiddenMethod(methodNameInCode, numArgsInCode)) {
-                log(ast, MSG_KEY, methodNameInCode, methodName,
-                    numArgsInCode, argumentCount);
+            final Rule rule = findForbiddingRule(methodNameInCode, numArgsInCode);
+            if (rule != null) {
+                if (rule.message == null) {
+                    log(ast, MSG_KEY, methodNameInCode, rule.methodName,
+                        numArgsInCode, rule.argumentCount);
+                }
+                else {
+                    log(ast, MSG_KEY_RULE, methodNameInCode, numArgsInCode, rule.message);
+                }
             }
         }
         else {
@@ -192,23 +261,139 @@ public class ForbidCertainMethodCheck extends AbstractCheck {
     }
 
     /**
-     * Check if the method/constructor call against defined rules.
+     * Register rule for lookup by method name.
      *
-     * @param name ruleName of the the method
+     * @param rule the rule
+     * @param order position of the rule in the order of configuration
+     */
+    private void addRule(Rule rule, int order) {
+        rule.order = order;
+        final String pattern = rule.methodName.pattern();
+        if (LITERAL_NAME_REGEX.matcher(pattern).matches()) {
+            literalRules.computeIfAbsent(pattern, key -> new ArrayList<>()).add(rule);
+        }
+        else {
+            patternRules.add(rule);
+        }
+    }
+
+    /**
+     * Find the first rule forbidding the method/constructor call.
+     *
+     * @param name name of the method
      * @param argCount number of arguments of the method
-     * @return true if method name and argument matches, false otherwise.
+     * @return the first rule matching method name and argument count, null if there is none.
+     */
+    private Rule findForbiddingRule(String name, int argCount) {
+        Rule result = null;
+        final List<Rule> rulesForName = literalRules.get(name);
+        if (rulesForName != null) {
+            for (Rule rule : rulesForName) {
+                if (rule.containsArgumentCount(argCount)) {
+                    result = rule;
+                    break;
+                }
+            }
+        }
+        for (Rule rule : patternRules) {
+            if (result != null && rule.order > result.order) {
+                break;
+            }
+            if (rule.methodName.matcher(name).matches()
+                    && rule.containsArgumentCount(argCount)) {
+                result = rule;
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Parse comma separated numbers or ranges.
+     *
+     * @param ranges string representation of the ranges
+     * @return list of ranges
+     * @throws CheckstyleException if any of the ranges is not valid
+     */
+    private static List<IntRange> parseRanges(String ranges) throws CheckstyleException {
+        final List<IntRange> result = new ArrayList<>();
+        for (String oneToken : COMMA_REGEX.split(ranges)) {
+            result.add(IntRange.from(oneToken));
+        }
+        return result;
+    }
+
+    /**
+     * Forbidden method defined by name pattern, argument count ranges and optional message.
      */
-    private boolean isForbiddenMethod(String name, int argCount) {
-        boolean matched = false;
-        if (methodName.matcher(name).matches()) {
+    private static final class Rule {
+        /** Name of the method. */
+        private final Pattern methodName;
+        /** Range for number of arguments. */
+        private final String argumentCount;
+        /** Range objects for matching number of arguments. */
+        private final List<IntRange> argumentCountRanges;
+        /** Custom violation message, null when the default message is used. */
+        private final String message;
+        /** Position of the rule in the order of configuration. */
+        private int order;
+
+        /**
+         * Creates new rule.
+         *
+         * @param methodName pattern for the method name
+         * @param argumentCount range for number of arguments
+         * @param argumentCountRanges range objects for matching number of arguments
+         * @param message custom violation message, may be null
+         */
+        /* package */ Rule(Pattern methodName, String argumentCount,
+                List<IntRange> argumentCountRanges, String message) {
+            this.methodName = methodName;
+            this.argumentCount = argumentCount;
+            this.argumentCountRanges = argumentCountRanges;
+            this.message = message;
+        }
+
+        /**
+         * Create a rule from its string representation 'methodName#argumentCount#message'.
+         *
+         * @param rule string representation of the rule
+         * @return Rule object for the string
+         * @throws CheckstyleException if the specified rule is not valid
+         */
+        /* package */ static Rule from(String rule) throws CheckstyleException {
+            final String[] fields = RULE_FIELDS_SEPARATOR_REGEX.split(rule, 3);
+            final String name = fields[0].trim();
+            if (name.isEmpty()) {
+                throw new CheckstyleException("Rule must define method name: " + rule);
+            }
+            String count = "0-";
+            if (fields.length > 1 && !CommonUtil.isBlank(fields[1])) {
+                count = fields[1].trim();
+            }
+            String message = null;
+            if (fields.length > 2 && !CommonUtil.isBlank(fields[2])) {
+                message = fields[2].trim();
+            }
+            return new Rule(CommonUtil.createPattern(name), count, parseRanges(count), message);
+        }
+
+        /**
+         * Check if number of arguments is contained in any of the ranges of the rule.
+         *
+         * @param argCount number of arguments of the method
+         * @return true if argument count matches, false otherwise.
+         */
+        /* package */ boolean containsArgumentCount(int argCount) {
+            boolean matched = false;
             for (IntRange intRange : argumentCountRanges) {
                 if (intRange.contains(argCount)) {
                     matched = true;
                     break;
                 }
             }
+            return matched;
         }
-        return matched;
     }
 
     /**
@@ -19,15 +19,16 @@
 
 package com.github.sevntu.checkstyle.checks.coding;
 
+import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import com.github.sevntu.checkstyle.FileImports;
 import com.github.sevntu.checkstyle.SevntuUtil;
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
-import com.puppycrawl.tools.checkstyle.api.FullIdent;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
 
 /**
@@ -53,26 +54,44 @@ public class ForbidInstantiationCheck extends AbstractCheck {
      */
     public static final String MSG_KEY = "forbid.instantiation";
 
-    /** Path string to separate layers of packages. */
-    private static final String PATH_SEPARATOR = ".";
+    /** Name of the package which is imported implicitly. */
+    private static final String JAVA_LANG_PACKAGE = "java.lang";
 
     /**
-     * Set which contains classNames for objects that are forbidden to
+     * Trie which contains classNames for objects that are forbidden to
      * instantiate.
      */
-    private final Set<String> forbiddenClasses = new HashSet<>();
+    private QualifiedNameTrie forbiddenClasses = new QualifiedNameTrie();
 
     /**
-     * List which contains String representation of imports for class is
-     * currently being processed.
+     * Node of "java.lang" package in the trie of forbidden classes, null if
+     * no class from this package is forbidden.
      */
-    private final List<String> importsList = new LinkedList<>();
+    private QualifiedNameTrie.Node javaLangPackage;
+
+    /**
+     * Set which contains short names of forbidden classes that are imported
+     * by single type imports of the class is currently being processed.
+     */
+    private final Set<String> forbiddenImportedClasses = new HashSet<>();
+
+    /**
+     * List which contains nodes of packages imported on demand by the class is
+     * currently being processed and containing forbidden classes.
+     */
+    private final List<QualifiedNameTrie.Node> forbiddenImportedPackages = new ArrayList<>();
+
+    /**
+     * Package and imports of the current file.
+     */
+    private FileImports fileImports;
 
     /**
      * Creates the check instance.
      */
     public ForbidInstantiationCheck() {
         forbiddenClasses.add("java.lang.NullPointerException");
+        javaLangPackage = forbiddenClasses.getNode(JAVA_LANG_PACKAGE);
     }
 
     /**
@@ -84,27 +103,37 @@ public class ForbidInstantiationCheck extends AbstractCheck {
      *        name - NullpointerException;
      */
     public void setForbiddenClasses(final String... classNames) {
-        forbiddenClasses.clear();
+        forbiddenClasses = new QualifiedNameTrie();
         if (classNames != null) {
             for (String name : classNames) {
                 forbiddenClasses.add(name);
             }
         }
+        javaLangPackage = forbiddenClasses.getNode(JAVA_LANG_PACKAGE);
     }
 
     @Override
     public void beginTree(final DetailAST rootAST) {
-        importsList.clear();
+        forbiddenImportedClasses.clear();
+        forbiddenImportedPackages.clear();
+        fileImports = FileImports.of(rootAST);
+        resolveImports();
+    }
+
+    @Override
+    public void finishTree(final DetailAST rootAST) {
+        // the imports of the file are not needed anymore and can be collected
+        fileImports = null;
     }
 
     @Override
     public int[] getDefaultTokens() {
-        return new int[] {TokenTypes.IMPORT, TokenTypes.LITERAL_NEW };
+        return new int[] {TokenTypes.LITERAL_NEW };
     }
 
     @Override
     public int[] getAcceptableTokens() {
-        return getDefaultTokens();
+        return new int[] {TokenTypes.IMPORT, TokenTypes.LITERAL_NEW };
     }
 
     @Override
@@ -115,41 +144,23 @@ public class ForbidInstantiationCheck extends AbstractCheck {
     @Override
     public void visitToken(DetailAST ast) {
         switch (ast.getType()) {
-            case TokenTypes.IMPORT:
-                importsList.add(getText(ast));
-                break;
-
             case TokenTypes.LITERAL_NEW:
-
-                final String instanceClass = getText(ast);
+                final DetailAST instanceClass = getNameNode(ast);
 
                 if (instanceClass != null) {
                     // non-primitive instance
-
                     final String instanceClassName = getClassName(instanceClass);
 
-                    for (String forbiddenClass : forbiddenClasses) {
-                        if (forbiddenClass.startsWith("java.lang.")
-                            && forbiddenClass.endsWith(instanceClassName)) {
-                            log(ast, MSG_KEY, instanceClassName);
-                        }
-                        else if (instanceClass.contains(PATH_SEPARATOR)) {
-                            // className is full
-
-                            if (instanceClass.equals(forbiddenClass)) {
-                                // the full path is forbidden
-                                log(ast, MSG_KEY, instanceClassName);
-                            }
-                        }
-                        else if (addedUsingForbiddenImport(instanceClass,
-                            forbiddenClass)) {
-                            // className is short and exists in imports
-                            log(ast, MSG_KEY, instanceClass);
-                        }
+                    if (isForbiddenInstantiation(instanceClass, instanceClassName)) {
+                        log(ast, MSG_KEY, instanceClassName);
                     }
                 }
                 break;
 
+            case TokenTypes.IMPORT:
+                // the imports of the file are resolved in beginTree
+                break;
+
             default:
                 SevntuUtil.reportInvalidToken(ast.getType());
                 break;
@@ -157,112 +168,111 @@ public class ForbidInstantiationCheck extends AbstractCheck {
     }
 
     /**
-     * Checks that the class with given className is visible because of the
-     * forbidden import.
-     *
-     * @param className
-     *        - the name of the class to check.
-     * @param forbiddenClassNameAndPath
-     *        - full name&path of the given forbidden class.
-     * @return true if the class with given className is imported with the
-     *         forbidden import and false otherwise.
+     * Remembers the imports which make some forbidden classes visible by their
+     * short names.
      */
-    private boolean addedUsingForbiddenImport(final String className,
-            String forbiddenClassNameAndPath) {
-        boolean result = false;
-
-        for (String importText : importsList) {
-            if (isWildcardForbiddenImported(importText, forbiddenClassNameAndPath, className)
-                    || isForbiddenImported(importText, forbiddenClassNameAndPath, className)) {
-                result = true;
-                break;
+    private void resolveImports() {
+        for (Map.Entry<String, String> singleTypeImport
+                : fileImports.getSingleTypeImports().entrySet()) {
+            if (forbiddenClasses.findName(singleTypeImport.getValue()) != null) {
+                forbiddenImportedClasses.add(singleTypeImport.getKey());
+            }
+        }
+        for (String onDemandImport : fileImports.getOnDemandImports()) {
+            final QualifiedNameTrie.Node importedPackage =
+                    forbiddenClasses.getNode(onDemandImport);
+            if (importedPackage != null) {
+                forbiddenImportedPackages.add(importedPackage);
             }
         }
-
-        return result;
     }
 
     /**
-     * Tests if the class with given className is imported with the forbidden
-     * import and false otherwise.
+     * Checks that the instantiated class is forbidden.
      *
-     * @param importText
-     *        - String representation of imports from the processed class.
-     * @param forbiddenClassNameAndPath
-     *        - full name&path of the given forbidden class.
-     * @param className
-     *        - the name of the class to check.
-     * @return true if the class with given className is imported with the
-     *         forbidden import and false otherwise.
+     * @param instanceClass
+     *        - IDENT or DOT node of the instantiated class name.
+     * @param instanceClassName
+     *        - the short name of the instantiated class.
+     * @return true if the class is forbidden.
      */
-    private static boolean isWildcardForbiddenImported(String importText,
-            String forbiddenClassNameAndPath, String className) {
-        final String importTextWithoutAsterisk =
-                importText.substring(0, importText.length() - 1);
-
-        // -@cs[EqualsAvoidNull] need parenthesis around '+' otherwise PMD will complain
-        return importText.endsWith("*")
-                && forbiddenClassNameAndPath.equals(importTextWithoutAsterisk + className);
+    private boolean isForbiddenInstantiation(DetailAST instanceClass,
+            String instanceClassName) {
+        final boolean result;
+
+        if (javaLangPackage != null && javaLangPackage.hasName(instanceClassName)) {
+            result = true;
+        }
+        else if (instanceClass.getType() == TokenTypes.DOT) {
+            // className is full
+            result = forbiddenClasses.findName(instanceClass) != null;
+        }
+        else {
+            // className is short
+            result = addedUsingForbiddenImport(instanceClassName);
+        }
+
+        return result;
     }
 
     /**
-     * Tests if the class with given className is imported with the forbidden
-     * import and false otherwise.
+     * Checks that the class with given className is visible because of the
+     * forbidden import.
      *
-     * @param importText
-     *        - String representation of imports from the processed class.
-     * @param forbiddenClassNameAndPath
-     *        - full name&path of the given forbidden class.
      * @param className
      *        - the name of the class to check.
      * @return true if the class with given className is imported with the
      *         forbidden import and false otherwise.
      */
-    private static boolean isForbiddenImported(String importText, String forbiddenClassNameAndPath,
-            String className) {
-        return importText.equals(forbiddenClassNameAndPath)
-                && importText.endsWith(className);
+    private boolean addedUsingForbiddenImport(final String className) {
+        boolean result = forbiddenImportedClasses.contains(className);
+
+        if (!result) {
+            for (QualifiedNameTrie.Node importedPackage : forbiddenImportedPackages) {
+                if (importedPackage.hasName(className)) {
+                    result = true;
+                    break;
+                }
+            }
+        }
+
+        return result;
     }
 
     /**
      * Gets the class name from full (dotted) classPath.
      *
      * @param classNameAndPath
-     *        - the full (dotted) classPath
+     *        - IDENT or DOT node of the full (dotted) classPath
      * @return the name of the class is specified by the current full name&path.
      */
-    private static String getClassName(final String classNameAndPath) {
-        return classNameAndPath.replaceAll(".+\\.", "");
+    private static String getClassName(final DetailAST classNameAndPath) {
+        final String result;
+
+        if (classNameAndPath.getType() == TokenTypes.DOT) {
+            result = classNameAndPath.getLastChild().getText();
+        }
+        else {
+            result = classNameAndPath.getText();
+        }
+        return result;
     }
 
     /**
-     * Gets the text representation from the given DetailAST node.
+     * Gets the name node from the given DetailAST node.
      *
      * @param ast
-     *        - DetailAST node is pointing to import definition or to the "new"
-     *        literal node ("IMPORT" or "LITERAL_NEW" node types).
-     * @return Import text without "import" word and semicolons for given
-     *         "IMPORT" node or instantiated class Name&Path for given
-     *         "LITERAL_NEW" node.
+     *        - DetailAST node is pointing to the "new" literal node
+     *        ("LITERAL_NEW" node type).
+     * @return IDENT or DOT node of the instantiated class Name&amp;Path,
+     *         null for instantiation of primitive arrays.
      */
-    private static String getText(final DetailAST ast) {
-        String result = null;
-
-        final DetailAST textWithoutDots = ast.findFirstToken(TokenTypes.IDENT);
+    private static DetailAST getNameNode(final DetailAST ast) {
+        DetailAST result = ast.findFirstToken(TokenTypes.IDENT);
 
-        if (textWithoutDots == null) {
+        if (result == null) {
             // if there are TokenTypes.DOT nodes in subTree.
-            final DetailAST parentDotAST = ast.findFirstToken(TokenTypes.DOT);
-            if (parentDotAST != null) {
-                final FullIdent dottedPathIdent = FullIdent
-                        .createFullIdentBelow(parentDotAST);
-                final DetailAST nameAST = parentDotAST.getLastChild();
-                result = dottedPathIdent.getText() + PATH_SEPARATOR + nameAST.getText();
-            }
-        }
-        // if subtree doesn`t contain dots.
-        else {
-            result = textWithoutDots.getText();
+            result = ast.findFirstToken(TokenTypes.DOT);
         }
         return result;
     }
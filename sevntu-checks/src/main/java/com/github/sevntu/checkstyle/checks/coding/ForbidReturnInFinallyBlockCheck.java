@@ -22,6 +22,7 @@ package com.github.sevntu.checkstyle.checks.coding;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.github.sevntu.checkstyle.TokenTypeIndex;
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
@@ -46,6 +47,11 @@ public class ForbidReturnInFinallyBlockCheck extends AbstractCheck {
      */
     public static final String MSG_KEY = "forbid.return.in.finally.block";
 
+    /**
+     * Index of the nodes of the current file by token type.
+     */
+    private TokenTypeIndex tokenIndex;
+
     @Override
     public final int[] getDefaultTokens() {
         return new int[] {
@@ -63,6 +69,17 @@ public class ForbidReturnInFinallyBlockCheck extends AbstractCheck {
         return getDefaultTokens();
     }
 
+    @Override
+    public void beginTree(DetailAST rootAST) {
+        tokenIndex = TokenTypeIndex.of(rootAST);
+    }
+
+    @Override
+    public void finishTree(DetailAST rootAST) {
+        // the index of the file is not needed anymore and can be collected
+        tokenIndex = null;
+    }
+
     @Override
     public void visitToken(DetailAST finallyNode) {
         final DetailAST firstSlistNode = finallyNode.findFirstToken(TokenTypes.SLIST);
@@ -77,7 +94,8 @@ public class ForbidReturnInFinallyBlockCheck extends AbstractCheck {
     }
 
     /**
-     * Retrieves the list of return nodes inside the given node.
+     * Retrieves the list of return nodes inside the given node. Subtrees
+     * without return nodes are skipped.
      *
      * @param node The token to examine.
      * @return The list of return nodes.
@@ -90,7 +108,9 @@ public class ForbidReturnInFinallyBlockCheck extends AbstractCheck {
                 result.add(child);
                 break;
             }
-            result.addAll(getReturnNodes(child));
+            if (tokenIndex.contains(child, TokenTypes.LITERAL_RETURN)) {
+                result.addAll(getReturnNodes(child));
+            }
             child = child.getNextSibling();
         }
         return result;
@@ -19,17 +19,16 @@
 
 package com.github.sevntu.checkstyle.checks.coding;
 
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
+import com.github.sevntu.checkstyle.FileImports;
 import com.github.sevntu.checkstyle.SevntuUtil;
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
-import com.puppycrawl.tools.checkstyle.api.FullIdent;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
 import com.puppycrawl.tools.checkstyle.utils.TokenUtil;
 
@@ -321,10 +320,10 @@ public class Jsr305AnnotationsCheck extends AbstractCheck {
     private static final Map<String, NullnessAnnotation> STRING2ANNOTATION =
             createString2AnnotationMap();
 
-    /** Parameter: packages to check. */
-    private String[] packages = new String[0];
-    /** Parameter: packages to exclude from checking. */
-    private String[] excludePackages = new String[0];
+    /** Parameter: packages to check, compiled into a trie. */
+    private QualifiedNameTrie packages = new QualifiedNameTrie();
+    /** Parameter: packages to exclude from checking, compiled into a trie. */
+    private QualifiedNameTrie excludePackages = new QualifiedNameTrie();
     /** Parameter: overriding return value annotations allowed. */
     private boolean allowOverridingReturnValue;
     /** Parameter: overriding parameter annotations allowed. */
@@ -333,9 +332,22 @@ public class Jsr305AnnotationsCheck extends AbstractCheck {
     /** State, is a package excluded. */
     private boolean packageExcluded;
 
+    /** Package and imports of the current file. */
+    private FileImports fileImports;
+
+    /** Whether a package is excluded, by package name, kept across files. */
+    private final Map<String, Boolean> packageExclusions = new HashMap<>();
+
     @Override
     public final int[] getDefaultTokens() {
-        return getAcceptableTokens();
+        return new int[] {
+            TokenTypes.PARAMETER_DEF,
+            TokenTypes.METHOD_DEF,
+            TokenTypes.CTOR_DEF,
+            TokenTypes.CLASS_DEF,
+            TokenTypes.INTERFACE_DEF,
+            TokenTypes.ENUM_DEF,
+        };
     }
 
     @Override
@@ -348,26 +360,31 @@ public class Jsr305AnnotationsCheck extends AbstractCheck {
         return new int[] {
             TokenTypes.PARAMETER_DEF,
             TokenTypes.METHOD_DEF,
-            TokenTypes.PACKAGE_DEF,
             TokenTypes.CTOR_DEF,
             TokenTypes.CLASS_DEF,
             TokenTypes.INTERFACE_DEF,
             TokenTypes.ENUM_DEF,
+            TokenTypes.PACKAGE_DEF,
         };
     }
 
     @Override
     public void beginTree(DetailAST rootAST) {
-        packageExcluded = false;
+        fileImports = FileImports.of(rootAST);
+        final String packageName = fileImports.getPackageName();
+        packageExcluded = packageName != null
+                && packageExclusions.computeIfAbsent(packageName, this::isPackageExcluded);
+    }
+
+    @Override
+    public void finishTree(DetailAST rootAST) {
+        // the imports of the file are not needed anymore and can be collected
+        fileImports = null;
     }
 
     @Override
     public final void visitToken(final DetailAST ast) {
-        if (ast.getType() == TokenTypes.PACKAGE_DEF) {
-            final DetailAST nameAST = ast.getLastChild().getPreviousSibling();
-            packageExcluded = isPackageExcluded(FullIdent.createFullIdent(nameAST));
-        }
-        else if (!packageExcluded) {
+        if (!packageExcluded) {
             final AbstractJsr305Handler handler = handleDefinition(ast);
             if (handler != null) {
                 handler.handle();
@@ -382,7 +399,8 @@ public class Jsr305AnnotationsCheck extends AbstractCheck {
      *        the package names, comma separated
      */
     public void setPackages(final String... packageNames) {
-        packages = transformToUnique(packageNames);
+        packages = createTrie(packageNames);
+        packageExclusions.clear();
     }
 
     /**
@@ -392,7 +410,8 @@ public class Jsr305AnnotationsCheck extends AbstractCheck {
      *        the package names, comma separated
      */
     public void setExcludePackages(final String... packageNames) {
-        excludePackages = transformToUnique(packageNames);
+        excludePackages = createTrie(packageNames);
+        packageExclusions.clear();
     }
 
     /**
@@ -432,45 +451,31 @@ public class Jsr305AnnotationsCheck extends AbstractCheck {
     }
 
     /**
-     * Removes duplicates from an array of strings.
+     * Compiles package names into a trie of their segments.
      *
-     * @param input
-     *        the array
-     * @return a new, duplicate-free array
+     * @param packageNames
+     *        the package names
+     * @return the trie
      */
-    private static String[] transformToUnique(final String... input) {
-        final Set<String> inputSet = new HashSet<>(Arrays.asList(input));
-        return inputSet.toArray(new String[0]);
+    private static QualifiedNameTrie createTrie(final String... packageNames) {
+        final QualifiedNameTrie result = new QualifiedNameTrie();
+        for (final String packageName : packageNames) {
+            result.add(packageName);
+        }
+        return result;
     }
 
     /**
-     * Checks whether a package is excluded.
+     * Checks whether a package is excluded. A package is checked if it or one of its parent
+     * packages is included, and none of them is excluded.
      *
-     * @param fullIdent
-     *        the identifier
+     * @param packageName
+     *        the package name
      * @return true if yes
      */
-    private boolean isPackageExcluded(final FullIdent fullIdent) {
-        Boolean result = null;
-        final String packageName = fullIdent.getText();
-        for (final String excludesPackageName : excludePackages) {
-            if (packageName.startsWith(excludesPackageName)) {
-                result = true;
-                break;
-            }
-        }
-        if (result == null) {
-            for (final String includePackageName : packages) {
-                if (packageName.startsWith(includePackageName)) {
-                    result = false;
-                    break;
-                }
-            }
-        }
-        if (result == null) {
-            result = true;
-        }
-        return result;
+    private boolean isPackageExcluded(final String packageName) {
+        return excludePackages.findPrefix(packageName) != null
+                || packages.findPrefix(packageName) == null;
     }
 
     /**
@@ -503,6 +508,9 @@ public class Jsr305AnnotationsCheck extends AbstractCheck {
                 case TokenTypes.ENUM_DEF:
                     result = new ClassJsr305Handler(ast);
                     break;
+                case TokenTypes.PACKAGE_DEF:
+                    // package exclusion is decided in beginTree
+                    break;
                 default:
                     SevntuUtil.reportInvalidToken(ast.getType());
                     break;
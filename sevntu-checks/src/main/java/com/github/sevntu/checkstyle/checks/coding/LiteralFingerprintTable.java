@@ -0,0 +1,272 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.sevntu.checkstyle.checks.coding;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Open addressing hash table of string literal fingerprints, which counts the
+ * occurrences of each fingerprint and remembers the location of its first occurrence.
+ * A record takes {@value #RECORD_SIZE} bytes: the 64-bit fingerprint, the count,
+ * the index of the file name and the line number. Records are kept in a heap buffer
+ * while the table fits into the memory budget, and in a memory mapped temporary file
+ * after that, so the heap usage does not grow with the number of distinct literals.
+ */
+/* package */ final class LiteralFingerprintTable {
+
+    /** The size of a record in bytes. */
+    private static final int RECORD_SIZE = 20;
+
+    /** Offset of the count in a record, the fingerprint is at the start of a record. */
+    private static final int COUNT_OFFSET = 8;
+
+    /** Offset of the file name index in a record. */
+    private static final int FILE_OFFSET = 12;
+
+    /** Offset of the line number in a record. */
+    private static final int LINE_OFFSET = 16;
+
+    /** The initial number of records, it is a power of two. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Offset basis of the 64-bit FNV-1a hash. */
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    /** Prime of the 64-bit FNV-1a hash. */
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /** Prefix of the names of temporary files. */
+    private static final String TEMP_FILE_PREFIX = "sevntu-literals";
+
+    /** The maximum number of bytes of records to keep on the heap. */
+    private final long memoryBudget;
+
+    /** Directory for temporary files, the default temporary directory if null. */
+    private final String directory;
+
+    /** Names of the files, where the first occurrences are located. */
+    private final List<String> fileNames = new ArrayList<>();
+
+    /** Records of the table, a record is empty if its count is zero. */
+    private ByteBuffer records;
+
+    /** The number of records the table can hold, it is a power of two. */
+    private int capacity;
+
+    /** The number of not empty records. */
+    private int size;
+
+    /**
+     * Creates an empty table.
+     *
+     * @param memoryBudget the maximum number of bytes of records to keep on the heap.
+     * @param directory directory for temporary files, the default temporary
+     *     directory if null.
+     */
+    /* package */ LiteralFingerprintTable(long memoryBudget, String directory) {
+        this.memoryBudget = memoryBudget;
+        this.directory = directory;
+        capacity = INITIAL_CAPACITY;
+        records = allocate(capacity);
+    }
+
+    /**
+     * Calculates the fingerprint of the text.
+     *
+     * @param text the text.
+     * @return 64-bit FNV-1a hash of the characters of the text.
+     */
+    /* package */ static long fingerprint(String text) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int index = 0; index < text.length(); index++) {
+            hash ^= text.charAt(index);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Counts an occurrence of the fingerprint. The location is remembered if it is
+     * the first occurrence of the fingerprint.
+     *
+     * @param fingerprint the fingerprint.
+     * @param fileName the name of the file of the occurrence.
+     * @param line the line of the occurrence.
+     * @return the index of the record of the fingerprint, which is valid until
+     *     the next call of this method.
+     */
+    /* package */ int add(long fingerprint, String fileName, int line) {
+        if (size >= capacity / 2) {
+            grow();
+        }
+        final int index = findIndex(records, capacity, fingerprint);
+        final int offset = index * RECORD_SIZE;
+        final int count = records.getInt(offset + COUNT_OFFSET);
+        if (count == 0) {
+            records.putLong(offset, fingerprint);
+            records.putInt(offset + FILE_OFFSET, getFileIndex(fileName));
+            records.putInt(offset + LINE_OFFSET, line);
+            size++;
+        }
+        records.putInt(offset + COUNT_OFFSET, count + 1);
+        return index;
+    }
+
+    /**
+     * Gets the number of occurrences of the fingerprint of the record.
+     *
+     * @param index the index of the record.
+     * @return the number of occurrences.
+     */
+    /* package */ int getCount(int index) {
+        return records.getInt(index * RECORD_SIZE + COUNT_OFFSET);
+    }
+
+    /**
+     * Gets the name of the file of the first occurrence of the fingerprint of the record.
+     *
+     * @param index the index of the record.
+     * @return the file name.
+     */
+    /* package */ String getFileName(int index) {
+        return fileNames.get(records.getInt(index * RECORD_SIZE + FILE_OFFSET));
+    }
+
+    /**
+     * Gets the line of the first occurrence of the fingerprint of the record.
+     *
+     * @param index the index of the record.
+     * @return the line number.
+     */
+    /* package */ int getLine(int index) {
+        return records.getInt(index * RECORD_SIZE + LINE_OFFSET);
+    }
+
+    /**
+     * Gets the index of the file name, the name is added if it is not the last one.
+     * Files are processed one by one, so the last name is the only one to compare with.
+     *
+     * @param fileName the file name.
+     * @return the index of the file name.
+     */
+    private int getFileIndex(String fileName) {
+        final int last = fileNames.size() - 1;
+        if (last < 0 || !fileNames.get(last).equals(fileName)) {
+            fileNames.add(fileName);
+        }
+        return fileNames.size() - 1;
+    }
+
+    /**
+     * Doubles the capacity of the table and moves all records to the new buffer.
+     */
+    private void grow() {
+        final int newCapacity = capacity * 2;
+        final ByteBuffer newRecords = allocate(newCapacity);
+        for (int index = 0; index < capacity; index++) {
+            final int offset = index * RECORD_SIZE;
+            if (records.getInt(offset + COUNT_OFFSET) != 0) {
+                final int newOffset = findIndex(newRecords, newCapacity, records.getLong(offset))
+                        * RECORD_SIZE;
+                for (int position = 0; position < RECORD_SIZE; position += Integer.BYTES) {
+                    newRecords.putInt(newOffset + position, records.getInt(offset + position));
+                }
+            }
+        }
+        records = newRecords;
+        capacity = newCapacity;
+    }
+
+    /**
+     * Allocates a zeroed buffer for records, on the heap if it fits into the memory
+     * budget, otherwise in a temporary file.
+     *
+     * @param recordsCount the number of records.
+     * @return the buffer.
+     * @throws IllegalStateException if the temporary file can't be created.
+     */
+    private ByteBuffer allocate(int recordsCount) {
+        final int bytes = Math.multiplyExact(recordsCount, RECORD_SIZE);
+        final ByteBuffer result;
+        if (bytes <= memoryBudget) {
+            result = ByteBuffer.allocate(bytes);
+        }
+        else {
+            result = map(bytes);
+        }
+        return result;
+    }
+
+    /**
+     * Maps a new temporary file to memory. The file is deleted as soon as
+     * it is mapped, the mapping stays valid until it is garbage collected.
+     *
+     * @param bytes the size of the file.
+     * @return the mapped buffer.
+     * @throws IllegalStateException if the temporary file can't be created.
+     */
+    private ByteBuffer map(int bytes) {
+        try {
+            final Path file;
+            if (directory == null) {
+                file = Files.createTempFile(TEMP_FILE_PREFIX, null);
+            }
+            else {
+                file = Files.createTempFile(Paths.get(directory), TEMP_FILE_PREFIX, null);
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE)) {
+                return channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+            }
+        }
+        catch (IOException ex) {
+            throw new IllegalStateException("Unable to create a temporary file in "
+                    + directory, ex);
+        }
+    }
+
+    /**
+     * Finds the index of the record of the fingerprint, or of the empty record
+     * where the fingerprint should be added.
+     *
+     * @param buffer the records.
+     * @param recordsCount the number of records, it is a power of two.
+     * @param fingerprint the fingerprint.
+     * @return the index of the record.
+     */
+    private static int findIndex(ByteBuffer buffer, int recordsCount, long fingerprint) {
+        final int mask = recordsCount - 1;
+        int index = (int) (fingerprint ^ fingerprint >>> Integer.SIZE) & mask;
+        while (buffer.getInt(index * RECORD_SIZE + COUNT_OFFSET) != 0
+                && buffer.getLong(index * RECORD_SIZE) != fingerprint) {
+            index = index + 1 & mask;
+        }
+        return index;
+    }
+
+}
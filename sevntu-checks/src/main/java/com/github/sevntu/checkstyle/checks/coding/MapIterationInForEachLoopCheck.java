@@ -20,14 +20,17 @@
 package com.github.sevntu.checkstyle.checks.coding;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import com.github.sevntu.checkstyle.FileImports;
 import com.github.sevntu.checkstyle.SevntuUtil;
+import com.github.sevntu.checkstyle.TokenTypeIndex;
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
-import com.puppycrawl.tools.checkstyle.api.FullIdent;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
 
 /**
@@ -202,6 +205,16 @@ public class MapIterationInForEachLoopCheck extends AbstractCheck {
      */
     private final List<String> qualifiedImportList = new ArrayList<>();
 
+    /**
+     * Index of the nodes of the current file by token type.
+     */
+    private TokenTypeIndex tokenIndex;
+
+    /**
+     * Package and imports of the current file.
+     */
+    private FileImports fileImports;
+
     /**
      * Set of allowable map implementations. You can set your own map
      * implementations in Checkstyle configuration
@@ -278,12 +291,12 @@ public class MapIterationInForEachLoopCheck extends AbstractCheck {
 
     @Override
     public int[] getDefaultTokens() {
-        return new int[] {TokenTypes.LITERAL_FOR, TokenTypes.IMPORT, TokenTypes.VARIABLE_DEF, };
+        return new int[] {TokenTypes.LITERAL_FOR, TokenTypes.VARIABLE_DEF, };
     }
 
     @Override
     public int[] getAcceptableTokens() {
-        return getDefaultTokens();
+        return new int[] {TokenTypes.LITERAL_FOR, TokenTypes.IMPORT, TokenTypes.VARIABLE_DEF, };
     }
 
     @Override
@@ -295,18 +308,26 @@ public class MapIterationInForEachLoopCheck extends AbstractCheck {
     public void beginTree(DetailAST ast) {
         qualifiedImportList.clear();
         mapNamesList.clear();
+        tokenIndex = TokenTypeIndex.of(ast);
+        fileImports = FileImports.of(ast);
+        for (String singleTypeImport : fileImports.getSingleTypeImports().values()) {
+            addMapImport(singleTypeImport);
+        }
+        for (String onDemandImport : fileImports.getOnDemandImports()) {
+            addMapImport(onDemandImport + PATH_SEPARATOR + PATH_WILDCARD);
+        }
+    }
+
+    @Override
+    public void finishTree(DetailAST ast) {
+        // the index and the imports of the file are not needed anymore and can be collected
+        tokenIndex = null;
+        fileImports = null;
     }
 
     @Override
     public void visitToken(DetailAST ast) {
         switch (ast.getType()) {
-            case TokenTypes.IMPORT:
-                final String qualifiedMapImportText = getMapImportQualifiedName(ast);
-                if (qualifiedMapImportText != null) {
-                    qualifiedImportList.add(qualifiedMapImportText);
-                }
-                break;
-
             case TokenTypes.VARIABLE_DEF:
                 if (!qualifiedImportList.isEmpty() && isMapVariable(ast)) {
                     final DetailAST mapIdentNode = ast.findFirstToken(TokenTypes.TYPE)
@@ -328,6 +349,10 @@ public class MapIterationInForEachLoopCheck extends AbstractCheck {
                 }
                 break;
 
+            case TokenTypes.IMPORT:
+                // the map imports are collected in beginTree
+                break;
+
             default:
                 SevntuUtil.reportInvalidToken(ast.getType());
                 break;
@@ -362,9 +387,10 @@ public class MapIterationInForEachLoopCheck extends AbstractCheck {
             else {
                 currentMapVariableName = keySetOrEntrySetNode.getPreviousSibling().getText();
             }
-            final DetailAST forEachOpeningBrace = forLiteralNode.getLastChild();
+            final SubTreeNodes forEachBodyNodes = new SubTreeNodes(
+                    forLiteralNode.getLastChild());
 
-            if (!isMapPassedIntoAnyMethod(forEachOpeningBrace)) {
+            if (!isMapPassedIntoAnyMethod(forEachBodyNodes)) {
                 final DetailAST variableDefNode = forEachNode.getFirstChild();
                 final String keyOrEntryVariableName = variableDefNode.getLastChild().getText();
 
@@ -372,11 +398,11 @@ public class MapIterationInForEachLoopCheck extends AbstractCheck {
                         && KEY_SET_METHOD_NAME.equals(
                                 keySetOrEntrySetNode.getText())) {
                     warningMessageKey =
-                            checkForWrongKeySetUsage(forEachOpeningBrace,
+                            checkForWrongKeySetUsage(forEachBodyNodes,
                             keyOrEntryVariableName, currentMapVariableName, isMapClassField);
                 }
                 else if (proposeEntrySetUsage) {
-                    warningMessageKey = checkForWrongEntrySetUsage(forEachOpeningBrace,
+                    warningMessageKey = checkForWrongEntrySetUsage(forEachBodyNodes,
                             keyOrEntryVariableName);
                 }
             }
@@ -403,17 +429,10 @@ public class MapIterationInForEachLoopCheck extends AbstractCheck {
      *         return null.
      */
     private DetailAST getKeySetOrEntrySetNode(DetailAST forEachNode) {
-        final List<DetailAST> identAndThisNodesList = getSubTreeNodesOfType(forEachNode,
-                TokenTypes.IDENT, TokenTypes.LITERAL_THIS);
-        boolean isMapClassField = false;
-        for (DetailAST thisNode : identAndThisNodesList) {
-            if (thisNode.getType() == TokenTypes.LITERAL_THIS) {
-                isMapClassField = true;
-                break;
-            }
-        }
+        final SubTreeNodes forEachNodes = new SubTreeNodes(forEachNode);
+        final boolean isMapClassField = !forEachNodes.get(TokenTypes.LITERAL_THIS).isEmpty();
         DetailAST keySetOrEntrySetNode = null;
-        for (DetailAST identNode : identAndThisNodesList) {
+        for (DetailAST identNode : forEachNodes.get(TokenTypes.IDENT)) {
             if (KEY_SET_METHOD_NAME.equals(identNode.getText())
                     || ENTRY_SET_METHOD_NAME.equals(identNode.getText())) {
                 final String mapClassName;
@@ -448,50 +467,49 @@ public class MapIterationInForEachLoopCheck extends AbstractCheck {
      * Returns true, if any method call inside for loop contains map
      * object as parameter.
      *
-     * @param forEachOpeningBraceNode
-     *        List with subtree IDENT nodes.
+     * @param forEachBodyNodes
+     *        IDENT and METHOD_CALL nodes of the for-each body.
      * @return true, if any Method Call contains Map Parameter.
      */
-    private boolean isMapPassedIntoAnyMethod(DetailAST forEachOpeningBraceNode) {
+    private boolean isMapPassedIntoAnyMethod(SubTreeNodes forEachBodyNodes) {
         boolean result = false;
-        final List<DetailAST> methodCallNodeList = getSubTreeNodesOfType(
-                forEachOpeningBraceNode, TokenTypes.METHOD_CALL);
-        for (DetailAST methodCallNode : methodCallNodeList) {
-            if (hasMapAsParameter(methodCallNode)) {
-                result = true;
-                break;
+        final Set<DetailAST> methodCallNodes =
+                new HashSet<>(forEachBodyNodes.get(TokenTypes.METHOD_CALL));
+        if (!methodCallNodes.isEmpty()) {
+            for (DetailAST identNode : forEachBodyNodes.get(TokenTypes.IDENT)) {
+                if (identNode.getParent().getType() == TokenTypes.EXPR
+                        && mapNamesList.contains(identNode.getText())
+                        && hasAncestorOf(identNode, methodCallNodes)) {
+                    result = true;
+                    break;
+                }
             }
         }
         return result;
     }
 
     /**
-     * Checks is map instance passed into method call, or not.
+     * Checks whether any ancestor of the node is one of the given nodes.
      *
-     * @param methodCallNode
-     *        DetailAST node of Method Call.
-     * @return return true, if method call contain map as parameter.
-     */
-    private boolean hasMapAsParameter(DetailAST methodCallNode) {
-        boolean result = false;
-        final List<DetailAST> identNodesList = getSubTreeNodesOfType(methodCallNode,
-                TokenTypes.IDENT);
-        for (String mapName : mapNamesList) {
-            for (DetailAST identNode : identNodesList) {
-                if (mapName.equals(identNode.getText())
-                        && identNode.getParent().getType() == TokenTypes.EXPR) {
-                    result = true;
-                }
-            }
+     * @param node
+     *        The node to check.
+     * @param ancestors
+     *        The possible ancestors.
+     * @return true, if any ancestor of the node is one of the given nodes.
+     */
+    private static boolean hasAncestorOf(DetailAST node, Set<DetailAST> ancestors) {
+        DetailAST parent = node.getParent();
+        while (parent != null && !ancestors.contains(parent)) {
+            parent = parent.getParent();
         }
-        return result;
+        return parent != null;
     }
 
     /**
      * Searches for wrong ketSet() usage into for cycles.
      *
-     * @param forEachOpeningBraceNode
-     *        For-each opening brace.
+     * @param forEachBodyNodes
+     *        IDENT and LITERAL_IF nodes of the for-each body.
      * @param keyName
      *        Map's key name.
      * @param mapName
@@ -499,26 +517,23 @@ public class MapIterationInForEachLoopCheck extends AbstractCheck {
      * @param isMapClassField if the map is a class field.
      * @return keySet warning message key.
      */
-    private String checkForWrongKeySetUsage(DetailAST forEachOpeningBraceNode, String keyName,
+    private String checkForWrongKeySetUsage(SubTreeNodes forEachBodyNodes, String keyName,
             String mapName, boolean isMapClassField) {
         String result = null;
 
-        final List<DetailAST> identAndLiteralIfNodesList =
-                getSubTreeNodesOfType(forEachOpeningBraceNode,
-                        TokenTypes.IDENT, TokenTypes.LITERAL_IF);
         int methodGetCallCount = 0;
         int keyIdentCount = 0;
-        for (DetailAST identOrLiteralIfNode : identAndLiteralIfNodesList) {
-            DetailAST mapIdentNode = identOrLiteralIfNode.getPreviousSibling();
+        for (DetailAST identNode : forEachBodyNodes.get(TokenTypes.IDENT)) {
+            DetailAST mapIdentNode = identNode.getPreviousSibling();
             if (isMapClassField && mapIdentNode != null) {
                 mapIdentNode = mapIdentNode.getLastChild();
             }
-            if (mapIdentNode != null && GET_NODE_NAME.equals(identOrLiteralIfNode.getText())
+            if (mapIdentNode != null && GET_NODE_NAME.equals(identNode.getText())
                     && mapName.equals(mapIdentNode.getText())) {
                 methodGetCallCount++;
             }
 
-            if (keyName.equals(identOrLiteralIfNode.getText())) {
+            if (keyName.equals(identNode.getText())) {
                 keyIdentCount++;
             }
         }
@@ -529,8 +544,8 @@ public class MapIterationInForEachLoopCheck extends AbstractCheck {
             }
             else if (methodGetCallCount < keyIdentCount
                     && methodGetCallCount > 0
-                    && getMethodGetCallInsideIfCount(identAndLiteralIfNodesList, mapName,
-                            isMapClassField) != methodGetCallCount) {
+                    && getMethodGetCallInsideIfCount(forEachBodyNodes.get(TokenTypes.LITERAL_IF),
+                            mapName, isMapClassField) != methodGetCallCount) {
                 result = MSG_KEY_ENTRYSET;
             }
         }
@@ -538,20 +553,18 @@ public class MapIterationInForEachLoopCheck extends AbstractCheck {
     }
 
     /**
-     * Counts the getter methods called inside the if statement.
+     * Counts the getter methods called inside the first if statement.
      *
-     * @param identAndLiteralIfNodesList the nodes to examine.
+     * @param literalIfNodesList the LITERAL_IF nodes to examine.
      * @param mapName Current map name.
      * @param isMapClassField if the map is a class field.
      * @return The number of methods.
      */
-    private static int getMethodGetCallInsideIfCount(List<DetailAST> identAndLiteralIfNodesList,
+    private int getMethodGetCallInsideIfCount(List<DetailAST> literalIfNodesList,
             String mapName, boolean isMapClassField) {
-        final DetailAST literalIfNode =
-                getFirstNodeOfType(identAndLiteralIfNodesList,
-                        TokenTypes.LITERAL_IF);
         int result = 0;
-        if (literalIfNode != null) {
+        if (!literalIfNodesList.isEmpty()) {
+            final DetailAST literalIfNode = literalIfNodesList.get(0);
             for (DetailAST node : getSubTreeNodesOfType(literalIfNode, TokenTypes.IDENT)) {
                 DetailAST mapIdentNode = node.getPreviousSibling();
                 if (isMapClassField && mapIdentNode != null) {
@@ -570,19 +583,17 @@ public class MapIterationInForEachLoopCheck extends AbstractCheck {
     /**
      * Searches for wrong entrySet() usage inside for cycles.
      *
-     * @param forEachOpeningBraceNode For-each opening brace.
+     * @param forEachBodyNodes IDENT nodes of the for-each body.
      * @param entryName This variable contains Map.Entry name.
      * @return entrySet warning message key.
      */
-    private String checkForWrongEntrySetUsage(DetailAST forEachOpeningBraceNode,
+    private String checkForWrongEntrySetUsage(SubTreeNodes forEachBodyNodes,
             String entryName) {
         String result = null;
 
-        final List<DetailAST> identNodesList = getSubTreeNodesOfType(
-                forEachOpeningBraceNode, TokenTypes.IDENT);
         int methodGetKeyCallCount = 0;
         int methodGetValueCallCount = 0;
-        for (DetailAST identNode : identNodesList) {
+        for (DetailAST identNode : forEachBodyNodes.get(TokenTypes.IDENT)) {
             final DetailAST entryNode = identNode.getPreviousSibling();
 
             if (entryNode != null && GET_KEY_NODE_NAME.equals(identNode.getText())
@@ -619,8 +630,7 @@ public class MapIterationInForEachLoopCheck extends AbstractCheck {
                 getSubTreeNodesOfType(variableDefNode,
                         TokenTypes.LITERAL_NEW, TokenTypes.ASSIGN);
         final String className = getClassName(literalNewNodeslList);
-        if (className != null
-                && getFirstNodeOfType(literalNewNodeslList, TokenTypes.ASSIGN) != null) {
+        if (className != null) {
             result = isMapImplementation(className);
         }
         return result;
@@ -702,46 +712,15 @@ public class MapIterationInForEachLoopCheck extends AbstractCheck {
     }
 
     /**
-     * Searches the first specific
-     * DetailAST node inside List.
+     * Remembers the import if it is the full path of a map implementation.
      *
-     * @param nodesList
-     *        DetailAST List witch maybe contains specific token.
-     * @param specificType
-     *        A specific type of token.
-     * @return specific token or null.
-     */
-    private static DetailAST getFirstNodeOfType(List<DetailAST> nodesList,
-            int specificType) {
-        DetailAST result = null;
-        for (DetailAST node : nodesList) {
-            if (node.getType() == specificType) {
-                result = node;
-                break;
-            }
-        }
-        return result;
-    }
-
-    /**
-     * Returns full path of map implementation. If path doesn't
-     * contain full map implementation path, null will be returned.
-     *
-     * @param importNode
-     *        Import node.
-     * @return full path of map implementation or null.
+     * @param importName
+     *        Qualified name of the import, ending with ".*" for an import on demand.
      */
-    private String getMapImportQualifiedName(DetailAST importNode) {
-        String result = null;
-        final String mapClassQualifiedName = FullIdent.createFullIdent(
-                importNode.getFirstChild()).getText();
-        for (String qualifiedName : supportedMapImplQualifiedNames) {
-            if (mapClassQualifiedName.equals(qualifiedName)) {
-                result = mapClassQualifiedName;
-                break;
-            }
+    private void addMapImport(String importName) {
+        if (supportedMapImplQualifiedNames.contains(importName)) {
+            qualifiedImportList.add(importName);
         }
-        return result;
     }
 
     /**
@@ -753,9 +732,21 @@ public class MapIterationInForEachLoopCheck extends AbstractCheck {
      *        Token's necessary types into If condition.
      * @return DetailAST List with necessary tokens.
      */
-    private static List<DetailAST> getSubTreeNodesOfType(DetailAST rootNode,
+    private List<DetailAST> getSubTreeNodesOfType(DetailAST rootNode,
             int... tokenTypes) {
-        final List<DetailAST> result = new ArrayList<>();
+        return tokenIndex.findAllBetween(rootNode, getFinishNode(rootNode), tokenTypes);
+    }
+
+    /**
+     * Gets the node, which the traversal of the subtree stops at. The traversal
+     * stops at the next sibling of the root, or at the last child of the root
+     * if there is no next sibling.
+     *
+     * @param rootNode
+     *        The root of subtree.
+     * @return the node to stop at, or null to traverse till the end of the file.
+     */
+    private static DetailAST getFinishNode(DetailAST rootNode) {
         final DetailAST finishNode;
         if (rootNode.getNextSibling() == null) {
             finishNode = rootNode.getLastChild();
@@ -763,23 +754,48 @@ public class MapIterationInForEachLoopCheck extends AbstractCheck {
         else {
             finishNode = rootNode.getNextSibling();
         }
-        DetailAST curNode = rootNode;
-        while (curNode != null && curNode != finishNode) {
-            for (int tokenType : tokenTypes) {
-                if (curNode.getType() == tokenType) {
-                    result.add(curNode);
-                }
-            }
-            DetailAST toVisit = curNode.getFirstChild();
-            while (curNode != null && toVisit == null) {
-                toVisit = curNode.getNextSibling();
-                if (toVisit == null) {
-                    curNode = curNode.getParent();
-                }
-            }
-            curNode = toVisit;
+        return finishNode;
+    }
+
+    /**
+     * Nodes of a subtree, which are looked up by token type in the index of
+     * the file once and reused by all the checks of the subtree.
+     */
+    private final class SubTreeNodes {
+
+        /** The root of subtree. */
+        private final DetailAST rootNode;
+
+        /** The node, which the traversal of the subtree stops at. */
+        private final DetailAST finishNode;
+
+        /** Nodes already looked up, by token type. */
+        private final Map<Integer, List<DetailAST>> nodesByType = new HashMap<>();
+
+        /**
+         * Creates the nodes of the subtree.
+         *
+         * @param rootNode
+         *        The root of subtree.
+         */
+        private SubTreeNodes(DetailAST rootNode) {
+            this.rootNode = rootNode;
+            finishNode = getFinishNode(rootNode);
         }
-        return result;
+
+        /**
+         * Gets the nodes of the token type in traversal order. The list is shared
+         * between calls and must not be modified.
+         *
+         * @param tokenType
+         *        The token type.
+         * @return the nodes.
+         */
+        private List<DetailAST> get(int tokenType) {
+            return nodesByType.computeIfAbsent(tokenType,
+                type -> tokenIndex.findAllBetween(rootNode, finishNode, type));
+        }
+
     }
 
 }
@@ -24,17 +24,23 @@ import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.regex.Pattern;
 
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+import com.puppycrawl.tools.checkstyle.utils.CommonUtil;
 import com.puppycrawl.tools.checkstyle.utils.TokenUtil;
 
 /**
  * Checks for multiple occurrences of the same string literal within a single file.
  *
+ * <p>If {@code allowedProjectDuplicates} is not negative, the check also counts
+ * string literals in all checked files and reports the occurrence which exceeds
+ * the allowed number of duplicates in the project. Only a 64-bit fingerprint, the count
+ * and the first location of each literal are kept between files. They are moved to
+ * a temporary file as soon as they don't fit into {@code projectMemoryBudget}.
+ *
  * @author Daniel Grenner
  * @since 1.5.3
  */
@@ -47,16 +53,30 @@ public class MultipleStringLiteralsExtendedCheck extends AbstractCheck {
     public static final String MSG_KEY = "multiple.string.literal";
 
     /**
-     * The found strings and their positions. {@code <String,ArrayList>}, with
-     * the ArrayList containing StringInfo objects.
+     * A key is pointing to the warning message text in "messages.properties"
+     * file.
+     */
+    public static final String MSG_KEY_PROJECT = "multiple.string.literal.project";
+
+    /** The number of bytes in a kilobyte. */
+    private static final long KILOBYTE = 1024;
+
+    /**
+     * The found strings and their occurrences.
      */
-    private final Map<String, List<DetailAST>> stringMap = new HashMap<>();
+    private final Map<String, Occurrences> stringMap = new HashMap<>();
 
     /**
      * Marks the TokenTypes where duplicate strings should be ignored.
      */
     private final BitSet ignoreOccurrenceContext = new BitSet();
 
+    /**
+     * The number of entered tokens from {@link #ignoreOccurrenceContext}, which
+     * are not left yet.
+     */
+    private int ignoreOccurrenceContextDepth;
+
     /**
      * The allowed number of string duplicates in a file before an error is generated.
      */
@@ -72,6 +92,27 @@ public class MultipleStringLiteralsExtendedCheck extends AbstractCheck {
      */
     private Pattern pattern;
 
+    /**
+     * The allowed number of string duplicates in all checked files before an error
+     * is generated, negative value turns the check of all files off.
+     */
+    private int allowedProjectDuplicates = -1;
+
+    /**
+     * The maximum size in kilobytes of string fingerprints kept in memory.
+     */
+    private int projectMemoryBudget = 65536;
+
+    /**
+     * Directory for string fingerprints, which don't fit into memory.
+     */
+    private String projectTemporaryDirectory;
+
+    /**
+     * Fingerprints of strings in all checked files, created for the first string.
+     */
+    private LiteralFingerprintTable projectFingerprints;
+
     /**
      * Construct an instance with default values.
      */
@@ -90,6 +131,42 @@ public class MultipleStringLiteralsExtendedCheck extends AbstractCheck {
         this.allowedDuplicates = allowedDuplicates;
     }
 
+    /**
+     * Sets the maximum allowed duplicates of a string in all checked files.
+     *
+     * @param allowedProjectDuplicates
+     *            The maximum number of duplicates, negative value turns
+     *            the check of all files off.
+     */
+    public void setAllowedProjectDuplicates(int allowedProjectDuplicates) {
+        this.allowedProjectDuplicates = allowedProjectDuplicates;
+    }
+
+    /**
+     * Sets the maximum size of string fingerprints kept in memory.
+     *
+     * @param projectMemoryBudget
+     *            The size in kilobytes.
+     */
+    public void setProjectMemoryBudget(int projectMemoryBudget) {
+        this.projectMemoryBudget = projectMemoryBudget;
+    }
+
+    /**
+     * Sets directory for string fingerprints, which don't fit into memory.
+     *
+     * @param projectTemporaryDirectory
+     *            The directory, the default temporary directory is used if not set.
+     */
+    public void setProjectTemporaryDirectory(String projectTemporaryDirectory) {
+        if (CommonUtil.isBlank(projectTemporaryDirectory)) {
+            this.projectTemporaryDirectory = null;
+        }
+        else {
+            this.projectTemporaryDirectory = projectTemporaryDirectory;
+        }
+    }
+
     /**
      * Sets regexp pattern for ignored strings.
      *
@@ -133,79 +210,127 @@ public class MultipleStringLiteralsExtendedCheck extends AbstractCheck {
 
     @Override
     public int[] getDefaultTokens() {
-        return new int[] {
-            TokenTypes.STRING_LITERAL,
-        };
+        return getRequiredTokens();
     }
 
     @Override
     public int[] getAcceptableTokens() {
-        return getDefaultTokens();
+        return TokenUtil.getAllTokenIds();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Tokens from {@link #ignoreOccurrenceContext} are required to track whether
+     * string literals are inside of them.
+     */
     @Override
     public int[] getRequiredTokens() {
-        return getDefaultTokens();
+        final BitSet tokens = (BitSet) ignoreOccurrenceContext.clone();
+        tokens.set(TokenTypes.STRING_LITERAL);
+        return tokens.stream().toArray();
+    }
+
+    @Override
+    public void beginTree(DetailAST rootAST) {
+        super.beginTree(rootAST);
+        stringMap.clear();
+        ignoreOccurrenceContextDepth = 0;
     }
 
     @Override
     public void visitToken(DetailAST ast) {
-        if (!isInIgnoreOccurrenceContext(ast)) {
+        final int type = ast.getType();
+        if (type == TokenTypes.STRING_LITERAL
+                && ignoreOccurrenceContextDepth == 0) {
             final String currentString = ast.getText();
             if (pattern == null || !pattern.matcher(currentString).find()) {
                 stringMap
-                    .computeIfAbsent(currentString, key -> new ArrayList<>())
-                    .add(ast);
+                    .computeIfAbsent(currentString, key -> new Occurrences())
+                    .add(ast, highlightAllDuplicates);
+                if (allowedProjectDuplicates >= 0) {
+                    countInProject(ast);
+                }
             }
         }
+        if (ignoreOccurrenceContext.get(type)) {
+            ignoreOccurrenceContextDepth++;
+        }
+    }
+
+    @Override
+    public void leaveToken(DetailAST ast) {
+        if (ignoreOccurrenceContext.get(ast.getType())) {
+            ignoreOccurrenceContextDepth--;
+        }
     }
 
     /**
-     * Analyses the path from the AST root to a given AST for occurrences of the token types in
-     * {@link #ignoreOccurrenceContext}.
+     * Counts the string in all checked files and logs the occurrence, which exceeds
+     * the allowed number of duplicates in the project.
      *
      * @param ast
-     *            the node from where to start searching towards the root node
-     * @return whether the path from the root node to aAST contains one of the token type in
-     *         {@link #ignoreOccurrenceContext}.
-     */
-    private boolean isInIgnoreOccurrenceContext(DetailAST ast) {
-        boolean result = false;
-        DetailAST token = ast.getParent();
-        while (token != null) {
-            final int type = token.getType();
-            if (ignoreOccurrenceContext.get(type)) {
-                result = true;
-                break;
-            }
-            token = token.getParent();
+     *            the STRING_LITERAL ast.
+     */
+    private void countInProject(DetailAST ast) {
+        if (projectFingerprints == null) {
+            projectFingerprints = new LiteralFingerprintTable(projectMemoryBudget * KILOBYTE,
+                    projectTemporaryDirectory);
+        }
+        final String currentString = ast.getText();
+        final int record = projectFingerprints.add(
+                LiteralFingerprintTable.fingerprint(currentString),
+                getFileContents().getFileName(), ast.getLineNo());
+        if (projectFingerprints.getCount(record) == allowedProjectDuplicates + 1) {
+            log(ast, MSG_KEY_PROJECT, currentString, allowedProjectDuplicates,
+                    projectFingerprints.getFileName(record), projectFingerprints.getLine(record));
         }
-        return result;
     }
 
     @Override
-    public void beginTree(DetailAST rootAST) {
-        super.beginTree(rootAST);
-        stringMap.clear();
+    public void finishTree(DetailAST rootAST) {
+        for (Map.Entry<String, Occurrences> entry : stringMap.entrySet()) {
+            final Occurrences occurrences = entry.getValue();
+            if (occurrences.count > allowedDuplicates) {
+                for (DetailAST finding : occurrences.reported) {
+                    log(finding,
+                            MSG_KEY, entry.getKey(), occurrences.count);
+                }
+            }
+        }
     }
 
     @Override
-    public void finishTree(DetailAST rootAST) {
-        final Set<String> keys = stringMap.keySet();
-        for (String key : keys) {
-            final List<DetailAST> hits = stringMap.get(key);
-            if (hits.size() > allowedDuplicates) {
-                int hitsSize = 1;
-                if (highlightAllDuplicates) {
-                    hitsSize = hits.size();
-                }
-                for (int index = 0; index < hitsSize; index++) {
-                    final DetailAST firstFinding = hits.get(index);
-                    log(firstFinding,
-                            MSG_KEY, key, hits.size());
-                }
+    public void destroy() {
+        projectFingerprints = null;
+        super.destroy();
+    }
+
+    /**
+     * Occurrences of a string in a file. Only the occurrences, which can be
+     * reported, are kept; the others are only counted.
+     */
+    private static final class Occurrences {
+
+        /** Occurrences to report if the string has too many duplicates. */
+        private final List<DetailAST> reported = new ArrayList<>(1);
+
+        /** The number of all occurrences. */
+        private int count;
+
+        /**
+         * Adds an occurrence of the string.
+         *
+         * @param ast the STRING_LITERAL ast.
+         * @param highlightAllDuplicates whether all occurrences are reported.
+         */
+        private void add(DetailAST ast, boolean highlightAllDuplicates) {
+            if (count == 0 || highlightAllDuplicates) {
+                reported.add(ast);
             }
+            count++;
         }
+
     }
 
 }
@@ -19,12 +19,17 @@
 
 package com.github.sevntu.checkstyle.checks.coding;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import com.github.sevntu.checkstyle.SevntuUtil;
+import com.github.sevntu.checkstyle.TokenTypeIndex;
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
@@ -70,6 +75,17 @@ public class NoNullForCollectionReturnCheck extends AbstractCheck {
             + "JobStateReasons LinkedBlockingDeque LinkedBlockingQueue LinkedHashSet "
             + "LinkedList LinkedTransferQueue PriorityBlockingQueue PriorityQueue RoleList "
             + "RoleUnresolvedList Stack SynchronousQueue TreeSet Vector Collection List Map Set";
+
+    /**
+     * Types of the subblocks, which follow if and else blocks, in the search order.
+     */
+    private static final int[] LOOP_AND_TRY_TYPES = {
+        TokenTypes.LITERAL_WHILE,
+        TokenTypes.LITERAL_DO,
+        TokenTypes.LITERAL_FOR,
+        TokenTypes.LITERAL_TRY,
+    };
+
     /**
      * List of collection, that will be check.
      */
@@ -84,10 +100,24 @@ public class NoNullForCollectionReturnCheck extends AbstractCheck {
 
     /**
      * <p>
-     * List of the method definition tokens, that returns collection.
+     * Set of the method definition tokens, that returns collection.
      * </p>
      */
-    private final List<DetailAST> methodDefs = new LinkedList<>();
+    private final Set<DetailAST> methodDefs = new HashSet<>();
+
+    /**
+     * <p>
+     * Nullness of variables of the methods, which are searched through, by method definition.
+     * </p>
+     */
+    private final Map<DetailAST, VariablesNullness> methodVariables = new HashMap<>();
+
+    /**
+     * <p>
+     * Index of the nodes of the current file by token type.
+     * </p>
+     */
+    private TokenTypeIndex tokenIndex;
 
     /** Default constructor. */
     public NoNullForCollectionReturnCheck() {
@@ -142,6 +172,14 @@ public class NoNullForCollectionReturnCheck extends AbstractCheck {
     @Override
     public void beginTree(DetailAST rootAST) {
         methodDefs.clear();
+        methodVariables.clear();
+        tokenIndex = TokenTypeIndex.of(rootAST);
+    }
+
+    @Override
+    public void finishTree(DetailAST rootAST) {
+        // the index of the file is not needed anymore and can be collected
+        tokenIndex = null;
     }
 
     @Override
@@ -159,7 +197,7 @@ public class NoNullForCollectionReturnCheck extends AbstractCheck {
                     if (methodDefs.contains(currentMethodDef)
                         && (hasNullLiteralInReturn(detailAST)
                             || searchThroughMethodBody
-                                && isReturnedValueBeNull(detailAST))) {
+                                && isReturnedValueBeNull(detailAST, currentMethodDef))) {
                         log(detailAST, MSG_KEY);
                     }
                 }
@@ -217,41 +255,19 @@ public class NoNullForCollectionReturnCheck extends AbstractCheck {
      *
      * @param returnLit
      *        - DetailAST contains LITERAL_RETURN
+     * @param methodDef
+     *        - DetailAST contains METHOD_DEF of the return
      * @return true, when variable may be null.
      */
-    private static boolean isReturnedValueBeNull(DetailAST returnLit) {
+    private boolean isReturnedValueBeNull(DetailAST returnLit, DetailAST methodDef) {
         boolean result = false;
         final DetailAST returnedExpression = returnLit.getFirstChild();
         if (returnedExpression.getType() != TokenTypes.SEMI) {
             final DetailAST variable = returnedExpression.findFirstToken(TokenTypes.IDENT);
             if (variable != null) {
-                final String variableName = variable.getText();
-                final DetailAST methodDef = getMethodDef(returnLit);
-                final List<DetailAST> subblocks = getAllSubblocks(methodDef);
-                subblocks.add(0, methodDef);
-
-                result = hasNullInDefinition(subblocks, variableName);
-
-                // searching for not a null value into variable assignment
-                if (result) {
-                    for (DetailAST subblock : subblocks) {
-                        final List<DetailAST> expressions =
-                                getChildren(getBlockBody(subblock), TokenTypes.EXPR);
-                        for (DetailAST expression : expressions) {
-                            final DetailAST assign = expression.findFirstToken(TokenTypes.ASSIGN);
-                            if (assign != null
-                                    && variableName.equals(assign.findFirstToken(TokenTypes.IDENT)
-                                            .getText())
-                                    && !assign.branchContains(TokenTypes.LITERAL_NULL)) {
-                                result = false;
-                                break;
-                            }
-                        }
-                        if (!result) {
-                            break;
-                        }
-                    }
-                }
+                result = methodVariables
+                        .computeIfAbsent(methodDef, key -> new VariablesNullness(key, tokenIndex))
+                        .mayBeNull(variable.getText());
             }
         }
         return result;
@@ -259,105 +275,84 @@ public class NoNullForCollectionReturnCheck extends AbstractCheck {
 
     /**
      * <p>
-     * Return all the nested subblocks in block.
+     * Adds all the nested subblocks in block. Subblocks of each block are added
+     * as a group, and then the groups of the nested subblocks are added in the
+     * same order. The blocks are walked iteratively, so deep nesting does not
+     * exhaust the stack.
      * </p>
      *
+     * @param subblocks
+     *        - list to add subblocks to.
      * @param blockDef
      *        - node of the block.
-     * @return all the nested subblocks in block.
      */
-    private static List<DetailAST> getAllSubblocks(DetailAST blockDef) {
-        final DetailAST blockBody = getBlockBody(blockDef);
-        final LinkedList<DetailAST> subblocks = new LinkedList<>();
-        subblocks.addAll(getChildren(blockBody, TokenTypes.LITERAL_IF));
-        final List<DetailAST> elseBlocks = new LinkedList<>();
-        for (DetailAST currentIf : subblocks) {
-            if (currentIf.getChildCount(TokenTypes.LITERAL_ELSE) > 0) {
-                elseBlocks.add(currentIf.findFirstToken(TokenTypes.LITERAL_ELSE));
+    private static void addAllSubblocks(List<DetailAST> subblocks, DetailAST blockDef) {
+        final Deque<int[]> groups = new ArrayDeque<>();
+        groups.push(addSubblocks(subblocks, blockDef));
+        while (!groups.isEmpty()) {
+            final int[] group = groups.peek();
+            if (group[0] == group[1]) {
+                groups.pop();
             }
-        }
-        if (!elseBlocks.isEmpty()) {
-            subblocks.addAll(elseBlocks);
-        }
-        subblocks.addAll(getChildren(blockBody, TokenTypes.LITERAL_WHILE));
-        subblocks.addAll(getChildren(blockBody, TokenTypes.LITERAL_DO));
-        subblocks.addAll(getChildren(blockBody, TokenTypes.LITERAL_FOR));
-        subblocks.addAll(getChildren(blockBody, TokenTypes.LITERAL_TRY));
-        final List<DetailAST> nestedSubblocks = new LinkedList<>();
-        for (DetailAST currentSubblock : subblocks) {
-            if (currentSubblock.findFirstToken(TokenTypes.SLIST) != null) {
-                nestedSubblocks.addAll(getAllSubblocks(currentSubblock));
+            else {
+                final DetailAST currentSubblock = subblocks.get(group[0]);
+                group[0]++;
+                if (currentSubblock.findFirstToken(TokenTypes.SLIST) != null) {
+                    groups.push(addSubblocks(subblocks, currentSubblock));
+                }
             }
         }
-        subblocks.addAll(nestedSubblocks);
-        return subblocks;
     }
 
     /**
      * <p>
-     * Return true when variable is null into the variable definition.
+     * Adds the subblocks, which are children of the block body.
      * </p>
      *
-     * @param subBlocks
-     *        - list contains subblocks.
-     * @param variableName
-     *        - name of returned variable.
-     * @return true when variable is null into the variable definition.
+     * @param subblocks
+     *        - list to add subblocks to.
+     * @param blockDef
+     *        - node of the block.
+     * @return indexes of the first added subblock and of the end of the added
+     *         subblocks in the list.
      */
-    private static boolean hasNullInDefinition(List<DetailAST> subBlocks, String variableName) {
-        boolean result = false;
-        for (DetailAST subblock : subBlocks) {
-            final List<DetailAST> variableDefs =
-                    getChildren(getBlockBody(subblock), TokenTypes.VARIABLE_DEF);
-            boolean isFinded = false;
-            for (DetailAST currentDef : variableDefs) {
-                final DetailAST variable = currentDef.findFirstToken(TokenTypes.IDENT);
-
-                if (variableName.equals(variable.getText())) {
-                    final DetailAST variableDef = currentDef;
-                    DetailAST variableValue = variableDef.findFirstToken(TokenTypes.ASSIGN);
-                    if (variableValue == null) {
-                        result = true;
-                    }
-                    else {
-                        variableValue = variableValue.findFirstToken(TokenTypes.EXPR);
-                        result = variableValue.getFirstChild().getType() == TokenTypes.LITERAL_NULL;
-                    }
-                    isFinded = true;
-                    break;
-                }
-            }
-            if (isFinded) {
-                break;
+    private static int[] addSubblocks(List<DetailAST> subblocks, DetailAST blockDef) {
+        final DetailAST blockBody = getBlockBody(blockDef);
+        final int firstSubblock = subblocks.size();
+        addChildren(subblocks, blockBody, TokenTypes.LITERAL_IF);
+        final int ifBlocksEnd = subblocks.size();
+        for (int index = firstSubblock; index < ifBlocksEnd; index++) {
+            final DetailAST elseBlock =
+                    subblocks.get(index).findFirstToken(TokenTypes.LITERAL_ELSE);
+            if (elseBlock != null) {
+                subblocks.add(elseBlock);
             }
         }
-        return result;
+        for (int type : LOOP_AND_TRY_TYPES) {
+            addChildren(subblocks, blockBody, type);
+        }
+        return new int[] {firstSubblock, subblocks.size()};
     }
 
     /**
      * <p>
-     * Returns all children of that have the specified type.
+     * Adds all children of that have the specified type.
      * </p>
      *
+     * @param children
+     *        - list to add children to.
      * @param root
      *        - root token of a block
      * @param type
      *        - type of children
-     * @return all children of that have the specified type.
      */
-    private static List<DetailAST> getChildren(DetailAST root, int type) {
-        final List<DetailAST> children = new LinkedList<>();
-        DetailAST currentChild = root.findFirstToken(type);
-        if (currentChild != null) {
-            children.add(currentChild);
-        }
-        while (children.size() < root.getChildCount(type)) {
-            currentChild = currentChild.getNextSibling();
-            if (currentChild.getType() == type) {
-                children.add(currentChild);
+    private static void addChildren(List<DetailAST> children, DetailAST root, int type) {
+        for (DetailAST child = root.getFirstChild(); child != null;
+                child = child.getNextSibling()) {
+            if (child.getType() == type) {
+                children.add(child);
             }
         }
-        return children;
     }
 
     /**
@@ -394,4 +389,109 @@ public class NoNullForCollectionReturnCheck extends AbstractCheck {
         return blockBody;
     }
 
+    /**
+     * <p>
+     * Nullness of the variables of a method. It is collected once per method and is
+     * used for every return statement of the method.
+     * </p>
+     */
+    private static final class VariablesNullness {
+
+        /**
+         * <p>
+         * Whether variables are null in their first definition, by variable name.
+         * </p>
+         */
+        private final Map<String, Boolean> nullDefinitions = new HashMap<>();
+
+        /**
+         * <p>
+         * Names of variables, which are assigned a value without null literal.
+         * </p>
+         */
+        private final Set<String> notNullAssignments = new HashSet<>();
+
+        /**
+         * <p>
+         * Collects variable definitions and assignments of the method block and
+         * its nested subblocks.
+         * </p>
+         *
+         * @param methodDef
+         *        - DetailAST contains METHOD_DEF
+         * @param tokenIndex
+         *        - index of the nodes of the file by token type
+         */
+        private VariablesNullness(DetailAST methodDef, TokenTypeIndex tokenIndex) {
+            final List<DetailAST> blocks = new ArrayList<>();
+            blocks.add(methodDef);
+            addAllSubblocks(blocks, methodDef);
+            for (DetailAST block : blocks) {
+                for (DetailAST child = getBlockBody(block).getFirstChild(); child != null;
+                        child = child.getNextSibling()) {
+                    if (child.getType() == TokenTypes.VARIABLE_DEF) {
+                        nullDefinitions.putIfAbsent(child.findFirstToken(TokenTypes.IDENT)
+                                .getText(), isNullDefinition(child));
+                    }
+                    else if (child.getType() == TokenTypes.EXPR) {
+                        addNotNullAssignment(child, tokenIndex);
+                    }
+                }
+            }
+        }
+
+        /**
+         * <p>
+         * Returns true, when the variable is null in its definition and is never
+         * assigned a not null value.
+         * </p>
+         *
+         * @param variableName
+         *        - name of returned variable.
+         * @return true, when variable may be null.
+         */
+        private boolean mayBeNull(String variableName) {
+            return nullDefinitions.getOrDefault(variableName, Boolean.FALSE)
+                    && !notNullAssignments.contains(variableName);
+        }
+
+        /**
+         * <p>
+         * Return true when variable is null into the variable definition.
+         * </p>
+         *
+         * @param variableDef
+         *        - DetailAST contains VARIABLE_DEF
+         * @return true when variable is null into the variable definition.
+         */
+        private static boolean isNullDefinition(DetailAST variableDef) {
+            final DetailAST variableValue = variableDef.findFirstToken(TokenTypes.ASSIGN);
+            return variableValue == null
+                    || variableValue.findFirstToken(TokenTypes.EXPR).getFirstChild()
+                        .getType() == TokenTypes.LITERAL_NULL;
+        }
+
+        /**
+         * <p>
+         * Remembers the variable, if the expression assigns it a value without
+         * null literal.
+         * </p>
+         *
+         * @param expression
+         *        - DetailAST contains EXPR
+         * @param tokenIndex
+         *        - index of the nodes of the file by token type
+         */
+        private void addNotNullAssignment(DetailAST expression, TokenTypeIndex tokenIndex) {
+            final DetailAST assign = expression.findFirstToken(TokenTypes.ASSIGN);
+            if (assign != null && !tokenIndex.contains(assign, TokenTypes.LITERAL_NULL)) {
+                final DetailAST variable = assign.findFirstToken(TokenTypes.IDENT);
+                if (variable != null) {
+                    notNullAssignments.add(variable.getText());
+                }
+            }
+        }
+
+    }
+
 }
@@ -208,19 +208,14 @@ public class NumericLiteralNeedsUnderscoreCheck extends AbstractCheck {
             Pattern.compile("serialVersionUID");
 
     /**
-     * Regex for splitting a decimal literal into checkable substrings.
-     */
-    private static final Pattern DECIMAL_SPLITTER = Pattern.compile("[\\.eE]");
-
-    /**
-     * Regex for splitting a hex literal into checkable substrings.
+     * Length of prefixes. Prefixes are 0x and 0b.
      */
-    private static final Pattern HEX_SPLITTER = Pattern.compile("[\\.pP]");
+    private static final int PREFIX_LENGTH = 2;
 
     /**
-     * Length of prefixes. Prefixes are 0x and 0b.
+     * The underscore, which delimits symbols of a numeric literal.
      */
-    private static final int PREFIX_LENGTH = 2;
+    private static final char UNDERSCORE = '_';
 
     /**
      * Unexpected numeric type error string.
@@ -416,24 +411,64 @@ public class NumericLiteralNeedsUnderscoreCheck extends AbstractCheck {
             passing = true;
         }
         else {
-            final String rawLiteral = ast.getText();
-            final NumericType type = getNumericType(rawLiteral);
-            final int minCheckingLength = minSymbolsBeforeChecking(type);
-            final int symbolsUntilUnderscore = maxSymbolsUntilUnderscore(type);
-            final String strippedLiteral = removePrePostfixByType(rawLiteral, type);
-            final String[] numericSegments = getNumericSegments(strippedLiteral, type);
-            passing = true;
-            for (String numericSegment : numericSegments) {
-                if (!numericSegmentPassesRequirement(numericSegment,
-                        minCheckingLength, symbolsUntilUnderscore)) {
-                    passing = false;
-                    break;
-                }
-            }
+            passing = literalPassesRequirement(ast.getText());
         }
         return passing;
     }
 
+    /**
+     * <p>
+     * Returns whether or not the numeric literal passes the underscore requirement.
+     * </p>
+     * <p>
+     * The literal is scanned once, skipping the 0x, 0b prefixes and the postfixes. The
+     * delimiters like decimal points and exponentials split it into segments, and only the
+     * segments not shorter than the minimum checking length must have underscores. For
+     * example: 123.4567 passes because each section itself is not too long and is perfectly
+     * readable.
+     * </p>
+     * Additionally, Java will not compile underscores next to decimal points etc.
+     *
+     * @param rawLiteral
+     *        the numeric literal to check
+     * @return whether or not the numeric literal passes the requirement
+     */
+    private boolean literalPassesRequirement(String rawLiteral) {
+        final NumericType type = getNumericType(rawLiteral);
+        final int minCheckingLength = minSymbolsBeforeChecking(type);
+        final int symbolsUntilUnderscore = maxSymbolsUntilUnderscore(type);
+        int end = rawLiteral.length();
+        if (hasPostfix(rawLiteral, type)) {
+            end--;
+        }
+        int index = 0;
+        if (type != NumericType.DECIMAL) {
+            index = PREFIX_LENGTH;
+        }
+        boolean passes = true;
+        int segmentStart = index;
+        int symbolCount = 0;
+        boolean tooManySymbols = false;
+
+        while (passes && index <= end) {
+            if (index == end || isSegmentDelimiter(rawLiteral.charAt(index), type)) {
+                passes = !tooManySymbols || index - segmentStart < minCheckingLength;
+                segmentStart = index + 1;
+                symbolCount = 0;
+                tooManySymbols = false;
+            }
+            else if (rawLiteral.charAt(index) == UNDERSCORE) {
+                symbolCount = 0;
+            }
+            else {
+                tooManySymbols |= symbolCount >= symbolsUntilUnderscore;
+                symbolCount++;
+            }
+            index++;
+        }
+        return passes;
+    }
+
     /**
      * Parses the numeric literal to return the minimum checking length for the literal's type.
      *
@@ -487,43 +522,6 @@ public class NumericLiteralNeedsUnderscoreCheck extends AbstractCheck {
         return maxSymbols;
     }
 
-    /**
-     * <p>
-     * Generates easily checkable numeric tokens from the raw literal text, assuming
-     * the numeric type provided.
-     * </p>
-     * <p>
-     * For example: 123.4567 passes because each section itself is not too long and is
-     * perfectly readable.
-     * </p>
-     * Additionally, Java will not compile underscores next to decimal points etc.
-     *
-     * @param strippedLiteral
-     *        numeric literal stripped of any prefixes and postfixes
-     * @param type
-     *        the numeric type of the literal
-     * @return numeric tokens (segments) without non-numeric characters
-     * @throws IllegalStateException if the given type is not recognized
-     */
-    private static String[] getNumericSegments(String strippedLiteral, NumericType type) {
-        final String[] numericSegments;
-        if (type == NumericType.DECIMAL) {
-            numericSegments = DECIMAL_SPLITTER.split(strippedLiteral);
-        }
-        else if (type == NumericType.HEX) {
-            numericSegments = HEX_SPLITTER.split(strippedLiteral);
-        }
-        else if (type == NumericType.BINARY) {
-            numericSegments = new String[1];
-            numericSegments[0] = strippedLiteral;
-        }
-        else {
-            throw new IllegalStateException(UNEXPECTED_NUMERIC_TYPE_ERROR
-                    + type.toString());
-        }
-        return numericSegments;
-    }
-
     /**
      * <p>
      * Returns the type of numeric literal given the raw text.
@@ -544,148 +542,66 @@ public class NumericLiteralNeedsUnderscoreCheck extends AbstractCheck {
      */
     private static NumericType getNumericType(String rawLiteral) {
         final NumericType type;
-        if (rawLiteral.length() < PREFIX_LENGTH) {
-            type = NumericType.DECIMAL;
-        }
-        else {
-            final String prefix = rawLiteral.substring(0, PREFIX_LENGTH);
-            if ("0x".equals(prefix)) {
-                type = NumericType.HEX;
-            }
-            else if ("0b".equals(prefix)) {
-                type = NumericType.BINARY;
-            }
-            else {
-                type = NumericType.DECIMAL;
-            }
-        }
-        return type;
-    }
-
-    /**
-     * Returns whether or not the text passes the underscore requirement given the text and
-     * minimum length.
-     *
-     * @param numericSegment
-     *        the numeric segment to check
-     * @param minLength
-     *        minimum length for the numericSegment
-     * @param symbolsUntilUnderscore
-     *        maximum number of characters until there must be an underscore
-     * @return whether or not the numeric segment passes the requirements
-     */
-    private static boolean numericSegmentPassesRequirement(String numericSegment,
-            int minLength, int symbolsUntilUnderscore) {
-        boolean passes = true;
-        if (numericSegment.length() >= minLength) {
-            final char underscore = '_';
-            int symbolCount = 0;
-
-            for (int index = 0; index < numericSegment.length(); index++) {
-                final char current = numericSegment.charAt(index);
-                if (symbolCount >= symbolsUntilUnderscore && current != underscore) {
-                    passes = false;
-                    break;
-                }
-                if (current == underscore) {
-                    symbolCount = 0;
-                }
-                else {
-                    symbolCount++;
-                }
-            }
-        }
-        return passes;
-    }
-
-    /**
-     * Removes 0x, 0b prefixes, and l, L, f, F, d, D postfixes from numeric literals.
-     *
-     * @param rawLiteral
-     *        the numeric literal that needs to be stripped of prefixes and postfixes
-     * @param literalType
-     *        the type of the literal being passed in
-     * @return a stripped version of the raw literal
-     * @throws IllegalStateException if literalType is not a recognized type
-     */
-    private static String removePrePostfixByType(String rawLiteral, NumericType literalType) {
-        String processedLiteral;
-        if (literalType == NumericType.DECIMAL) {
-            processedLiteral = removeLetterPostfix(rawLiteral);
+        if (rawLiteral.startsWith("0x")) {
+            type = NumericType.HEX;
         }
-        else if (literalType == NumericType.HEX) {
-            processedLiteral = removePrefix(rawLiteral);
-            processedLiteral = removePostfixHex(processedLiteral);
-        }
-        else if (literalType == NumericType.BINARY) {
-            processedLiteral = removePrefix(rawLiteral);
-            processedLiteral = removeLetterPostfix(processedLiteral);
+        else if (rawLiteral.startsWith("0b")) {
+            type = NumericType.BINARY;
         }
         else {
-            throw new IllegalStateException(UNEXPECTED_NUMERIC_TYPE_ERROR
-                    + literalType.toString());
+            type = NumericType.DECIMAL;
         }
-        return processedLiteral;
+        return type;
     }
 
     /**
-     * Removes the prefixes 0x and 0b.
+     * Checks whether the character delimits segments of the numeric literal, which are
+     * checked separately. Those are decimal points and exponentials.
      *
-     * @param text
-     *        the text to remove the prefixes
-     * @return the text without the prefixes
+     * @param character
+     *        the character of the literal
+     * @param type
+     *        the type of the literal
+     * @return whether or not the character is a delimiter
      */
-    private static String removePrefix(String text) {
-        return text.substring(PREFIX_LENGTH);
-    }
-
-    /**
-     * Removes the postfix from the text if it exists. Does not handle hex literals correctly,
-     * for that use removePostfixHex.
-     *
-     * @param text
-     *        the text to remove the postfixes
-     * @return the text without the postfixes
-     */
-    private static String removeLetterPostfix(String text) {
-        final char lastchar = text.charAt(text.length() - 1);
-        final String noPostfixText;
-        if (Character.isDigit(lastchar)) {
-            noPostfixText = text;
+    private static boolean isSegmentDelimiter(char character, NumericType type) {
+        final boolean delimiter;
+        if (type == NumericType.DECIMAL) {
+            delimiter = character == '.' || character == 'e' || character == 'E';
+        }
+        else if (type == NumericType.HEX) {
+            delimiter = character == '.' || character == 'p' || character == 'P';
         }
         else {
-            noPostfixText = text.substring(0, text.length() - 1);
+            delimiter = false;
         }
-        return noPostfixText;
+        return delimiter;
     }
 
     /**
-     * Removes the postfix from the hex literal text if it exists. Does not handle other
-     * literals correctly, for those use removeLetterPostfix.
+     * Checks whether the numeric literal ends with a postfix: l, L, f, F, d, D for decimal and
+     * binary literals, l, L for hex literals, and f, F for hex float literals.
      *
-     * @param text
-     *        the text to remove the postfixes
-     * @return the text without the postfixes
-     */
-    private static String removePostfixHex(String text) {
-        final char lastchar = Character.toUpperCase(text.charAt(text.length() - 1));
-        boolean hasPostfix = false;
-        if (lastchar == 'L') {
-            // Example: 0x00FFL
-            hasPostfix = true;
-        }
-        else if (lastchar == 'F' && (text.contains("p") || text.contains("P"))) {
-            // Example: 0x1.0p1f (Hex Float)
-            hasPostfix = true;
-        }
-        final String noPostfixText;
-        if (hasPostfix) {
-            noPostfixText = text.substring(0, text.length() - 1);
+     * @param rawLiteral
+     *        the numeric literal
+     * @param type
+     *        the type of the literal
+     * @return whether or not the last character of the literal is a postfix
+     */
+    private static boolean hasPostfix(String rawLiteral, NumericType type) {
+        final char lastChar = rawLiteral.charAt(rawLiteral.length() - 1);
+        final boolean postfix;
+        if (type == NumericType.HEX) {
+            final char upperLastChar = Character.toUpperCase(lastChar);
+            // Examples: 0x00FFL, 0x1.0p1f (Hex Float)
+            postfix = upperLastChar == 'L'
+                    || upperLastChar == 'F'
+                        && (rawLiteral.indexOf('p') >= 0 || rawLiteral.indexOf('P') >= 0);
         }
         else {
-            noPostfixText = text;
+            postfix = !Character.isDigit(lastChar);
         }
-        return noPostfixText;
+        return postfix;
     }
 
 }
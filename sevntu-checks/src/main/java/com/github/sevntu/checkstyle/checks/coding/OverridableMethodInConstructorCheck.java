@@ -20,10 +20,20 @@
 package com.github.sevntu.checkstyle.checks.coding;
 
 import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import com.github.sevntu.checkstyle.SevntuUtil;
+import com.github.sevntu.checkstyle.TokenTypeIndex;
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
@@ -169,20 +179,39 @@ public class OverridableMethodInConstructorCheck extends AbstractCheck {
     private static final String PATH_SEPARATOR = ".";
 
     /**
-     * A list contains all METHOD_CALL DetailAST nodes that have been already
-     * visited by check.
+     * Resolved METHOD_DEF node per METHOD_CALL node of the current file, null
+     * value means that the called method is not found.
      */
-    private final List<DetailAST> visitedMethodCalls = new LinkedList<>();
+    private final Map<DetailAST, DetailAST> methodDefsByCall = new IdentityHashMap<>();
 
     /**
-     * A current MethodDef AST is being processed by check.
+     * Name of the overridable method each private or final METHOD_DEF of the
+     * current file leads to, null value means that it does not lead to any.
      */
-    private DetailAST curMethodDef;
+    private final Map<DetailAST, String> overridableMethodsByDef = new IdentityHashMap<>();
 
     /**
-     * A current root of the syntax tree is being processed.
+     * CLASS_DEF nodes of the current file by class name, the first class
+     * in the order of tree traversal wins.
      */
-    private DetailAST treeRootAST;
+    private final Map<String, DetailAST> classDefsByName = new HashMap<>();
+
+    /**
+     * Index of the nodes of the current file by token type.
+     */
+    private TokenTypeIndex tokenIndex;
+
+    /**
+     * Method definitions of each CLASS_DEF of the current file, built on
+     * first request.
+     */
+    private final Map<DetailAST, ClassMethods> classMethods = new IdentityHashMap<>();
+
+    /**
+     * Base classes chain of each CLASS_DEF of the current file, built on
+     * first request.
+     */
+    private final Map<DetailAST, List<DetailAST>> baseClasses = new IdentityHashMap<>();
 
     /**
      * A boolean check box that enables the searching of calls to overridable
@@ -204,16 +233,6 @@ public class OverridableMethodInConstructorCheck extends AbstractCheck {
      */
     private boolean matchMethodsByArgCount;
 
-    /**
-     * The name of current overridable method is being processed.
-     */
-    private String curOverridableMetName;
-
-    /**
-     * Method definitions counter for class is currently being processed.
-     */
-    private int curMethodDefCount;
-
     /**
      * Enable|Disable searching of calls to overridable methods from body of any
      * clone() method is implemented from Cloneable interface.
@@ -268,7 +287,25 @@ public class OverridableMethodInConstructorCheck extends AbstractCheck {
 
     @Override
     public void beginTree(DetailAST rootAST) {
-        treeRootAST = rootAST;
+        classDefsByName.clear();
+        classMethods.clear();
+        baseClasses.clear();
+        methodDefsByCall.clear();
+        overridableMethodsByDef.clear();
+        tokenIndex = TokenTypeIndex.of(rootAST);
+
+        if (rootAST != null) {
+            for (DetailAST classDef : tokenIndex.findAll(rootAST, TokenTypes.CLASS_DEF)) {
+                classDefsByName.putIfAbsent(
+                        classDef.findFirstToken(TokenTypes.IDENT).getText(), classDef);
+            }
+        }
+    }
+
+    @Override
+    public void finishTree(DetailAST rootAST) {
+        // the index of the file is not needed anymore and can be collected
+        tokenIndex = null;
     }
 
     @Override
@@ -322,8 +359,7 @@ public class OverridableMethodInConstructorCheck extends AbstractCheck {
 
         for (OverridableMetCall omc : methodCallsToWarnList) {
             final DetailAST methodDef = getMethodDef(omc.metCallAST);
-            if (hasModifier(methodDef, TokenTypes.LITERAL_PRIVATE)
-                    || hasModifier(methodDef, TokenTypes.FINAL)) {
+            if (isPrivateOrFinal(methodDef)) {
                 log(omc.metCallAST, MSG_KEY_LEADS, getMethodName(omc.metCallAST),
                         key, omc.overridableMetName);
             }
@@ -352,60 +388,148 @@ public class OverridableMethodInConstructorCheck extends AbstractCheck {
         final List<DetailAST> methodCallsList = getMethodCallsList(parentAST);
 
         for (DetailAST curNode : methodCallsList) {
-            visitedMethodCalls.clear();
             final DetailAST methodDef = getMethodDef(curNode);
             if (methodDef != null
                     && getMethodParamsCount(curNode)
-                        == getMethodParamsCount(methodDef)
-                    && isOverridableMethodCall(curNode)) {
-                result.add(new OverridableMetCall(curNode,
-                        curOverridableMetName));
+                        == getMethodParamsCount(methodDef)) {
+                final String overridableMetName = getOverridableMethodName(curNode);
+                if (overridableMetName != null) {
+                    result.add(new OverridableMetCall(curNode, overridableMetName));
+                }
             }
         }
         return result;
     }
 
     /**
-     * Checks that current processed METHOD_CALL DetailAST is pointing to
-     * overridable method call.
+     * Gets the name of the overridable method the METHOD_CALL DetailAST
+     * leads to, either directly or through calls of private and final methods.
      *
      * @param methodCallAST
      *            A METHOD_CALL DetailAST is currently being processed.
-     * @return true if current processed METHOD_CALL node is pointing to the
-     *         overridable method call and false otherwise.
+     * @return the name of the overridable method or null if current processed
+     *         METHOD_CALL node doesn't lead to the overridable method call.
      */
-    private boolean isOverridableMethodCall(final DetailAST methodCallAST) {
-        boolean result = false;
-        visitedMethodCalls.add(methodCallAST);
+    private String getOverridableMethodName(final DetailAST methodCallAST) {
+        String result = null;
+        final DetailAST methodDef = getCalledInstanceMethodDef(methodCallAST);
 
-        final String methodName = getMethodName(methodCallAST);
-        final DetailAST methodDef = getMethodDef(methodCallAST);
-
-        if (methodName != null
-                && methodDef != null && !hasModifier(methodDef, TokenTypes.LITERAL_STATIC)) {
-            if (hasModifier(methodDef, TokenTypes.LITERAL_PRIVATE)
-                || hasModifier(methodDef, TokenTypes.FINAL)) {
-                final List<DetailAST> methodCallsList = getMethodCallsList(
-                        methodDef);
-                for (DetailAST curNode : methodCallsList) {
-                    if (!visitedMethodCalls.contains(curNode)
-                            && isOverridableMethodCall(curNode)) {
-                        result = true;
-                        break;
+        if (methodDef != null) {
+            if (isPrivateOrFinal(methodDef)) {
+                result = exploreMethodCalls(methodDef);
+            }
+            else {
+                result = getMethodName(methodCallAST);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Explores calls from the body of the private or final method, and
+     * transitively from bodies of private and final methods called from it,
+     * in depth first order until the overridable method call is found. The
+     * result is cached for every method whose result does not depend on
+     * methods which were still being explored, i.e. call cycles.
+     *
+     * @param rootMethodDef
+     *            A private or final METHOD_DEF DetailAST to start from.
+     * @return the name of the first found overridable method or null if the
+     *         method doesn't lead to the overridable method call.
+     */
+    private String exploreMethodCalls(final DetailAST rootMethodDef) {
+        String result = null;
+
+        if (overridableMethodsByDef.containsKey(rootMethodDef)) {
+            result = overridableMethodsByDef.get(rootMethodDef);
+        }
+        else {
+            final Deque<MethodFrame> stack = new ArrayDeque<>();
+            final Map<DetailAST, MethodFrame> inProgress = new IdentityHashMap<>();
+            final MethodFrame rootFrame = new MethodFrame(rootMethodDef,
+                    getMethodCallsList(rootMethodDef));
+            stack.push(rootFrame);
+            inProgress.put(rootMethodDef, rootFrame);
+
+            while (result == null && !stack.isEmpty()) {
+                final MethodFrame frame = stack.peek();
+                if (frame.calls.hasNext()) {
+                    final DetailAST methodCall = frame.calls.next();
+                    final DetailAST methodDef = getCalledInstanceMethodDef(methodCall);
+                    if (methodDef != null) {
+                        if (!isPrivateOrFinal(methodDef)) {
+                            result = getMethodName(methodCall);
+                        }
+                        else if (overridableMethodsByDef.containsKey(methodDef)) {
+                            result = overridableMethodsByDef.get(methodDef);
+                        }
+                        else if (inProgress.containsKey(methodDef)) {
+                            frame.dependsOnCycle = true;
+                        }
+                        else {
+                            final MethodFrame calledFrame = new MethodFrame(methodDef,
+                                    getMethodCallsList(methodDef));
+                            stack.push(calledFrame);
+                            inProgress.put(methodDef, calledFrame);
+                        }
+                    }
+                }
+                else {
+                    stack.pop();
+                    inProgress.remove(frame.methodDef);
+                    if (!frame.dependsOnCycle) {
+                        overridableMethodsByDef.put(frame.methodDef, null);
+                    }
+                    else if (!stack.isEmpty()) {
+                        stack.peek().dependsOnCycle = true;
                     }
                 }
             }
-            else {
-                curOverridableMetName = methodName;
-                result = true;
+
+            if (result != null) {
+                for (MethodFrame frame : stack) {
+                    overridableMethodsByDef.put(frame.methodDef, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the definition of the non-static method is called by the
+     * METHOD_CALL DetailAST.
+     *
+     * @param methodCallAST
+     *            A METHOD_CALL DetailAST node.
+     * @return METHOD_DEF DetailAST node or null if the method is not found or
+     *         is static.
+     */
+    private DetailAST getCalledInstanceMethodDef(final DetailAST methodCallAST) {
+        DetailAST result = null;
+        if (getMethodName(methodCallAST) != null) {
+            final DetailAST methodDef = getMethodDef(methodCallAST);
+            if (methodDef != null && !hasModifier(methodDef, TokenTypes.LITERAL_STATIC)) {
+                result = methodDef;
             }
         }
         return result;
     }
 
+    /**
+     * Checks that method can not be overridden as it is private or final.
+     *
+     * @param methodDef
+     *            A METHOD_DEF DetailAST node.
+     * @return true if method has "private" or "final" modifier.
+     */
+    private static boolean isPrivateOrFinal(final DetailAST methodDef) {
+        return hasModifier(methodDef, TokenTypes.LITERAL_PRIVATE)
+                || hasModifier(methodDef, TokenTypes.FINAL);
+    }
+
     /**
      * Gets all METHOD_CALL nodes which are below on the current parent
-     * METHOD_DEF or CTOR_DEF node.
+     * METHOD_DEF or CTOR_DEF node, except the calls nested in other calls.
      *
      * @param parentAST
      *            The current parent METHOD_DEF or CTOR_DEF node.
@@ -413,16 +537,13 @@ public class OverridableMethodInConstructorCheck extends AbstractCheck {
      *         current parent node.
      */
     private List<DetailAST> getMethodCallsList(final DetailAST parentAST) {
-        final List<DetailAST> result = new LinkedList<>();
+        final List<DetailAST> result = new ArrayList<>();
+        DetailAST lastMethodCall = null;
 
-        for (DetailAST curNode : getChildren(parentAST)) {
-            if (curNode.getFirstChild() != null) {
-                if (curNode.getType() == TokenTypes.METHOD_CALL) {
-                    result.add(curNode);
-                }
-                else {
-                    result.addAll(getMethodCallsList(curNode));
-                }
+        for (DetailAST methodCall : tokenIndex.findAll(parentAST, TokenTypes.METHOD_CALL)) {
+            if (lastMethodCall == null || !tokenIndex.isInSubtree(lastMethodCall, methodCall)) {
+                result.add(methodCall);
+                lastMethodCall = methodCall;
             }
         }
         return result;
@@ -457,8 +578,7 @@ public class OverridableMethodInConstructorCheck extends AbstractCheck {
                     final String curClassName = getClassDef(methodCallAST)
                             .findFirstToken(TokenTypes.IDENT).getText();
                     if (firstChild.getText().equals(curClassName)
-                            || getClassDef(treeRootAST,
-                                    firstChild.getText()) != null) {
+                            || classDefsByName.containsKey(firstChild.getText())) {
                         result = lastChild.getText();
                     }
                 }
@@ -481,46 +601,62 @@ public class OverridableMethodInConstructorCheck extends AbstractCheck {
      *         node.
      */
     private DetailAST getMethodDef(final DetailAST methodCallAST) {
-        DetailAST result = null;
+        final DetailAST result;
+        if (methodDefsByCall.containsKey(methodCallAST)) {
+            result = methodDefsByCall.get(methodCallAST);
+        }
+        else {
+            result = findMethodDef(methodCallAST);
+            methodDefsByCall.put(methodCallAST, result);
+        }
+        return result;
+    }
 
-        curMethodDef = null;
-        curMethodDefCount = 0;
+    /**
+     * Finds the method definition is related to the current METHOD_CALL
+     * DetailAST node.
+     *
+     * @param methodCallAST
+     *            A METHOD_CALL DetailAST node is currently being processed.
+     * @return the METHOD_DEF DetailAST node or null if it is not found.
+     */
+    private DetailAST findMethodDef(final DetailAST methodCallAST) {
+        DetailAST result = null;
 
         final String methodName = getMethodName(methodCallAST);
         if (methodName != null) {
             final DetailAST curClassAST = getClassDef(methodCallAST);
             final DetailAST callsChild = methodCallAST.getFirstChild();
             final String variableTypeName = getVariableType(methodCallAST);
+            final ClassMethods curClassMethods = getClassMethods(curClassAST);
+            int curMethodDefCount = 0;
 
             if (variableTypeName == null
                     || callsChild.getType() != TokenTypes.DOT
                     || isItTypeOfCurrentClass(variableTypeName, curClassAST)
                     || isItCallMethodViaKeywordThis(variableTypeName, curClassAST)) {
-                getMethodDef(curClassAST, methodName);
+                curMethodDefCount = curClassMethods.getCount(methodName);
             }
 
             if (curMethodDefCount == 0) {
-                final List<DetailAST> baseClasses = getBaseClasses(curClassAST);
-
-                for (DetailAST curBaseClass : baseClasses) {
-                    curMethodDef = null;
-                    curMethodDefCount = 0;
-                    getMethodDef(curBaseClass, methodName);
-                    if (curMethodDefCount == 1) {
-                        result = curMethodDef;
+                for (DetailAST curBaseClass : getBaseClasses(curClassAST)) {
+                    final ClassMethods baseClassMethods = getClassMethods(curBaseClass);
+                    if (baseClassMethods.getCount(methodName) == 1) {
+                        result = baseClassMethods.getLastDefinition(methodName);
                         break;
                     }
                 }
             }
             else if (curMethodDefCount == 1) {
-                result = curMethodDef;
+                result = curClassMethods.getLastDefinition(methodName);
             }
             else {
                 if (matchMethodsByArgCount) {
                     int sameDefinitionCounter = 0;
                     final int curMethodParamCount =
                             getMethodParamsCount(methodCallAST);
-                    for (DetailAST currentDefinition : getMethodDef(curClassAST, methodName)) {
+                    for (DetailAST currentDefinition
+                            : curClassMethods.getDefinitions(methodName)) {
                         if (getMethodParamsCount(currentDefinition) == curMethodParamCount) {
                             result = currentDefinition;
                             sameDefinitionCounter++;
@@ -538,45 +674,14 @@ public class OverridableMethodInConstructorCheck extends AbstractCheck {
     }
 
     /**
-     * Gets the method definition is related to the current METHOD_CALL
-     * DetailAST using the name of method to be searched. Ignores overloaded
-     * methods (retrieves only one METHOD_DEF node).
+     * Gets the method definitions of the class, indexing them on first request.
      *
-     * @param parentAST
-     *            A parent CLASS_DEF DetailAST node which uses as a start point
-     *            when searching.
-     * @param methodName
-     *            String containing the name of method is currently being
-     *            searched.
-     * @return a List of method definition
-     */
-    private List<DetailAST> getMethodDef(final DetailAST parentAST,
-            final String methodName) {
-        List<DetailAST> definitionsList = new LinkedList<>();
-
-        for (DetailAST curNode : getChildren(parentAST)) {
-            if (curNode.getFirstChild() != null) {
-                if (curNode.getType() == TokenTypes.METHOD_DEF) {
-                    final String curMethodName = curNode.findFirstToken(
-                            TokenTypes.IDENT).getText();
-                    if (methodName.equals(curMethodName)) {
-                        curMethodDef = curNode;
-                        definitionsList.add(0, curNode);
-                        curMethodDefCount++;
-                    }
-                }
-
-                final int type = curNode.getType();
-
-                if (type != TokenTypes.CLASS_DEF && type != TokenTypes.CTOR_DEF
-                        && type != TokenTypes.MODIFIERS
-                        && type != TokenTypes.IMPLEMENTS_CLAUSE
-                        && type != TokenTypes.METHOD_DEF) {
-                    definitionsList = getMethodDef(curNode, methodName);
-                }
-            }
-        }
-        return definitionsList;
+     * @param classDefNode
+     *            A CLASS_DEF DetailAST node.
+     * @return method definitions of the class.
+     */
+    private ClassMethods getClassMethods(final DetailAST classDefNode) {
+        return classMethods.computeIfAbsent(classDefNode, ClassMethods::new);
     }
 
     /**
@@ -674,7 +779,8 @@ public class OverridableMethodInConstructorCheck extends AbstractCheck {
         }
 
         if (paramsParentAST != null && paramsParentAST.getChildCount() != 0) {
-            for (DetailAST curNode : getChildren(paramsParentAST)) {
+            for (DetailAST curNode = paramsParentAST.getFirstChild(); curNode != null;
+                    curNode = curNode.getNextSibling()) {
                 if (curNode.getType() == TokenTypes.COMMA) {
                     result++;
                 }
@@ -703,7 +809,8 @@ public class OverridableMethodInConstructorCheck extends AbstractCheck {
                 .findFirstToken(TokenTypes.MODIFIERS);
 
         if (modifiers != null && modifiers.getChildCount() != 0) {
-            for (DetailAST curNode : getChildren(modifiers)) {
+            for (DetailAST curNode = modifiers.getFirstChild(); curNode != null;
+                    curNode = curNode.getNextSibling()) {
                 if (curNode.getType() == modifierType) {
                     result = true;
                     break;
@@ -732,40 +839,6 @@ public class OverridableMethodInConstructorCheck extends AbstractCheck {
         return curNode;
     }
 
-    /**
-     * Gets the CLASS_DEF DetailAST node for the class is named "aClassName".
-     *
-     * @param rootNode
-     *            A root node of syntax tree is being processed.
-     * @param className
-     *            The name of class to search.
-     * @return The CLASS_DEF DetailAST node which is related to the class is
-     *         named "aClassName".
-     */
-    private static DetailAST getClassDef(DetailAST rootNode, String className) {
-        DetailAST curNode = rootNode;
-
-        while (curNode != null) {
-            DetailAST toVisit = curNode.getFirstChild();
-            while (curNode != null && toVisit == null) {
-                toVisit = curNode.getNextSibling();
-                if (toVisit == null) {
-                    curNode = curNode.getParent();
-                }
-            }
-
-            curNode = toVisit;
-
-            if (curNode != null
-                    && curNode.getType() == TokenTypes.CLASS_DEF
-                    && curNode.findFirstToken(TokenTypes.IDENT).getText()
-                            .equals(className)) {
-                break;
-            }
-        }
-        return curNode;
-    }
-
     /**
      * Checks that class realizes "anInterfaceName" interface (checks that class
      * implements this interface or has at least one parent class which
@@ -780,16 +853,14 @@ public class OverridableMethodInConstructorCheck extends AbstractCheck {
      */
     private boolean realizesAnInterface(final DetailAST classDefNode,
             final String interfaceName) {
-        boolean result = false;
-        final List<DetailAST> classWithBaseClasses =
-                getBaseClasses(classDefNode);
-
-        classWithBaseClasses.add(classDefNode);
+        boolean result = implementsAnInterface(classDefNode, interfaceName);
 
-        for (DetailAST classAST : classWithBaseClasses) {
-            if (implementsAnInterface(classAST, interfaceName)) {
-                result = true;
-                break;
+        if (!result) {
+            for (DetailAST classAST : getBaseClasses(classDefNode)) {
+                if (implementsAnInterface(classAST, interfaceName)) {
+                    result = true;
+                    break;
+                }
             }
         }
         return result;
@@ -813,7 +884,8 @@ public class OverridableMethodInConstructorCheck extends AbstractCheck {
                 .findFirstToken(TokenTypes.IMPLEMENTS_CLAUSE);
 
         if (implClause != null) {
-            for (DetailAST ident : getChildren(implClause)) {
+            for (DetailAST ident = implClause.getFirstChild(); ident != null;
+                    ident = ident.getNextSibling()) {
                 if (ident.getText().equals(interfaceName)) {
                     result = true;
                     break;
@@ -834,11 +906,25 @@ public class OverridableMethodInConstructorCheck extends AbstractCheck {
      *         processed and all it`s base classes.
      */
     private List<DetailAST> getBaseClasses(final DetailAST classDefNode) {
+        return baseClasses.computeIfAbsent(classDefNode, this::findBaseClasses);
+    }
+
+    /**
+     * Finds CLASS_DEF DetailAST nodes of all base classes of the class that
+     * are declared in the current file.
+     *
+     * @param classDefNode
+     *            A CLASS_DEF DetailAST is related to the class is currently
+     *            being processed.
+     * @return an unmodifiable list of CLASS_DEF DetailAST nodes of base
+     *         classes, from the closest one.
+     */
+    private List<DetailAST> findBaseClasses(final DetailAST classDefNode) {
         final List<DetailAST> result = new LinkedList<>();
         String baseClassName = getBaseClassName(classDefNode);
 
         if (baseClassName != null) {
-            DetailAST curClass = getClassDef(treeRootAST, baseClassName);
+            DetailAST curClass = classDefsByName.get(baseClassName);
             while (curClass != null) {
                 result.add(curClass);
                 baseClassName = getBaseClassName(curClass);
@@ -846,7 +932,7 @@ public class OverridableMethodInConstructorCheck extends AbstractCheck {
                     break;
                 }
 
-                final DetailAST nextClass = getClassDef(treeRootAST, baseClassName);
+                final DetailAST nextClass = classDefsByName.get(baseClassName);
 
                 // prevent infinite loop with similar named classes
                 if (nextClass == curClass) {
@@ -857,7 +943,7 @@ public class OverridableMethodInConstructorCheck extends AbstractCheck {
                 }
             }
         }
-        return result;
+        return Collections.unmodifiableList(result);
     }
 
     /**
@@ -886,22 +972,139 @@ public class OverridableMethodInConstructorCheck extends AbstractCheck {
     }
 
     /**
-     * Gets all the children one level below on the current DetailAST parent
-     * node.
-     *
-     * @param node
-     *            Current parent node.
-     * @return An array of children one level below on the current parent node
-     *         aNode.
+     * Index of METHOD_DEF nodes of a single class by method name. Definitions
+     * are collected from the class body, from nested enums, interfaces and
+     * initializers, and from bodies of anonymous classes declared there, but
+     * not from nested classes, methods and constructors.
      */
-    private static List<DetailAST> getChildren(final DetailAST node) {
-        final List<DetailAST> result = new LinkedList<>();
-        DetailAST curNode = node.getFirstChild();
-        while (curNode != null) {
-            result.add(curNode);
-            curNode = curNode.getNextSibling();
+    private static final class ClassMethods {
+
+        /** Number of definitions per method name. */
+        private final Map<String, Integer> counts = new HashMap<>();
+
+        /** The last definition in the order of traversal per method name. */
+        private final Map<String, DetailAST> lastDefinitions = new HashMap<>();
+
+        /**
+         * Definitions to select from among overloaded methods, per method name.
+         * Replaced by an empty map whenever the traversal enters a nested node,
+         * so the nested node processed last wins.
+         */
+        private Map<String, Deque<DetailAST>> definitions = new HashMap<>();
+
+        /**
+         * Creates an index of method definitions of the class.
+         *
+         * @param classDefNode
+         *            A CLASS_DEF DetailAST node.
+         */
+        /* package */ ClassMethods(DetailAST classDefNode) {
+            SevntuUtil.forEachSubTreeNode(classDefNode, ClassMethods::isNotCollectedUnder,
+                    this::collect);
         }
-        return result;
+
+        /**
+         * Gets the number of definitions of the method.
+         *
+         * @param methodName
+         *            The name of method.
+         * @return number of definitions.
+         */
+        public int getCount(String methodName) {
+            return counts.getOrDefault(methodName, 0);
+        }
+
+        /**
+         * Gets the last definition of the method.
+         *
+         * @param methodName
+         *            The name of method.
+         * @return METHOD_DEF node or null if there is no such method.
+         */
+        public DetailAST getLastDefinition(String methodName) {
+            return lastDefinitions.get(methodName);
+        }
+
+        /**
+         * Gets the definitions to select from among overloaded methods.
+         *
+         * @param methodName
+         *            The name of method.
+         * @return METHOD_DEF nodes.
+         */
+        public Collection<DetailAST> getDefinitions(String methodName) {
+            Collection<DetailAST> result = definitions.get(methodName);
+            if (result == null) {
+                result = Collections.emptyList();
+            }
+            return result;
+        }
+
+        /**
+         * Collects the method definition, or starts collecting definitions
+         * anew if the traversal enters a nested node. Results of the nested
+         * node processed last replace the ones collected before it.
+         *
+         * @param node
+         *            A node below the class definition.
+         */
+        private void collect(DetailAST node) {
+            if (node.getType() == TokenTypes.METHOD_DEF) {
+                final String methodName = node.findFirstToken(TokenTypes.IDENT).getText();
+                counts.merge(methodName, 1, Integer::sum);
+                lastDefinitions.put(methodName, node);
+                definitions.computeIfAbsent(methodName, name -> new ArrayDeque<>())
+                        .addFirst(node);
+            }
+            else if (node.getFirstChild() != null && !isNotCollectedUnder(node)) {
+                definitions = new HashMap<>();
+            }
+        }
+
+        /**
+         * Checks whether method definitions are not collected under the node.
+         *
+         * @param node
+         *            A node below the class definition.
+         * @return true if the children of the node are not traversed.
+         */
+        private static boolean isNotCollectedUnder(DetailAST node) {
+            final int type = node.getType();
+            return type == TokenTypes.METHOD_DEF
+                    || type == TokenTypes.CLASS_DEF || type == TokenTypes.CTOR_DEF
+                    || type == TokenTypes.MODIFIERS
+                    || type == TokenTypes.IMPLEMENTS_CLAUSE;
+        }
+
+    }
+
+    /**
+     * Private or final method which calls are being explored.
+     */
+    private static final class MethodFrame {
+
+        /** METHOD_DEF DetailAST node of the method. */
+        private final DetailAST methodDef;
+
+        /** Method calls from the body of the method which are left to explore. */
+        private final Iterator<DetailAST> calls;
+
+        /** Whether any of the calls leads to a method which was being explored. */
+        private boolean dependsOnCycle;
+
+        /**
+         * Creates an instance of MethodFrame and initializes fields.
+         *
+         * @param methodDef
+         *            METHOD_DEF DetailAST node of the method.
+         * @param calls
+         *            Method calls from the body of the method.
+         */
+        /* package */ MethodFrame(DetailAST methodDef, List<DetailAST> calls) {
+            this.methodDef = methodDef;
+            this.calls = calls.iterator();
+        }
+
     }
 
     /**
@@ -0,0 +1,215 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.sevntu.checkstyle.checks.coding;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+
+/**
+ * Trie of fully qualified names, keyed by the dot separated segments of the names.
+ * It is built once at configuration time and is queried directly with the IDENT or DOT
+ * node of a name, so a lookup costs one hash lookup per segment and allocates nothing.
+ */
+/* package */ final class QualifiedNameTrie {
+
+    /** Separator of segments in the qualified names. */
+    private static final char SEGMENT_SEPARATOR = '.';
+
+    /** Root node of the trie, which stands for the empty name. */
+    private final Node root = new Node();
+
+    /**
+     * Adds the qualified name to the trie.
+     *
+     * @param qualifiedName the qualified name, such as "java.lang.String".
+     */
+    /* package */ void add(String qualifiedName) {
+        final String name = qualifiedName.trim();
+        Node node = root;
+        int segmentStart = 0;
+        int segmentEnd = name.indexOf(SEGMENT_SEPARATOR);
+        while (segmentEnd >= 0) {
+            node = node.getOrCreateChild(name.substring(segmentStart, segmentEnd));
+            segmentStart = segmentEnd + 1;
+            segmentEnd = name.indexOf(SEGMENT_SEPARATOR, segmentStart);
+        }
+        node = node.getOrCreateChild(name.substring(segmentStart));
+        node.qualifiedName = name;
+    }
+
+    /**
+     * Gets the node of the given qualified name.
+     *
+     * @param qualifiedName the qualified name, such as "java.lang".
+     * @return the node, or null if no name added to the trie starts with the given one.
+     */
+    /* package */ Node getNode(String qualifiedName) {
+        return walk(qualifiedName, false);
+    }
+
+    /**
+     * Finds the added name which is equal to the given qualified name.
+     *
+     * @param qualifiedName the qualified name, such as "java.lang.String".
+     * @return the added name, or null if there is no such name.
+     */
+    /* package */ String findName(String qualifiedName) {
+        return getQualifiedName(walk(qualifiedName, false));
+    }
+
+    /**
+     * Finds the shortest added name which is equal to the given qualified name,
+     * or is a prefix of it ending on a segment boundary.
+     *
+     * @param qualifiedName the qualified name, such as "java.lang.String".
+     * @return the added name, or null if there is no such name.
+     */
+    /* package */ String findPrefix(String qualifiedName) {
+        return getQualifiedName(walk(qualifiedName, true));
+    }
+
+    /**
+     * Finds the added name which is equal to the name represented by the given AST.
+     *
+     * @param name IDENT or DOT node of the name.
+     * @return the added name, or null if there is no such name.
+     */
+    /* package */ String findName(DetailAST name) {
+        return getQualifiedName(walk(name, false));
+    }
+
+    /**
+     * Finds the shortest added name which is equal to the name represented by the given AST,
+     * or is a prefix of it ending on a segment boundary.
+     *
+     * @param name IDENT or DOT node of the name.
+     * @return the added name, or null if there is no such name.
+     */
+    /* package */ String findPrefix(DetailAST name) {
+        return getQualifiedName(walk(name, true));
+    }
+
+    /**
+     * Walks the trie along the dot separated segments of the qualified name.
+     *
+     * @param qualifiedName the qualified name.
+     * @param stopAtName whether to stop at the first node of an added name.
+     * @return the last visited node, or null if the name is not in the trie.
+     */
+    private Node walk(String qualifiedName, boolean stopAtName) {
+        Node node = root;
+        int segmentStart = 0;
+        while (node != null && segmentStart <= qualifiedName.length()
+                && !(stopAtName && node.qualifiedName != null)) {
+            int segmentEnd = qualifiedName.indexOf(SEGMENT_SEPARATOR, segmentStart);
+            if (segmentEnd < 0) {
+                segmentEnd = qualifiedName.length();
+            }
+            node = node.getChild(qualifiedName.substring(segmentStart, segmentEnd));
+            segmentStart = segmentEnd + 1;
+        }
+        return node;
+    }
+
+    /**
+     * Walks the trie along the segments of the name represented by the given AST.
+     * Segments of a qualified name are the IDENT children of a left-deep tree of DOT nodes,
+     * so the walk starts from the leftmost IDENT and goes up to the given node.
+     *
+     * @param name IDENT or DOT node of the name.
+     * @param stopAtName whether to stop at the first node of an added name.
+     * @return the last visited node, or null if the name is not in the trie.
+     */
+    private Node walk(DetailAST name, boolean stopAtName) {
+        DetailAST segment = name;
+        while (segment.getType() == TokenTypes.DOT) {
+            segment = segment.getFirstChild();
+        }
+        Node node = root.getChild(segment.getText());
+        while (node != null && segment != name
+                && !(stopAtName && node.qualifiedName != null)) {
+            segment = segment.getParent();
+            node = node.getChild(segment.getLastChild().getText());
+        }
+        return node;
+    }
+
+    /**
+     * Gets the added name of the node.
+     *
+     * @param node the node, may be null.
+     * @return the added name, or null if the node is null or does not end any added name.
+     */
+    private static String getQualifiedName(Node node) {
+        String result = null;
+        if (node != null) {
+            result = node.qualifiedName;
+        }
+        return result;
+    }
+
+    /**
+     * Node of the trie, which stands for a qualified name or a prefix of qualified names.
+     */
+    /* package */ static final class Node {
+
+        /** Children of the node by the next segment. */
+        private final Map<String, Node> children = new HashMap<>();
+
+        /** The added name which ends at this node, null if there is no such name. */
+        private String qualifiedName;
+
+        /**
+         * Gets the child of the node.
+         *
+         * @param segment the next segment of the name.
+         * @return the child, or null if there is no such child.
+         */
+        /* package */ Node getChild(String segment) {
+            return children.get(segment);
+        }
+
+        /**
+         * Checks whether the name formed by this node and the segment was added to the trie.
+         *
+         * @param segment the next segment of the name.
+         * @return true if the name was added.
+         */
+        /* package */ boolean hasName(String segment) {
+            final Node child = children.get(segment);
+            return child != null && child.qualifiedName != null;
+        }
+
+        /**
+         * Gets the child of the node, creating it when absent.
+         *
+         * @param segment the next segment of the name.
+         * @return the child.
+         */
+        private Node getOrCreateChild(String segment) {
+            return children.computeIfAbsent(segment, key -> new Node());
+        }
+
+    }
+
+}
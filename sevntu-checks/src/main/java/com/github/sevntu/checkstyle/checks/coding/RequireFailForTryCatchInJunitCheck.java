@@ -28,6 +28,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import com.github.sevntu.checkstyle.FileImports;
 import com.github.sevntu.checkstyle.SevntuUtil;
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
@@ -227,13 +228,18 @@ public class RequireFailForTryCatchInJunitCheck extends AbstractCheck {
      * List of method invocations computed based on the actual class imports that satisfy
      * this check.
      */
-    private final Set<String> acceptedFailMethodCalls = new HashSet<>(FAIL_METHODS_WITH_DOTS);
+    private final Set<String> acceptedFailMethodCalls = new HashSet<>();
 
     /**
      * {@code true} if the junit test is imported.
      */
     private boolean importTest;
 
+    /**
+     * Package and imports of the current file.
+     */
+    private FileImports fileImports;
+
     @Override
     public int[] getDefaultTokens() {
         return getRequiredTokens();
@@ -241,14 +247,16 @@ public class RequireFailForTryCatchInJunitCheck extends AbstractCheck {
 
     @Override
     public int[] getAcceptableTokens() {
-        return getRequiredTokens();
+        return new int[] {
+            TokenTypes.LITERAL_TRY,
+            TokenTypes.IMPORT,
+            TokenTypes.STATIC_IMPORT,
+        };
     }
 
     @Override
     public int[] getRequiredTokens() {
         return new int[] {
-            TokenTypes.IMPORT,
-            TokenTypes.STATIC_IMPORT,
             TokenTypes.LITERAL_TRY,
         };
     }
@@ -256,38 +264,39 @@ public class RequireFailForTryCatchInJunitCheck extends AbstractCheck {
     @Override
     public void beginTree(DetailAST rootAST) {
         importTest = false;
+        acceptedFailMethodCalls.clear();
+        acceptedFailMethodCalls.addAll(FAIL_METHODS_WITH_DOTS);
+
+        fileImports = FileImports.of(rootAST);
+        for (String imprt : fileImports.getSingleTypeImports().values()) {
+            if (FQ_JUNIT_TESTS.contains(imprt)) {
+                importTest = true;
+            }
+            else {
+                addAcceptedFailMethodCalls(FAIL_METHOD_CALLS_BY_IMPORT.get(imprt));
+            }
+        }
+        for (String staticImprt : fileImports.getStaticImports()) {
+            addAcceptedFailMethodCalls(FAIL_METHOD_CALLS_BY_STATIC_IMPORT.get(staticImprt));
+        }
+    }
+
+    @Override
+    public void finishTree(DetailAST rootAST) {
+        // the imports of the file are not needed anymore and can be collected
+        fileImports = null;
     }
 
     @Override
     public void visitToken(DetailAST ast) {
         switch (ast.getType()) {
-            case TokenTypes.IMPORT:
-                final String imprt = getImportText(ast);
-
-                if (FQ_JUNIT_TESTS.contains(imprt)) {
-                    importTest = true;
-                }
-                else {
-                    final List<String> failMethodCalls = FAIL_METHOD_CALLS_BY_IMPORT.get(imprt);
-                    if (failMethodCalls != null) {
-                        acceptedFailMethodCalls.addAll(failMethodCalls);
-                    }
-                }
-
-                break;
-            case TokenTypes.STATIC_IMPORT:
-                final String staticImprt = getImportText(ast);
-
-                final List<String> failMethodCall =
-                    FAIL_METHOD_CALLS_BY_STATIC_IMPORT.get(staticImprt);
-                if (failMethodCall != null) {
-                    acceptedFailMethodCalls.addAll(failMethodCall);
-                }
-
-                break;
             case TokenTypes.LITERAL_TRY:
                 examineTry(ast);
                 break;
+            case TokenTypes.IMPORT:
+            case TokenTypes.STATIC_IMPORT:
+                // the JUnit imports are read in beginTree
+                break;
             default:
                 SevntuUtil.reportInvalidToken(ast.getType());
                 break;
@@ -431,20 +440,14 @@ public class RequireFailForTryCatchInJunitCheck extends AbstractCheck {
     }
 
     /**
-     * Returns import text.
+     * Accepts the fail method calls made available by an import.
      *
-     * @param ast ast node that represents import
-     * @return String that represents importing class
+     * @param failMethodCalls the fail method calls, null if the import provides none
      */
-    private static String getImportText(DetailAST ast) {
-        final FullIdent imp;
-        if (ast.getType() == TokenTypes.IMPORT) {
-            imp = FullIdent.createFullIdentBelow(ast);
-        }
-        else {
-            imp = FullIdent.createFullIdent(ast.getFirstChild().getNextSibling());
+    private void addAcceptedFailMethodCalls(List<String> failMethodCalls) {
+        if (failMethodCalls != null) {
+            acceptedFailMethodCalls.addAll(failMethodCalls);
         }
-        return imp.getText();
     }
 
     /**
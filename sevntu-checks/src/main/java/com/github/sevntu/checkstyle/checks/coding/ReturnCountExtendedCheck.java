@@ -19,10 +19,13 @@
 
 package com.github.sevntu.checkstyle.checks.coding;
 
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.regex.Pattern;
 
+import com.github.sevntu.checkstyle.TokenTypeIndex;
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
@@ -115,9 +118,32 @@ public class ReturnCountExtendedCheck extends AbstractCheck {
     private static final int DEFAULT_TOP_LINES_TO_IGNORE_COUNT = 5;
 
     /**
-     * List contains RegExp patterns for methods' names which would be ignored by check.
+     * Name of lambdas which is matched by "ignoreMethodsNames" patterns.
      */
-    private final Set<String> ignoreMethodsNames = new HashSet<>();
+    private static final String LAMBDA_NAME = "null";
+
+    /**
+     * Pattern for RegExp patterns which can match only themselves. It has no '$',
+     * as it is the end anchor in a RegExp.
+     */
+    private static final Pattern LITERAL_NAME_PATTERN = Pattern.compile("\\w+");
+
+    /**
+     * Set contains names of methods which would be ignored by check, for
+     * "ignoreMethodsNames" patterns that can match only themselves.
+     */
+    private final Set<String> ignoredMethodsNames = new HashSet<>();
+
+    /**
+     * All other "ignoreMethodsNames" patterns, compiled separately so that capturing
+     * groups and backreferences of each of them keep their numbers.
+     */
+    private final List<Pattern> ignoredMethodsNamesPatterns = new ArrayList<>();
+
+    /**
+     * Index of the nodes of the current file by token type.
+     */
+    private TokenTypeIndex tokenIndex;
 
     /**
      * Maximum allowed "return" literals count per method/ctor/lambda (1 by default).
@@ -151,7 +177,7 @@ public class ReturnCountExtendedCheck extends AbstractCheck {
      * Creates the new check instance.
      */
     public ReturnCountExtendedCheck() {
-        ignoreMethodsNames.add("equals");
+        ignoredMethodsNames.add("equals");
     }
 
     /**
@@ -161,10 +187,16 @@ public class ReturnCountExtendedCheck extends AbstractCheck {
      *            list of the RegExp patterns for methods' names which should be ignored by check
      */
     public void setIgnoreMethodsNames(String... ignoreMethodNames) {
-        ignoreMethodsNames.clear();
+        ignoredMethodsNames.clear();
+        ignoredMethodsNamesPatterns.clear();
         if (ignoreMethodNames != null) {
             for (String name : ignoreMethodNames) {
-                ignoreMethodsNames.add(name);
+                if (LITERAL_NAME_PATTERN.matcher(name).matches()) {
+                    ignoredMethodsNames.add(name);
+                }
+                else {
+                    ignoredMethodsNamesPatterns.add(Pattern.compile(name));
+                }
             }
         }
     }
@@ -245,13 +277,24 @@ public class ReturnCountExtendedCheck extends AbstractCheck {
         return getDefaultTokens();
     }
 
+    @Override
+    public void beginTree(DetailAST rootAST) {
+        tokenIndex = TokenTypeIndex.of(rootAST);
+    }
+
+    @Override
+    public void finishTree(DetailAST rootAST) {
+        // the index of the file is not needed anymore and can be collected
+        tokenIndex = null;
+    }
+
     @Override
     public void visitToken(final DetailAST node) {
         final DetailAST openingBrace = node
                 .findFirstToken(TokenTypes.SLIST);
         final String nodeName = getMethodName(node);
         if (openingBrace != null
-                && !matches(nodeName, ignoreMethodsNames)) {
+                && !isIgnoredMethodName(nodeName)) {
             final DetailAST closingBrace = openingBrace.getLastChild();
 
             int curMethodLinesCount = getLinesCount(openingBrace,
@@ -262,8 +305,7 @@ public class ReturnCountExtendedCheck extends AbstractCheck {
             }
 
             if (curMethodLinesCount >= ignoreMethodLinesCount) {
-                final int curReturnCount = getReturnCount(node,
-                        openingBrace);
+                final int curReturnCount = getReturnCount(openingBrace);
 
                 if (curReturnCount > maxReturnCount) {
                     logViolation(node, nodeName, curReturnCount);
@@ -303,29 +345,28 @@ public class ReturnCountExtendedCheck extends AbstractCheck {
     }
 
     /**
-     * Gets the "return" statements count for given method/ctor/lambda and saves the
-     * last "return" statement DetailAST node for given method/ctor/lambda body. Uses
-     * an iterative algorithm.
+     * Gets the "return" statements count for given method/ctor/lambda. Uses
+     * an iterative algorithm, which tracks the depth of the current node
+     * while walking, so the whole body is visited only once. Subtrees without
+     * "return" statements are skipped.
      *
-     * @param methodDefNode
-     *        DetailAST node is pointing to current method definition is being
-     *        processed.
      * @param methodOpeningBrace
      *        a DetailAST node that points to the current method`s opening
      *        brace.
      * @return "return" literals count for given method.
      */
-    private int getReturnCount(final DetailAST methodDefNode,
-            final DetailAST methodOpeningBrace) {
+    private int getReturnCount(final DetailAST methodOpeningBrace) {
         int result = 0;
+        int depth = 0;
 
         DetailAST curNode = methodOpeningBrace;
 
         // stop at closing brace
         while (curNode.getType() != TokenTypes.RCURLY
                 || curNode.getParent() != methodOpeningBrace) {
-            if (curNode.getType() == TokenTypes.LITERAL_RETURN
-                    && getDepth(methodDefNode, curNode) < minIgnoreReturnDepth
+            final int type = curNode.getType();
+            if (type == TokenTypes.LITERAL_RETURN
+                    && depth < minIgnoreReturnDepth
                     && shouldEmptyReturnStatementBeCounted(curNode)
                     && getLinesCount(methodOpeningBrace,
                             curNode) > topLinesToIgnoreCount) {
@@ -333,16 +374,21 @@ public class ReturnCountExtendedCheck extends AbstractCheck {
             }
 
             // before node leaving
-            DetailAST nextNode = curNode.getFirstChild();
+            DetailAST nextNode = null;
 
-            final int type = curNode.getType();
             // skip nested methods (UI listeners, Runnable.run(), etc.)
-            if (type == TokenTypes.METHOD_DEF
+            if (type != TokenTypes.METHOD_DEF
                   // skip anonymous classes
-                  || type == TokenTypes.CLASS_DEF
+                  && type != TokenTypes.CLASS_DEF
                   // skip lambdas which is like an anonymous class/method
-                  || type == TokenTypes.LAMBDA) {
-                nextNode = curNode.getNextSibling();
+                  && type != TokenTypes.LAMBDA
+                  // skip subtrees without "return" statements
+                  && (curNode == methodOpeningBrace
+                      || tokenIndex.contains(curNode, TokenTypes.LITERAL_RETURN))) {
+                nextNode = curNode.getFirstChild();
+                if (isDepthBlock(type)) {
+                    depth++;
+                }
             }
 
             while (nextNode == null) {
@@ -350,6 +396,9 @@ public class ReturnCountExtendedCheck extends AbstractCheck {
                 nextNode = curNode.getNextSibling();
                 if (nextNode == null) {
                     curNode = curNode.getParent();
+                    if (isDepthBlock(curNode.getType())) {
+                        depth--;
+                    }
                 }
             }
             curNode = nextNode;
@@ -374,35 +423,21 @@ public class ReturnCountExtendedCheck extends AbstractCheck {
     }
 
     /**
-     * Gets the depth level of given "return" statement. There are few supported
-     * coding blocks when depth counting: "if-else", "for", "while"/"do-while"
-     * and "switch".
+     * Checks that given token type is a coding block which increases the depth
+     * level of nested "return" statements. There are few supported coding blocks
+     * when depth counting: "if-else", "for", "while"/"do-while", "switch" and "try".
      *
-     * @param methodDefNode
-     *        a DetailAST node that points to the current method`s definition.
-     * @param returnStmtNode
-     *        given "return" statement node.
-     * @return the depth of given
+     * @param type
+     *        the token type.
+     * @return true if the token type is a depth counted block.
      */
-    private static int getDepth(DetailAST methodDefNode,
-            DetailAST returnStmtNode) {
-        int result = 0;
-
-        DetailAST curNode = returnStmtNode;
-
-        while (!curNode.equals(methodDefNode)) {
-            curNode = curNode.getParent();
-            final int type = curNode.getType();
-            if (type == TokenTypes.LITERAL_IF
-                    || type == TokenTypes.LITERAL_SWITCH
-                    || type == TokenTypes.LITERAL_FOR
-                    || type == TokenTypes.LITERAL_DO
-                    || type == TokenTypes.LITERAL_WHILE
-                    || type == TokenTypes.LITERAL_TRY) {
-                result++;
-            }
-        }
-        return result;
+    private static boolean isDepthBlock(int type) {
+        return type == TokenTypes.LITERAL_IF
+                || type == TokenTypes.LITERAL_SWITCH
+                || type == TokenTypes.LITERAL_FOR
+                || type == TokenTypes.LITERAL_DO
+                || type == TokenTypes.LITERAL_WHILE
+                || type == TokenTypes.LITERAL_TRY;
     }
 
     /**
@@ -440,25 +475,23 @@ public class ReturnCountExtendedCheck extends AbstractCheck {
     }
 
     /**
-     * Matches string to given list of RegExp patterns.
+     * Checks that given method name is matched by one of "ignoreMethodsNames" patterns.
      *
-     * @param string
-     *            String to be matched.
-     * @param patterns
-     *            Collection of RegExp patterns to match with.
-     * @return true if given string could be fully matched by one of given patterns, false otherwise
+     * @param methodName
+     *            the method name, null for lambdas.
+     * @return true if given name could be fully matched by one of the patterns, false otherwise
      */
-    private static boolean matches(String string, Collection<String> patterns) {
-        String match = string;
+    private boolean isIgnoredMethodName(String methodName) {
+        String name = methodName;
 
-        if (match == null) {
-            match = "null";
+        if (name == null) {
+            name = LAMBDA_NAME;
         }
 
-        boolean result = false;
-        if (!patterns.isEmpty()) {
-            for (String pattern : patterns) {
-                if (match.matches(pattern)) {
+        boolean result = ignoredMethodsNames.contains(name);
+        if (!result) {
+            for (Pattern pattern : ignoredMethodsNamesPatterns) {
+                if (pattern.matcher(name).matches()) {
                     result = true;
                     break;
                 }
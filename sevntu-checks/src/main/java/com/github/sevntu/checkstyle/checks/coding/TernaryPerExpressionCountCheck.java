@@ -19,9 +19,10 @@
 
 package com.github.sevntu.checkstyle.checks.coding;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
+import com.github.sevntu.checkstyle.TokenTypeIndex;
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
@@ -117,6 +118,9 @@ public class TernaryPerExpressionCountCheck extends AbstractCheck {
      */
     private boolean ignoreIsolatedTernaryOnLine = true;
 
+    /** Index of the nodes of the current file by token type. */
+    private TokenTypeIndex tokenIndex;
+
     @Override
     public int[] getDefaultTokens() {
         return new int[] {
@@ -168,6 +172,17 @@ public class TernaryPerExpressionCountCheck extends AbstractCheck {
         this.ignoreIsolatedTernaryOnLine = ignoreIsolatedTernaryOnLine;
     }
 
+    @Override
+    public void beginTree(DetailAST rootAST) {
+        tokenIndex = TokenTypeIndex.of(rootAST);
+    }
+
+    @Override
+    public void finishTree(DetailAST rootAST) {
+        // the index of the file is not needed anymore and can be collected
+        tokenIndex = null;
+    }
+
     @Override
     public void visitToken(DetailAST expressionNode) {
         final List<DetailAST> questionNodes = getQuestionNodes(expressionNode);
@@ -187,18 +202,13 @@ public class TernaryPerExpressionCountCheck extends AbstractCheck {
      *          List of question nodes
      */
     private List<DetailAST> getQuestionNodes(DetailAST expressionNode) {
-        final List<DetailAST> questionNodes = new LinkedList<>();
+        final List<DetailAST> questionNodes = new ArrayList<>();
 
-        DetailAST currentNode = expressionNode;
-
-        do {
-            currentNode = getNextNode(expressionNode, currentNode);
-            if (currentNode != null
-                    && currentNode.getType() == TokenTypes.QUESTION
-                    && !isSkipTernaryOperator(currentNode)) {
-                questionNodes.add(currentNode);
+        for (DetailAST questionNode : tokenIndex.findAll(expressionNode, TokenTypes.QUESTION)) {
+            if (!isSkipTernaryOperator(questionNode)) {
+                questionNodes.add(questionNode);
             }
-        } while (currentNode != null);
+        }
 
         return questionNodes;
     }
@@ -265,28 +275,4 @@ public class TernaryPerExpressionCountCheck extends AbstractCheck {
         return questionsPerLine == 1;
     }
 
-    /**
-     * Gets the next node of a syntactical tree (child of a current node or
-     * sibling of a current node, or sibling of a parent of a current node).
-     *
-     * @param expressionNode
-     *            Globally considering expression node
-     * @param node
-     *            Current node of syntactical tree
-     * @return Next node after bypassing
-     */
-    private static DetailAST getNextNode(DetailAST expressionNode,
-            DetailAST node) {
-        DetailAST currentNode = node;
-        DetailAST toVisit = currentNode.getFirstChild();
-        while (toVisit == null && currentNode != expressionNode) {
-            toVisit = currentNode.getNextSibling();
-            if (toVisit == null) {
-                currentNode = currentNode.getParent();
-            }
-        }
-
-        return toVisit;
-    }
-
 }
@@ -23,6 +23,7 @@ import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 
+import com.github.sevntu.checkstyle.TokenTypeIndex;
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
@@ -92,6 +93,11 @@ public class ChildBlockLengthCheck extends AbstractCheck {
      */
     private int ignoreBlockLinesCount = DEFAULT_IGNORE_BLOCK_LINESCOUNT;
 
+    /**
+     * Index of the nodes of the current file by token type.
+     */
+    private TokenTypeIndex tokenIndex;
+
     /**
      * Sets allowed types of blocks to be checked. Supported block types:
      * LITERAL_IF, LITERAL_SWITCH, LITERAL_FOR, LITERAL_DO, LITERAL_WHILE,
@@ -153,6 +159,17 @@ public class ChildBlockLengthCheck extends AbstractCheck {
         return getDefaultTokens();
     }
 
+    @Override
+    public void beginTree(DetailAST rootAST) {
+        tokenIndex = TokenTypeIndex.of(rootAST);
+    }
+
+    @Override
+    public void finishTree(DetailAST rootAST) {
+        // the index of the file is not needed anymore and can be collected
+        tokenIndex = null;
+    }
+
     @Override
     public void visitToken(DetailAST ast) {
         final DetailAST aOpeningBrace = openingBrace(ast);
@@ -190,8 +207,8 @@ public class ChildBlockLengthCheck extends AbstractCheck {
     }
 
     /**
-     * Gets all the child blocks for given parent block. Uses an iterative
-     * algorithm.
+     * Gets all the child blocks for given parent block. Uses the index of the
+     * file nodes by token type.
      *
      * @param blockOpeningBrace
      *        a DetailAST node that points to the current method`s opening
@@ -204,30 +221,25 @@ public class ChildBlockLengthCheck extends AbstractCheck {
             DetailAST blockClosingBrace) {
         final List<DetailAST> childBlocks = new LinkedList<>();
 
-        DetailAST curNode = blockOpeningBrace;
+        final int[] searchTypes = Arrays.copyOf(blockTypes, blockTypes.length + 2);
+        searchTypes[blockTypes.length] = TokenTypes.METHOD_DEF;
+        searchTypes[blockTypes.length + 1] = TokenTypes.CLASS_DEF;
 
-        while (curNode != blockClosingBrace) {
-            if (isAllowedBlockType(curNode.getType())) {
-                childBlocks.add(curNode);
-            }
-            // before node leaving
-            DetailAST nextNode = curNode.getFirstChild();
-
-            final int type = curNode.getType();
-            // skip anonymous classes and nested methods
-            if (type == TokenTypes.METHOD_DEF
-                    || type == TokenTypes.CLASS_DEF) {
-                nextNode = curNode.getNextSibling();
-            }
+        DetailAST skippedNode = null;
+        for (DetailAST curNode : tokenIndex.findAllBetween(blockOpeningBrace,
+                blockClosingBrace, searchTypes)) {
+            if (skippedNode == null || !tokenIndex.isInSubtree(skippedNode, curNode)) {
+                if (isAllowedBlockType(curNode.getType())) {
+                    childBlocks.add(curNode);
+                }
 
-            while (nextNode == null) {
-                // leave the visited node
-                nextNode = curNode.getNextSibling();
-                if (nextNode == null) {
-                    curNode = curNode.getParent();
+                final int type = curNode.getType();
+                // skip anonymous classes and nested methods
+                if (type == TokenTypes.METHOD_DEF
+                        || type == TokenTypes.CLASS_DEF) {
+                    skippedNode = curNode;
                 }
             }
-            curNode = nextNode;
         }
         return childBlocks;
     }
@@ -20,8 +20,10 @@
 package com.github.sevntu.checkstyle.checks.design;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import com.github.sevntu.checkstyle.SevntuUtil;
@@ -81,9 +83,10 @@ public class PublicReferenceToPrivateTypeCheck extends AbstractCheck {
     public static final String MSG_KEY = "public.reference.to.private.type";
 
     /**
-     * List containing names of private types (classes, interfaces or enums).
+     * Map containing definitions of private types (classes, interfaces or enums)
+     * by their names.
      */
-    private final Set<DetailAST> privateTypes = new HashSet<>();
+    private final Map<String, List<DetailAST>> privateTypes = new HashMap<>();
 
     /**
      * List containing the names of types returned by public methods or fields.
@@ -147,17 +150,32 @@ public class PublicReferenceToPrivateTypeCheck extends AbstractCheck {
 
     @Override
     public void finishTree(DetailAST rootAst) {
-        for (DetailAST privateType : privateTypes) {
-            for (DetailAST outReturnedType : externallyReferencedTypes) {
-                if (privateType.getText().equals(
-                        outReturnedType.getText())
-                        && !isExtendsOrImplementsSmth(privateType
-                                .getParent())) {
-                    log(outReturnedType, MSG_KEY,
-                            outReturnedType.getText());
+        final Set<String> notInheritingPrivateTypes = getNotInheritingPrivateTypes();
+        for (DetailAST outReturnedType : externallyReferencedTypes) {
+            if (notInheritingPrivateTypes.contains(outReturnedType.getText())) {
+                log(outReturnedType, MSG_KEY,
+                        outReturnedType.getText());
+            }
+        }
+    }
+
+    /**
+     * Gets the names of private types, which have a definition that does not extend or
+     * implement any non-private type. Each definition is examined once.
+     *
+     * @return the names of private types, references to which are reported.
+     */
+    private Set<String> getNotInheritingPrivateTypes() {
+        final Set<String> result = new HashSet<>();
+        for (Map.Entry<String, List<DetailAST>> entry : privateTypes.entrySet()) {
+            for (DetailAST privateTypeDefAst : entry.getValue()) {
+                if (!isExtendsOrImplementsSmth(privateTypeDefAst)) {
+                    result.add(entry.getKey());
+                    break;
                 }
             }
         }
+        return result;
     }
 
     /**
@@ -167,9 +185,10 @@ public class PublicReferenceToPrivateTypeCheck extends AbstractCheck {
      *        AST subtree that represent inner private type definition.
      */
     private void addPrivateTypes(DetailAST classOrInterfaceOrEnumDefAst) {
-        final DetailAST definitionAst = classOrInterfaceOrEnumDefAst
-                .findFirstToken(TokenTypes.IDENT);
-        privateTypes.add(definitionAst);
+        final String name = classOrInterfaceOrEnumDefAst
+                .findFirstToken(TokenTypes.IDENT).getText();
+        privateTypes.computeIfAbsent(name, key -> new ArrayList<>())
+                .add(classOrInterfaceOrEnumDefAst);
     }
 
     /**
@@ -304,11 +323,7 @@ public class PublicReferenceToPrivateTypeCheck extends AbstractCheck {
             currentNode = SevntuUtil.getNextSubTreeNode(currentNode, classOrInterfaceDefAst);
         }
 
-        final Set<String> existingPrivateTypes = new HashSet<>();
-        for (DetailAST privateType : privateTypes) {
-            existingPrivateTypes.add(privateType.getText());
-        }
-        if (existingPrivateTypes.containsAll(inheritedTypesNamesSet)) {
+        if (privateTypes.keySet().containsAll(inheritedTypesNamesSet)) {
             result = true;
         }
 
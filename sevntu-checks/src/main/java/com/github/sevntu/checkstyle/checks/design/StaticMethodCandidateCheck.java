@@ -22,8 +22,9 @@ package com.github.sevntu.checkstyle.checks.design;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -62,6 +63,9 @@ import com.puppycrawl.tools.checkstyle.utils.TokenUtil;
  * </li>
  * </ul>
  *
+ * <p>Private methods of a class are checked as soon as the class is closed, so only
+ * the classes which enclose the currently processed code are kept in memory.
+ *
  * @author Vladislav Lisetskiy
  * @since 1.17.0
  */
@@ -114,6 +118,12 @@ public class StaticMethodCandidateCheck extends AbstractCheck {
     /** Stack of sets of field names, one for each class of a set of nested classes. */
     private Frame currentFrame;
 
+    /**
+     * Frames of classes and enums which are declared by their enclosing frame,
+     * but are not visited yet.
+     */
+    private final Map<DetailAST, Frame> declaredTypeFrames = new IdentityHashMap<>();
+
     /**
      * Sets custom skipped methods.
      *
@@ -170,6 +180,16 @@ public class StaticMethodCandidateCheck extends AbstractCheck {
     @Override
     public void beginTree(DetailAST rootAST) {
         currentFrame = new Frame(null);
+        declaredTypeFrames.clear();
+        if (rootAST != null) {
+            // top level types are declared up front, so they can be referred to
+            // from the types declared before them
+            DetailAST type = rootAST.getFirstChild();
+            while (type != null) {
+                declareTypeFrame(currentFrame, type);
+                type = type.getNextSibling();
+            }
+        }
 
         Arrays.sort(FRAME_TOKENS);
     }
@@ -179,7 +199,9 @@ public class StaticMethodCandidateCheck extends AbstractCheck {
         switch (ast.getType()) {
             case TokenTypes.VARIABLE_DEF:
             case TokenTypes.PARAMETER_DEF:
-                currentFrame.addField(ast);
+                if (!isTypeMember(ast)) {
+                    currentFrame.addField(ast);
+                }
                 break;
             case TokenTypes.EXPR:
                 currentFrame.addExpr(ast);
@@ -202,7 +224,9 @@ public class StaticMethodCandidateCheck extends AbstractCheck {
             case TokenTypes.METHOD_DEF:
                 Frame frame = createMethodFrame(currentFrame, ast);
 
-                currentFrame.addMethod(ast);
+                if (!isTypeMember(ast)) {
+                    currentFrame.addMethod(ast);
+                }
                 currentFrame.addChild(frame);
                 currentFrame = frame;
                 break;
@@ -221,10 +245,19 @@ public class StaticMethodCandidateCheck extends AbstractCheck {
                 // ENUM_CONSTANT_DEF can't have static methods
                 frame.isShouldBeChecked = false;
 
-                currentFrame.addEnumConst(ast);
                 currentFrame.addChild(frame);
                 currentFrame = frame;
                 break;
+            case TokenTypes.CLASS_DEF:
+            case TokenTypes.ENUM_DEF:
+                frame = declaredTypeFrames.remove(ast);
+                if (frame == null) {
+                    frame = createFrame(currentFrame, ast);
+                    currentFrame.addChild(frame);
+                }
+                declareMembers(frame, ast);
+                currentFrame = frame;
+                break;
             default:
                 frame = createFrame(currentFrame, ast);
 
@@ -238,15 +271,91 @@ public class StaticMethodCandidateCheck extends AbstractCheck {
     public void leaveToken(DetailAST ast) {
         if (isFrame(ast)
                 || isAnonymousClass(ast)) {
-            currentFrame = currentFrame.parent;
+            final Frame frame = currentFrame;
+            currentFrame = frame.parent;
+            if (frame.isClassOrEnum || !frame.isShouldBeChecked) {
+                if (frame.isClassOrEnum && isReachable(frame)) {
+                    // result of checkFrame() is only used while checking methods
+                    // and not needed for classes
+                    checkFrame(frame);
+                }
+                // nothing else refers to the content of closed classes and frames
+                // which are not checked
+                frame.release();
+            }
         }
     }
 
-    @Override
-    public void finishTree(DetailAST ast) {
-        // result of checkFrame() is only used while checking methods and not needed here
-        // as we start from the root of the Frame tree
-        checkFrame(currentFrame);
+    /**
+     * Create frame of class or enum declared by the parent frame, so the frame
+     * can be found by name before the class or enum is visited.
+     *
+     * @param parentFrame the frame which declares the class or enum.
+     * @param ast the ast which can be CLASS_DEF or ENUM_DEF.
+     */
+    private void declareTypeFrame(Frame parentFrame, DetailAST ast) {
+        if (ast.getType() == TokenTypes.CLASS_DEF
+                || ast.getType() == TokenTypes.ENUM_DEF) {
+            final Frame frame = createFrame(parentFrame, ast);
+            parentFrame.addChild(frame);
+            declaredTypeFrames.put(ast, frame);
+        }
+    }
+
+    /**
+     * Add all fields, methods, enum constants and nested types of the class or enum
+     * to its frame, so they are known before the class or enum is closed.
+     *
+     * @param frame the frame of the class or enum.
+     * @param ast CLASS_DEF or ENUM_DEF ast.
+     */
+    private void declareMembers(Frame frame, DetailAST ast) {
+        DetailAST member = ast.findFirstToken(TokenTypes.OBJBLOCK).getFirstChild();
+        while (member != null) {
+            switch (member.getType()) {
+                case TokenTypes.VARIABLE_DEF:
+                    frame.addField(member);
+                    break;
+                case TokenTypes.METHOD_DEF:
+                    frame.addMethod(member);
+                    break;
+                case TokenTypes.ENUM_CONSTANT_DEF:
+                    frame.addEnumConst(member);
+                    break;
+                default:
+                    declareTypeFrame(frame, member);
+                    break;
+            }
+            member = member.getNextSibling();
+        }
+    }
+
+    /**
+     * Check whether the ast is a member of class or enum, which is added to
+     * the frame of class or enum by {@link #declareMembers(Frame, DetailAST)}.
+     *
+     * @param ast the ast to check.
+     * @return true if the ast is a member of class or enum.
+     */
+    private static boolean isTypeMember(DetailAST ast) {
+        final DetailAST parent = ast.getParent();
+        return parent.getType() == TokenTypes.OBJBLOCK
+                && TokenUtil.isOfType(parent.getParent(),
+                        TokenTypes.CLASS_DEF, TokenTypes.ENUM_DEF);
+    }
+
+    /**
+     * Check whether the frame and all its parents should be checked.
+     *
+     * @param frame the frame to check.
+     * @return true if the frame and all its parents should be checked.
+     */
+    private static boolean isReachable(Frame frame) {
+        Frame currentParent = frame;
+        while (currentParent != null && currentParent.isShouldBeChecked) {
+            currentParent = currentParent.parent;
+        }
+        return currentParent == null;
     }
 
     /**
@@ -331,7 +440,8 @@ public class StaticMethodCandidateCheck extends AbstractCheck {
 
     /**
      * Check whether the frame or its parent, which is a private method,
-     * is a static method candidate.
+     * is a static method candidate. Nested classes and enums are not checked,
+     * they are checked when they are closed.
      *
      * @param parentFrame the frame to check.
      * @return true if the frame or its parent, which is a private method,
@@ -340,22 +450,19 @@ public class StaticMethodCandidateCheck extends AbstractCheck {
     private boolean checkFrame(Frame parentFrame) {
         boolean isStaticCandidate = true;
         for (Frame frame: parentFrame.children) {
-            if (frame.isShouldBeChecked) {
-                isStaticCandidate = checkFrame(frame);
-                if (!frame.isClassOrEnum) {
-                    isStaticCandidate = isStaticCandidate
-                            && !frame.hasLiteralThisOrSuper
-                            && isFrameExpressionsAcceptable(frame)
-                            && isFrameTypesAcceptable(frame);
-                    if (frame.isPrivateMethod) {
-                        if (isStaticCandidate) {
-                            log(frame.ast, MSG_KEY, frame.frameName);
-                        }
-                    }
-                    else if (!isStaticCandidate) {
-                        break;
+            if (frame.isShouldBeChecked && !frame.isClassOrEnum) {
+                isStaticCandidate = checkFrame(frame)
+                        && !frame.hasLiteralThisOrSuper
+                        && isFrameExpressionsAcceptable(frame)
+                        && isFrameTypesAcceptable(frame);
+                if (frame.isPrivateMethod) {
+                    if (isStaticCandidate) {
+                        log(frame.ast, MSG_KEY, frame.frameName);
                     }
                 }
+                else if (!isStaticCandidate) {
+                    break;
+                }
             }
         }
         return isStaticCandidate;
@@ -728,16 +835,16 @@ public class StaticMethodCandidateCheck extends AbstractCheck {
         private final Frame parent;
 
         /** List of frame's children. */
-        private final List<Frame> children = new LinkedList<>();
+        private final List<Frame> children = new ArrayList<>();
 
         /** List of fields. */
-        private final List<DetailAST> fields = new LinkedList<>();
+        private final List<DetailAST> fields = new ArrayList<>();
 
         /** List of methods. */
-        private final List<DetailAST> methods = new LinkedList<>();
+        private final List<DetailAST> methods = new ArrayList<>();
 
         /** List of typeVariables. */
-        private final List<String> typeVariables = new LinkedList<>();
+        private final List<String> typeVariables = new ArrayList<>();
 
         /** List of method calls. */
         private final List<DetailAST> expressions = new ArrayList<>();
@@ -745,8 +852,8 @@ public class StaticMethodCandidateCheck extends AbstractCheck {
         /** List of types. */
         private final Set<String> types = new HashSet<>();
 
-        /** Set of enumConstants. */
-        private final Set<DetailAST> enumConstants = new HashSet<>();
+        /** List of enumConstants. */
+        private final List<DetailAST> enumConstants = new ArrayList<>();
 
         /** Whether the frame is CLASS_DEF or ENUM_DEF. */
         private boolean isClassOrEnum;
@@ -777,6 +884,20 @@ public class StaticMethodCandidateCheck extends AbstractCheck {
             this.parent = parent;
         }
 
+        /**
+         * Release the content of this frame. Only the name of the frame and
+         * whether it should be checked remain.
+         */
+        private void release() {
+            children.clear();
+            fields.clear();
+            methods.clear();
+            typeVariables.clear();
+            expressions.clear();
+            types.clear();
+            enumConstants.clear();
+        }
+
         /**
          * Add method call to this Frame.
          *
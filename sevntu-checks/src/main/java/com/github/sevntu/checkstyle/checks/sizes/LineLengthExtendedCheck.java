@@ -20,6 +20,7 @@
 package com.github.sevntu.checkstyle.checks.sizes;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -102,8 +103,8 @@ public class LineLengthExtendedCheck extends AbstractCheck {
     /** The regexp when long lines are ignored. */
     private Pattern ignorePattern;
 
-    /** Array of strings in source file. */
-    private String[] lines;
+    /** Indexes of lines, which are ignored by the declarations. */
+    private final BitSet ignoredLines = new BitSet();
 
     /** Check field declaration length. */
     private boolean ignoreField;
@@ -212,33 +213,26 @@ public class LineLengthExtendedCheck extends AbstractCheck {
             final DetailAST endOfIgnoreLine = ast.findFirstToken(TokenTypes.SLIST);
 
             if (endOfIgnoreLine == null) {
-                lines[numberOfLine - 1] = null;
+                ignoredLines.set(numberOfLine - 1);
             }
             else {
-                int endNumberOfLine = endOfIgnoreLine.getLineNo();
-                while (endNumberOfLine >= numberOfLine) {
-                    lines[endNumberOfLine - 1] = null;
-                    endNumberOfLine--;
-                }
+                ignoredLines.set(numberOfLine - 1, endOfIgnoreLine.getLineNo());
             }
         }
     }
 
     @Override
     public void beginTree(DetailAST rootAST) {
-        lines = getLines();
+        ignoredLines.clear();
     }
 
     @Override
     public void finishTree(DetailAST rootAST) {
-        for (int index = 0; index < lines.length; index++) {
-            if (lines[index] == null) {
-                continue;
-            }
-
+        final String[] lines = getLines();
+        for (int index = ignoredLines.nextClearBit(0); index < lines.length;
+                index = ignoredLines.nextClearBit(index + 1)) {
             final String line = lines[index];
-            final int realLength = CommonUtil.lengthExpandedTabs(line,
-                    line.length(), getTabWidth());
+            final int realLength = getRealLength(line);
 
             if (realLength > max && !ignorePattern.matcher(line).find()) {
                 log(index + 1, MSG_KEY, max, realLength);
@@ -246,6 +240,22 @@ public class LineLengthExtendedCheck extends AbstractCheck {
         }
     }
 
+    /**
+     * Gets the length of the line with expanded tabs. Tabs are expanded only
+     * if the line contains them.
+     *
+     * @param line
+     *            the line
+     * @return the length of the line with expanded tabs
+     */
+    private int getRealLength(String line) {
+        int realLength = line.length();
+        if (line.indexOf('\t') >= 0) {
+            realLength = CommonUtil.lengthExpandedTabs(line, realLength, getTabWidth());
+        }
+        return realLength;
+    }
+
     /**
      * Setter for the field max.
      *
@@ -0,0 +1,53 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.sevntu.checkstyle.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event with time spent by a single check on a single file. It is only recorded
+ * when a flight recording with {@code sevntu.CheckFile} event enabled is running.
+ */
+@Name("sevntu.CheckFile")
+@Label("Sevntu Check File")
+@Description("Time spent by a check in all of its callbacks for one file")
+@Category({"Checkstyle", "Sevntu"})
+@StackTrace(false)
+class CheckFileEvent extends jdk.jfr.Event {
+
+    /** Fully qualified name of the check. */
+    @Label("Check")
+    String check;
+
+    /** Name of the processed file. */
+    @Label("File")
+    String file;
+
+    /** Time spent by the check on the file. */
+    @Label("Check Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long checkTime;
+
+}
@@ -0,0 +1,209 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.sevntu.checkstyle.profiling;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import com.puppycrawl.tools.checkstyle.utils.TokenUtil;
+
+/**
+ * Cumulative time and number of calls of each {@link
+ * com.puppycrawl.tools.checkstyle.api.AbstractCheck} callback for a single check.
+ * Token callbacks are accounted per token type.
+ */
+final class CheckProfile {
+
+    /** Size of per token arrays, the biggest token id plus one. */
+    private static final int TOKEN_ARRAY_SIZE =
+            Arrays.stream(TokenUtil.getAllTokenIds()).max().getAsInt() + 1;
+
+    /** Fully qualified name of the check. */
+    private final String checkName;
+
+    /** Number of calls of {@code visitToken} per token type. */
+    private final long[] visitCounts = new long[TOKEN_ARRAY_SIZE];
+
+    /** Nanoseconds spent in {@code visitToken} per token type. */
+    private final long[] visitNanos = new long[TOKEN_ARRAY_SIZE];
+
+    /** Number of calls of {@code leaveToken} per token type. */
+    private final long[] leaveCounts = new long[TOKEN_ARRAY_SIZE];
+
+    /** Nanoseconds spent in {@code leaveToken} per token type. */
+    private final long[] leaveNanos = new long[TOKEN_ARRAY_SIZE];
+
+    /** Number of processed files, equal to number of {@code beginTree} calls. */
+    private long files;
+
+    /** Nanoseconds spent in {@code beginTree}. */
+    private long beginTreeNanos;
+
+    /** Nanoseconds spent in {@code finishTree}. */
+    private long finishTreeNanos;
+
+    /** Nanoseconds spent in all callbacks for the file being processed. */
+    private long currentFileNanos;
+
+    /**
+     * Creates empty profile.
+     *
+     * @param checkName fully qualified name of the check
+     */
+    CheckProfile(String checkName) {
+        this.checkName = checkName;
+    }
+
+    /**
+     * Gets name of the profiled check.
+     *
+     * @return fully qualified name of the check
+     */
+    public String getCheckName() {
+        return checkName;
+    }
+
+    /**
+     * Accounts {@code beginTree} call, it starts processing of a new file.
+     *
+     * @param nanos time spent
+     */
+    public void addBeginTree(long nanos) {
+        files++;
+        beginTreeNanos += nanos;
+        currentFileNanos = nanos;
+    }
+
+    /**
+     * Accounts {@code visitToken} call.
+     *
+     * @param tokenType type of the visited token
+     * @param nanos time spent
+     */
+    public void addVisitToken(int tokenType, long nanos) {
+        visitCounts[tokenType]++;
+        visitNanos[tokenType] += nanos;
+        currentFileNanos += nanos;
+    }
+
+    /**
+     * Accounts {@code leaveToken} call.
+     *
+     * @param tokenType type of the left token
+     * @param nanos time spent
+     */
+    public void addLeaveToken(int tokenType, long nanos) {
+        leaveCounts[tokenType]++;
+        leaveNanos[tokenType] += nanos;
+        currentFileNanos += nanos;
+    }
+
+    /**
+     * Accounts {@code finishTree} call, it ends processing of a file.
+     *
+     * @param nanos time spent
+     * @return total time spent by the check on the file
+     */
+    public long addFinishTree(long nanos) {
+        finishTreeNanos += nanos;
+        currentFileNanos += nanos;
+        return currentFileNanos;
+    }
+
+    /**
+     * Gets total time spent in all callbacks.
+     *
+     * @return nanoseconds spent by the check
+     */
+    public long getTotalNanos() {
+        long result = beginTreeNanos + finishTreeNanos;
+        for (int token = 0; token < TOKEN_ARRAY_SIZE; token++) {
+            result += visitNanos[token] + leaveNanos[token];
+        }
+        return result;
+    }
+
+    /**
+     * Appends the profile as a JSON object.
+     *
+     * @param json builder to append to
+     */
+    public void appendJson(StringBuilder json) {
+        json.append("  {\"check\": \"").append(checkName)
+            .append("\", \"files\": ").append(files)
+            .append(", \"totalNanos\": ").append(getTotalNanos())
+            .append(", \"beginTreeNanos\": ").append(beginTreeNanos)
+            .append(", \"finishTreeNanos\": ").append(finishTreeNanos)
+            .append(", \"tokens\": [");
+        boolean first = true;
+        for (int token = 0; token < TOKEN_ARRAY_SIZE; token++) {
+            // a token is left only after it was visited
+            if (visitCounts[token] > 0) {
+                if (!first) {
+                    json.append(',');
+                }
+                first = false;
+                json.append("\n    {\"token\": \"").append(TokenUtil.getTokenName(token))
+                    .append("\", \"visitCount\": ").append(visitCounts[token])
+                    .append(", \"visitNanos\": ").append(visitNanos[token])
+                    .append(", \"leaveCount\": ").append(leaveCounts[token])
+                    .append(", \"leaveNanos\": ").append(leaveNanos[token])
+                    .append('}');
+            }
+        }
+        json.append("]}");
+    }
+
+    /**
+     * Appends the profile as CSV rows of {@code check,phase,token,count,nanos} format.
+     *
+     * @param csv builder to append to
+     */
+    public void appendCsv(StringBuilder csv) {
+        appendCsvRow(csv, "beginTree", "", files, beginTreeNanos);
+        for (int token = 0; token < TOKEN_ARRAY_SIZE; token++) {
+            if (visitCounts[token] > 0) {
+                appendCsvRow(csv, "visitToken", TokenUtil.getTokenName(token),
+                        visitCounts[token], visitNanos[token]);
+            }
+            if (leaveCounts[token] > 0) {
+                appendCsvRow(csv, "leaveToken", TokenUtil.getTokenName(token),
+                        leaveCounts[token], leaveNanos[token]);
+            }
+        }
+        appendCsvRow(csv, "finishTree", "", files, finishTreeNanos);
+    }
+
+    /**
+     * Appends a single CSV row.
+     *
+     * @param csv builder to append to
+     * @param phase name of the callback
+     * @param token name of the token, empty for tree callbacks
+     * @param count number of calls
+     * @param nanos time spent
+     */
+    private void appendCsvRow(StringBuilder csv, String phase, String token, long count,
+            long nanos) {
+        csv.append(String.format(Locale.ROOT, "%s,%s,%s,%d,%d%n",
+                checkName, phase, token, count, nanos));
+    }
+
+}
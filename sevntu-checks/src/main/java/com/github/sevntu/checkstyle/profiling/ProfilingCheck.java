@@ -0,0 +1,334 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.sevntu.checkstyle.profiling;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import com.puppycrawl.tools.checkstyle.DefaultContext;
+import com.puppycrawl.tools.checkstyle.PackageNamesLoader;
+import com.puppycrawl.tools.checkstyle.PackageObjectFactory;
+import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.Violation;
+import com.puppycrawl.tools.checkstyle.utils.TokenUtil;
+
+/**
+ * <p>
+ * Decorator which runs the checks configured as its children and measures cumulative time
+ * spent in their {@code beginTree}, {@code visitToken}, {@code leaveToken} and
+ * {@code finishTree} callbacks, per token type. Violations of the wrapped checks are
+ * reported unchanged, so wrapping a check does not affect results of the audit.
+ * </p>
+ * <p>
+ * At the end of the audit the profile of each wrapped check is written to
+ * {@code reportFile}, in JSON or CSV format depending on {@code reportFormat}. In addition,
+ * a {@code sevntu.CheckFile} JFR event is emitted per check and file when a flight
+ * recording is running.
+ * </p>
+ * <p>
+ * Checks which require comment nodes and checks which do not can not be wrapped by the same
+ * instance, as TreeWalker feeds them with different trees.
+ * </p>
+ * <pre>
+ * &lt;module name="com.github.sevntu.checkstyle.profiling.ProfilingCheck"&gt;
+ *   &lt;property name="reportFile" value="target/sevntu-profile.json"/&gt;
+ *   &lt;module name="StaticMethodCandidateCheck"/&gt;
+ *   &lt;module name="CustomDeclarationOrderCheck"/&gt;
+ * &lt;/module&gt;
+ * </pre>
+ */
+public class ProfilingCheck extends AbstractCheck {
+
+    /** JSON report format. */
+    private static final String FORMAT_JSON = "json";
+
+    /** CSV report format. */
+    private static final String FORMAT_CSV = "csv";
+
+    /** Wrapped checks. */
+    private final List<AbstractCheck> checks = new ArrayList<>();
+
+    /** Token types each of the wrapped checks is subscribed to. */
+    private final List<BitSet> checkTokens = new ArrayList<>();
+
+    /** Profiles of the wrapped checks. */
+    private final List<CheckProfile> profiles = new ArrayList<>();
+
+    /** Token types any of the wrapped checks is subscribed to. */
+    private final BitSet allTokens = new BitSet();
+
+    /** Factory used to create wrapped checks. */
+    private PackageObjectFactory moduleFactory;
+
+    /** Whether the wrapped checks require comment nodes. */
+    private boolean commentNodesRequired;
+
+    /** File to write the report to, no report is written if it is not set. */
+    private String reportFile;
+
+    /** Format of the report, 'json' or 'csv'. */
+    private String reportFormat = FORMAT_JSON;
+
+    /**
+     * Sets file to write the report to.
+     *
+     * @param reportFile path of the report
+     */
+    public void setReportFile(String reportFile) {
+        this.reportFile = reportFile;
+    }
+
+    /**
+     * Sets format of the report.
+     *
+     * @param reportFormat 'json' or 'csv'
+     */
+    public void setReportFormat(String reportFormat) {
+        final String format = reportFormat.toLowerCase(Locale.ROOT);
+        if (!FORMAT_JSON.equals(format) && !FORMAT_CSV.equals(format)) {
+            throw new IllegalArgumentException("Unsupported report format: " + reportFormat);
+        }
+        this.reportFormat = format;
+    }
+
+    @Override
+    public int[] getDefaultTokens() {
+        return allTokens.stream().toArray();
+    }
+
+    @Override
+    public int[] getAcceptableTokens() {
+        return getDefaultTokens();
+    }
+
+    @Override
+    public int[] getRequiredTokens() {
+        return getDefaultTokens();
+    }
+
+    @Override
+    public boolean isCommentNodesRequired() {
+        return commentNodesRequired;
+    }
+
+    @Override
+    protected void setupChild(Configuration childConf) throws CheckstyleException {
+        final Object module = getModuleFactory().createModule(childConf.getName());
+        if (!(module instanceof AbstractCheck)) {
+            throw new CheckstyleException(childConf.getName()
+                    + " is not allowed as a child in " + getClass().getSimpleName());
+        }
+        final AbstractCheck check = (AbstractCheck) module;
+
+        // same context TreeWalker gives to its checks
+        final DefaultContext context = new DefaultContext();
+        context.add("severity", getSeverityLevel().getName());
+        context.add("tabWidth", String.valueOf(getTabWidth()));
+        check.contextualize(context);
+        check.configure(childConf);
+        check.init();
+
+        if (checks.isEmpty()) {
+            commentNodesRequired = check.isCommentNodesRequired();
+        }
+        else if (commentNodesRequired != check.isCommentNodesRequired()) {
+            throw new CheckstyleException(childConf.getName() + " can not be wrapped together"
+                    + " with checks which differ in requirement of comment nodes");
+        }
+
+        final BitSet tokens = getTokens(check);
+        checks.add(check);
+        checkTokens.add(tokens);
+        profiles.add(new CheckProfile(check.getClass().getName()));
+        allTokens.or(tokens);
+    }
+
+    @Override
+    public void beginTree(DetailAST rootAST) {
+        for (int index = 0; index < checks.size(); index++) {
+            final AbstractCheck check = checks.get(index);
+            check.clearViolations();
+            check.setFileContents(getFileContents());
+
+            final long start = System.nanoTime();
+            check.beginTree(rootAST);
+            profiles.get(index).addBeginTree(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void visitToken(DetailAST ast) {
+        final int type = ast.getType();
+        for (int index = 0; index < checks.size(); index++) {
+            if (checkTokens.get(index).get(type)) {
+                final long start = System.nanoTime();
+                checks.get(index).visitToken(ast);
+                profiles.get(index).addVisitToken(type, System.nanoTime() - start);
+            }
+        }
+    }
+
+    @Override
+    public void leaveToken(DetailAST ast) {
+        final int type = ast.getType();
+        for (int index = 0; index < checks.size(); index++) {
+            if (checkTokens.get(index).get(type)) {
+                final long start = System.nanoTime();
+                checks.get(index).leaveToken(ast);
+                profiles.get(index).addLeaveToken(type, System.nanoTime() - start);
+            }
+        }
+    }
+
+    @Override
+    public void finishTree(DetailAST rootAST) {
+        for (int index = 0; index < checks.size(); index++) {
+            final CheckProfile profile = profiles.get(index);
+            final CheckFileEvent event = new CheckFileEvent();
+
+            final long start = System.nanoTime();
+            checks.get(index).finishTree(rootAST);
+            final long fileNanos = profile.addFinishTree(System.nanoTime() - start);
+
+            if (event.shouldCommit()) {
+                event.check = profile.getCheckName();
+                event.file = getFileContents().getFileName();
+                event.checkTime = fileNanos;
+                event.commit();
+            }
+        }
+    }
+
+    @Override
+    public SortedSet<Violation> getViolations() {
+        final SortedSet<Violation> result = new TreeSet<>(super.getViolations());
+        for (AbstractCheck check : checks) {
+            result.addAll(check.getViolations());
+        }
+        return result;
+    }
+
+    @Override
+    public void destroy() {
+        for (AbstractCheck check : checks) {
+            check.destroy();
+        }
+        if (reportFile != null) {
+            writeReport();
+        }
+        super.destroy();
+    }
+
+    /**
+     * Gets the report, profiles of the wrapped checks sorted from the slowest one.
+     *
+     * @return report in the configured format
+     */
+    String getReport() {
+        final List<CheckProfile> sorted = new ArrayList<>(profiles);
+        sorted.sort((first, second) -> Long.compare(second.getTotalNanos(),
+                first.getTotalNanos()));
+
+        final StringBuilder report = new StringBuilder(1024);
+        if (FORMAT_CSV.equals(reportFormat)) {
+            report.append(String.format(Locale.ROOT, "check,phase,token,count,nanos%n"));
+            for (CheckProfile profile : sorted) {
+                profile.appendCsv(report);
+            }
+        }
+        else {
+            report.append('[');
+            for (int index = 0; index < sorted.size(); index++) {
+                if (index > 0) {
+                    report.append(',');
+                }
+                report.append('\n');
+                sorted.get(index).appendJson(report);
+            }
+            report.append("\n]\n");
+        }
+        return report.toString();
+    }
+
+    /**
+     * Writes the report to the configured file.
+     */
+    private void writeReport() {
+        try {
+            Files.write(Paths.get(reportFile), getReport().getBytes(StandardCharsets.UTF_8));
+        }
+        catch (IOException exc) {
+            throw new IllegalStateException("Unable to write profile to " + reportFile, exc);
+        }
+    }
+
+    /**
+     * Gets token types the check is subscribed to, the same way TreeWalker does it.
+     *
+     * @param check the check
+     * @return token types
+     */
+    private static BitSet getTokens(AbstractCheck check) {
+        final BitSet result = new BitSet();
+        final Set<String> tokenNames = check.getTokenNames();
+        if (tokenNames.isEmpty()) {
+            for (int token : check.getDefaultTokens()) {
+                result.set(token);
+            }
+        }
+        else {
+            for (String tokenName : tokenNames) {
+                result.set(TokenUtil.getTokenId(tokenName));
+            }
+            for (int token : check.getRequiredTokens()) {
+                result.set(token);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets factory which creates the wrapped checks by their short or full names.
+     *
+     * @return module factory
+     * @throws CheckstyleException if checkstyle packages can not be loaded
+     */
+    private PackageObjectFactory getModuleFactory() throws CheckstyleException {
+        if (moduleFactory == null) {
+            final ClassLoader loader = getClass().getClassLoader();
+            moduleFactory = new PackageObjectFactory(
+                    PackageNamesLoader.getPackageNames(loader), loader);
+        }
+        return moduleFactory;
+    }
+
+}
@@ -0,0 +1,86 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.sevntu.checkstyle;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.puppycrawl.tools.checkstyle.JavaParser;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+
+public class FileImportsTest {
+
+    @Test
+    public void testImports() throws Exception {
+        final DetailAST root = parse("InputFileImports.java");
+        final FileImports fileImports = FileImports.of(root);
+
+        Assertions.assertSame(fileImports, FileImports.of(root), "imports should be cached");
+        Assertions.assertEquals("com.github.sevntu.checkstyle", fileImports.getPackageName());
+        Assertions.assertEquals(Collections.singletonMap("List", "java.util.List"),
+                fileImports.getSingleTypeImports());
+        Assertions.assertEquals(Collections.singletonList("java.util"),
+                fileImports.getOnDemandImports());
+        Assertions.assertEquals(
+                Arrays.asList("java.util.Collections.emptyList", "java.lang.Math.*"),
+                fileImports.getStaticImports());
+
+        final DetailAST onDemandImport = root.findFirstToken(TokenTypes.IMPORT).getNextSibling();
+        Assertions.assertEquals("java.util.*", fileImports.getImportName(onDemandImport));
+        final DetailAST staticImport = root.findFirstToken(TokenTypes.STATIC_IMPORT);
+        Assertions.assertEquals("java.util.Collections.emptyList",
+                fileImports.getImportName(staticImport));
+        Assertions.assertNull(fileImports.getImportName(root));
+    }
+
+    @Test
+    public void testDefaultPackage() throws Exception {
+        final DetailAST root = parse("InputFileImportsDefaultPackage.java");
+        final FileImports fileImports = FileImports.of(root);
+
+        Assertions.assertNull(fileImports.getPackageName());
+        Assertions.assertEquals(Collections.singletonMap("Map", "java.util.Map"),
+                fileImports.getSingleTypeImports());
+        Assertions.assertTrue(fileImports.getOnDemandImports().isEmpty());
+        Assertions.assertTrue(fileImports.getStaticImports().isEmpty());
+    }
+
+    @Test
+    public void testEmptyFile() {
+        final FileImports fileImports = FileImports.of(null);
+
+        Assertions.assertNull(fileImports.getPackageName());
+        Assertions.assertTrue(fileImports.getSingleTypeImports().isEmpty());
+        Assertions.assertTrue(fileImports.getOnDemandImports().isEmpty());
+        Assertions.assertTrue(fileImports.getStaticImports().isEmpty());
+    }
+
+    private static DetailAST parse(String fileName) throws Exception {
+        return JavaParser.parseFile(
+                new File("src/test/resources/com/github/sevntu/checkstyle/" + fileName),
+                JavaParser.Options.WITHOUT_COMMENTS);
+    }
+
+}
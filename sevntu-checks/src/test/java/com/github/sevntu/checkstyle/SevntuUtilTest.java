@@ -22,9 +22,16 @@ package com.github.sevntu.checkstyle;
 import static com.puppycrawl.tools.checkstyle.internal.utils.TestUtil.isUtilsClassHasPrivateConstructor;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import com.puppycrawl.tools.checkstyle.JavaParser;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
 
 public class SevntuUtilTest {
@@ -46,4 +53,59 @@ public class SevntuUtilTest {
         }
     }
 
+    @Test
+    public void testCreateInvalidTokenException() {
+        final IllegalArgumentException exc =
+                SevntuUtil.createInvalidTokenException(TokenTypes.METHOD_DEF);
+        Assertions.assertEquals("Found unsupported token: METHOD_DEF", exc.getMessage());
+    }
+
+    @Test
+    public void testGetNextSubTreeNodeSkippingChildren() throws Exception {
+        final DetailAST expr = getReturnExpression();
+        final DetailAST bor = expr.getFirstChild();
+
+        Assertions.assertEquals(bor.getLastChild(),
+                SevntuUtil.getNextSubTreeNodeSkippingChildren(bor.getFirstChild(), expr));
+        Assertions.assertNull(SevntuUtil.getNextSubTreeNodeSkippingChildren(bor, expr));
+        Assertions.assertNull(SevntuUtil.getNextSubTreeNodeSkippingChildren(expr, expr));
+    }
+
+    @Test
+    public void testFindFirstSubTreeNode() throws Exception {
+        final DetailAST expr = getReturnExpression();
+
+        Assertions.assertEquals(TokenTypes.LITERAL_TRUE, SevntuUtil.findFirstSubTreeNode(expr,
+            node -> false, node -> node.getType() == TokenTypes.LITERAL_TRUE).getType());
+        Assertions.assertNull(SevntuUtil.findFirstSubTreeNode(expr,
+            node -> node.getType() == TokenTypes.METHOD_CALL,
+            node -> node.getType() == TokenTypes.LITERAL_TRUE));
+        Assertions.assertNull(SevntuUtil.findFirstSubTreeNode(expr,
+            node -> false, node -> node.getType() == TokenTypes.LITERAL_FALSE));
+    }
+
+    @Test
+    public void testForEachSubTreeNode() throws Exception {
+        final DetailAST expr = getReturnExpression();
+        final List<String> idents = new ArrayList<>();
+
+        SevntuUtil.forEachSubTreeNode(expr, node -> false, node -> idents.add(node.getText()));
+        Assertions.assertEquals(Arrays.asList("|", "flag", "(", ".", "Boolean", "valueOf",
+                "ELIST", "EXPR", "true", ")"), idents);
+
+        idents.clear();
+        SevntuUtil.forEachSubTreeNode(expr, node -> node.getType() == TokenTypes.METHOD_CALL,
+            node -> idents.add(node.getText()));
+        Assertions.assertEquals(Arrays.asList("|", "flag", "("), idents);
+    }
+
+    private static DetailAST getReturnExpression() throws Exception {
+        final DetailAST root = JavaParser.parseFile(
+                new File("src/test/resources/com/github/sevntu/checkstyle/InputSevntuUtil.java"),
+                JavaParser.Options.WITHOUT_COMMENTS);
+        return root.findFirstToken(TokenTypes.CLASS_DEF).findFirstToken(TokenTypes.OBJBLOCK)
+                .findFirstToken(TokenTypes.METHOD_DEF).findFirstToken(TokenTypes.SLIST)
+                .findFirstToken(TokenTypes.LITERAL_RETURN).findFirstToken(TokenTypes.EXPR);
+    }
+
 }
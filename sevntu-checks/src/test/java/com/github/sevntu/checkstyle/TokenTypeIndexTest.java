@@ -0,0 +1,158 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.sevntu.checkstyle;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.puppycrawl.tools.checkstyle.JavaParser;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+
+public class TokenTypeIndexTest {
+
+    @Test
+    public void testCache() throws Exception {
+        final DetailAST root = parse();
+        final TokenTypeIndex index = TokenTypeIndex.of(root);
+
+        Assertions.assertSame(index, TokenTypeIndex.of(root), "index should be cached");
+        Assertions.assertNotSame(index, TokenTypeIndex.of(parse()),
+                "index should be created for another file");
+    }
+
+    @Test
+    public void testFindAll() throws Exception {
+        final DetailAST root = parse();
+        final TokenTypeIndex index = TokenTypeIndex.of(root);
+        final List<DetailAST> methodDefs = index.findAll(root, TokenTypes.METHOD_DEF);
+
+        Assertions.assertEquals(3, methodDefs.size());
+        Assertions.assertEquals("method", getName(methodDefs.get(0)));
+        Assertions.assertEquals("call", getName(methodDefs.get(1)));
+        Assertions.assertEquals("flag", getName(methodDefs.get(2)));
+
+        final List<DetailAST> methodCalls =
+                index.findAll(methodDefs.get(0), TokenTypes.METHOD_CALL);
+
+        Assertions.assertEquals(3, methodCalls.size());
+        Assertions.assertEquals(methodCalls.get(1), methodCalls.get(0).findFirstToken(
+                TokenTypes.ELIST).getFirstChild().getFirstChild());
+        Assertions.assertEquals("flag", methodCalls.get(2).getFirstChild().getText());
+        Assertions.assertTrue(index.findAll(methodDefs.get(1), TokenTypes.METHOD_CALL).isEmpty());
+        Assertions.assertEquals(1, index.findAll(root, TokenTypes.QUESTION).size());
+        Assertions.assertTrue(index.findAll(root, Integer.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    public void testFindAllOfSeveralTypes() throws Exception {
+        final DetailAST root = parse();
+        final TokenTypeIndex index = TokenTypeIndex.of(root);
+        final List<DetailAST> nodes = index.findAll(root,
+                TokenTypes.METHOD_DEF, TokenTypes.METHOD_CALL, TokenTypes.METHOD_DEF);
+        final int[] expectedTypes = {
+            TokenTypes.METHOD_DEF,
+            TokenTypes.METHOD_CALL,
+            TokenTypes.METHOD_CALL,
+            TokenTypes.METHOD_CALL,
+            TokenTypes.METHOD_DEF,
+            TokenTypes.METHOD_DEF,
+        };
+
+        Assertions.assertEquals(expectedTypes.length, nodes.size());
+        for (int position = 0; position < expectedTypes.length; position++) {
+            Assertions.assertEquals(expectedTypes[position], nodes.get(position).getType());
+        }
+    }
+
+    @Test
+    public void testFindAllBetween() throws Exception {
+        final DetailAST root = parse();
+        final TokenTypeIndex index = TokenTypeIndex.of(root);
+        final List<DetailAST> methodDefs = index.findAll(root, TokenTypes.METHOD_DEF);
+
+        Assertions.assertEquals(3, index.findAllBetween(methodDefs.get(0), methodDefs.get(1),
+                TokenTypes.METHOD_CALL).size());
+        Assertions.assertEquals(methodDefs.subList(1, 3),
+                index.findAllBetween(methodDefs.get(1), null, TokenTypes.METHOD_DEF));
+        Assertions.assertEquals(methodDefs.subList(0, 1),
+                index.findAllBetween(methodDefs.get(0), methodDefs.get(1),
+                        TokenTypes.METHOD_DEF));
+    }
+
+    @Test
+    public void testIsInSubtree() throws Exception {
+        final DetailAST root = parse();
+        final TokenTypeIndex index = TokenTypeIndex.of(root);
+        final List<DetailAST> methodDefs = index.findAll(root, TokenTypes.METHOD_DEF);
+        final List<DetailAST> methodCalls = index.findAll(root, TokenTypes.METHOD_CALL);
+
+        Assertions.assertTrue(index.isInSubtree(root, root));
+        Assertions.assertTrue(index.isInSubtree(methodDefs.get(0), methodCalls.get(2)));
+        Assertions.assertTrue(index.isInSubtree(methodCalls.get(0), methodCalls.get(1)));
+        Assertions.assertFalse(index.isInSubtree(methodCalls.get(0), methodCalls.get(2)));
+        Assertions.assertFalse(index.isInSubtree(methodCalls.get(1), methodCalls.get(0)));
+        Assertions.assertFalse(index.isInSubtree(methodDefs.get(1), methodCalls.get(0)));
+    }
+
+    @Test
+    public void testContains() throws Exception {
+        final DetailAST root = parse();
+        final TokenTypeIndex index = TokenTypeIndex.of(root);
+        final List<DetailAST> methodDefs = index.findAll(root, TokenTypes.METHOD_DEF);
+
+        Assertions.assertTrue(index.contains(root, TokenTypes.METHOD_CALL));
+        Assertions.assertTrue(index.contains(methodDefs.get(0), TokenTypes.METHOD_DEF));
+        Assertions.assertTrue(index.contains(methodDefs.get(0), TokenTypes.QUESTION));
+        Assertions.assertTrue(index.contains(methodDefs.get(2), TokenTypes.LITERAL_TRUE));
+        Assertions.assertFalse(index.contains(methodDefs.get(1), TokenTypes.METHOD_CALL));
+        Assertions.assertFalse(index.contains(
+                methodDefs.get(0).findFirstToken(TokenTypes.IDENT), TokenTypes.METHOD_DEF));
+        Assertions.assertFalse(index.contains(root, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testNodeOfAnotherFile() throws Exception {
+        final DetailAST root = parse();
+        final TokenTypeIndex index = TokenTypeIndex.of(root);
+        final DetailAST otherRoot = parse();
+
+        final IllegalArgumentException exc = Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> index.contains(otherRoot, TokenTypes.METHOD_DEF));
+        Assertions.assertTrue(exc.getMessage().startsWith("Node is not in the file: "),
+                "Invalid exception message");
+    }
+
+    private static String getName(DetailAST methodDef) {
+        return methodDef.findFirstToken(TokenTypes.IDENT).getText();
+    }
+
+    private static DetailAST parse() throws Exception {
+        return JavaParser.parseFile(
+                new File("src/test/resources/com/github/sevntu/checkstyle/"
+                        + "InputTokenTypeIndex.java"),
+                JavaParser.Options.WITHOUT_COMMENTS);
+    }
+
+}
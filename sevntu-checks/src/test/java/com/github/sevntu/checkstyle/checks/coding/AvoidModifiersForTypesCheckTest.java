@@ -29,6 +29,7 @@ import com.puppycrawl.tools.checkstyle.AbstractModuleTestSupport;
 import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
 import com.puppycrawl.tools.checkstyle.DetailAstImpl;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+import com.puppycrawl.tools.checkstyle.utils.CommonUtil;
 
 public class AvoidModifiersForTypesCheckTest extends AbstractModuleTestSupport {
 
@@ -62,6 +63,25 @@ public class AvoidModifiersForTypesCheckTest extends AbstractModuleTestSupport {
         verify(checkConfig, getPath("InputAvoidModifiersForTypesCheck.java"), expected);
     }
 
+    @Test
+    public void testEmptyRegexps() throws Exception {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(AvoidModifiersForTypesCheck.class);
+        checkConfig.addProperty("forbiddenClassesRegexpAnnotation", "");
+        checkConfig.addProperty("forbiddenClassesRegexpFinal", "");
+        checkConfig.addProperty("forbiddenClassesRegexpStatic", "");
+        checkConfig.addProperty("forbiddenClassesRegexpTransient", "");
+        checkConfig.addProperty("forbiddenClassesRegexpVolatile", "");
+        checkConfig.addProperty("forbiddenClassesRegexpPublic", "");
+        checkConfig.addProperty("forbiddenClassesRegexpPackagePrivate", "");
+        checkConfig.addProperty("forbiddenClassesRegexpProtected", "");
+        checkConfig.addProperty("forbiddenClassesRegexpPrivate", "");
+
+        final String[] expected = CommonUtil.EMPTY_STRING_ARRAY;
+
+        verify(checkConfig, getPath("InputAvoidModifiersForTypesCheck.java"), expected);
+    }
+
     @Test
     public void testPackagePrivate() throws Exception {
         final DefaultConfiguration checkConfig =
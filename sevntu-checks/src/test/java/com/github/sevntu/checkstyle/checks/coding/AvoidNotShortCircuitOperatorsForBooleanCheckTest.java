@@ -91,4 +91,18 @@ public class AvoidNotShortCircuitOperatorsForBooleanCheckTest extends AbstractMo
                 expected);
     }
 
+    @Test
+    public final void testScopes() throws Exception {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(AvoidNotShortCircuitOperatorsForBooleanCheck.class);
+        final String[] expected = {
+            "7:35: " + getCheckMessage(MSG_KEY, "|"),
+            "11:32: " + getCheckMessage(MSG_KEY, "|"),
+            "20:39: " + getCheckMessage(MSG_KEY, "|"),
+        };
+        verify(checkConfig,
+                getPath("InputAvoidNotShortCircuitOperatorsForBooleanCheckScopes.java"),
+                expected);
+    }
+
 }
@@ -189,4 +189,49 @@ public class CustomDeclarationOrderCheckTest extends AbstractModuleTestSupport {
         verify(checkConfig, getPath("InputCustomDeclarationOrderCheckMainMethod.java"), expected);
     }
 
+    @Test
+    public void localClasses()
+            throws Exception {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(CustomDeclarationOrderCheck.class);
+        final String[] expected = {
+            "11:13: " + getCheckMessage(MSG_KEY_FIELD, "Field(.*)", "Method(.*)"),
+            "35:9: " + getCheckMessage(MSG_KEY_FIELD, "Field(.*)", "Method(.*)"),
+        };
+        checkConfig.addProperty("customDeclarationOrder",
+                "Field(.*) ### Ctor(.*) ### Method(.*)");
+        verify(checkConfig, getPath("InputCustomDeclarationOrderCheckLocalClasses.java"),
+                expected);
+    }
+
+    @Test
+    public void modifiers()
+            throws Exception {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(CustomDeclarationOrderCheck.class);
+        final String[] expected = {
+            "20:5: " + getCheckMessage(MSG_KEY_FIELD, "Field(private .*)", "Field(.*)"),
+            "22:5: " + getCheckMessage(MSG_KEY_FIELD, "Field(private .*)", "Field(.*)"),
+            "35:5: " + getCheckMessage(MSG_KEY_METHOD, "Method(public .*)", "Method(.*)"),
+        };
+        checkConfig.addProperty("customDeclarationOrder",
+                "Field(private .*) ### Field(.*) ### Method(public .*) ### Method(.*)");
+        verify(checkConfig, getPath("InputCustomDeclarationOrderCheckModifiers.java"),
+                expected);
+    }
+
+    @Test
+    public void laterRule()
+            throws Exception {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(CustomDeclarationOrderCheck.class);
+        final String[] expected = {
+            "14:5: " + getCheckMessage(MSG_KEY_METHOD, "Method(.*)", "GetterSetter(.*)"),
+        };
+        checkConfig.addProperty("customDeclarationOrder",
+                "Field(.*) ### Method(.*) ### GetterSetter(.*)");
+        verify(checkConfig, getPath("InputCustomDeclarationOrderCheckLaterRule.java"),
+                expected);
+    }
+
 }
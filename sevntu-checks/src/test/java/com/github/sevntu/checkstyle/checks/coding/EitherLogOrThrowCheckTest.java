@@ -67,4 +67,58 @@ public class EitherLogOrThrowCheckTest extends AbstractModuleTestSupport {
                 expected);
     }
 
+    @Test
+    public void testImportToken() throws Exception {
+        final DefaultConfiguration checkConfig = createModuleConfig(EitherLogOrThrowCheck.class);
+        checkConfig.addProperty("loggerFullyQualifiedClassName", "org.slf4j.Logger");
+        checkConfig.addProperty("loggingMethodNames", "error, warn");
+        checkConfig.addProperty("tokens", "IMPORT");
+
+        final String[] expected = {
+            "19:28: " + warningMessage,
+            "31:27: " + warningMessage,
+            "43:31: " + warningMessage,
+            "82:28: " + warningMessage,
+            "93:28: " + warningMessage,
+            "102:28: " + warningMessage,
+            "112:22: " + warningMessage,
+            "124:23: " + warningMessage,
+            "154:28: " + warningMessage,
+            "164:28: " + warningMessage,
+            "207:28: " + warningMessage,
+            "231:30: " + warningMessage,
+            "241:30: " + warningMessage,
+            "252:25: " + warningMessage,
+            "262:38: " + warningMessage,
+        };
+        verify(checkConfig, getPath("InputEitherLogOrThrowCheck.java"),
+                expected);
+    }
+
+    @Test
+    public void testLoggerClassWithoutPackage() throws Exception {
+        final DefaultConfiguration checkConfig = createModuleConfig(EitherLogOrThrowCheck.class);
+        checkConfig.addProperty("loggerFullyQualifiedClassName", "Logger");
+        checkConfig.addProperty("loggingMethodNames", "error, warn");
+
+        final String[] expected = {
+            "19:28: " + warningMessage,
+            "31:27: " + warningMessage,
+            "82:28: " + warningMessage,
+            "93:28: " + warningMessage,
+            "102:28: " + warningMessage,
+            "112:22: " + warningMessage,
+            "124:23: " + warningMessage,
+            "154:28: " + warningMessage,
+            "164:28: " + warningMessage,
+            "207:28: " + warningMessage,
+            "231:30: " + warningMessage,
+            "241:30: " + warningMessage,
+            "252:25: " + warningMessage,
+            "262:38: " + warningMessage,
+        };
+        verify(checkConfig, getPath("InputEitherLogOrThrowCheck.java"),
+                expected);
+    }
+
 }
@@ -51,6 +51,32 @@ public class EmptyPublicCtorInClassCheckTest extends AbstractModuleTestSupport {
         verify(checkConfig, getPath("InputEmptyPublicCtorInClassCheck1.java"), expected);
     }
 
+    @Test
+    public void testPackageAndImportTokens()
+            throws Exception {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(EmptyPublicCtorInClassCheck.class);
+        checkConfig.addProperty("tokens", "PACKAGE_DEF, IMPORT");
+        final String[] expected = {
+            "5:5: " + message,
+        };
+
+        verify(checkConfig, getPath("InputEmptyPublicCtorInClassCheck1.java"), expected);
+    }
+
+    @Test
+    public void testWithoutPackage()
+            throws Exception {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(EmptyPublicCtorInClassCheck.class);
+        final String[] expected = {
+            "3:5: " + message,
+        };
+
+        verify(checkConfig, getPath("InputEmptyPublicCtorInClassCheckWithoutPackage.java"),
+                expected);
+    }
+
     @Test
     public void testEmptyPrivateCtor()
             throws Exception {
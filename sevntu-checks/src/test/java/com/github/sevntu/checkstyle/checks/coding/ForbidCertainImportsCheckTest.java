@@ -57,6 +57,27 @@ public class ForbidCertainImportsCheckTest extends AbstractModuleTestSupport {
         verify(checkConfig, getPath("InputForbidCertainImportsCheck.java"), expected);
     }
 
+    @Test
+    public void testPackageToken() throws Exception {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(ForbidCertainImportsCheck.class);
+        checkConfig.addProperty("packageNameRegexp", ".+\\.sevntu\\..+");
+        checkConfig.addProperty("forbiddenImportsRegexp", ".+\\.api\\..+");
+        checkConfig.addProperty("forbiddenImportsExcludesRegexp", "");
+        checkConfig.addProperty("tokens", "PACKAGE_DEF");
+
+        final String[] expected = {
+            "3:1: " + getCheckMessage(MSG_KEY, ".+\\.api\\..+",
+                    "com.puppycrawl.tools.checkstyle.api.AutomaticBean"),
+            "9:1: " + getCheckMessage(MSG_KEY, ".+\\.api\\..+",
+                    "com.puppycrawl.tools.checkstyle.api.AutomaticBean"),
+            "21:30: " + getCheckMessage(MSG_KEY, ".+\\.api\\..+",
+                    "com.puppycrawl.tools.checkstyle.api.AutomaticBean"),
+        };
+
+        verify(checkConfig, getPath("InputForbidCertainImportsCheck.java"), expected);
+    }
+
     @Test
     public void testNoPackageMatch() throws Exception {
         final DefaultConfiguration checkConfig =
@@ -70,6 +91,20 @@ public class ForbidCertainImportsCheckTest extends AbstractModuleTestSupport {
         verify(checkConfig, getPath("InputForbidCertainImportsCheck.java"), expected);
     }
 
+    @Test
+    public void testWithoutPackage() throws Exception {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(ForbidCertainImportsCheck.class);
+        checkConfig.addProperty("packageNameRegexp", ".*");
+        checkConfig.addProperty("forbiddenImportsRegexp", "java\\.io\\..+");
+        checkConfig.addProperty("forbiddenImportsExcludesRegexp", "");
+
+        final String[] expected = {};
+
+        verify(checkConfig, getPath("InputForbidCertainImportsCheckWithoutPackage.java"),
+                expected);
+    }
+
     @Test
     public void testNormalWorkWithExcludes() throws Exception {
         final DefaultConfiguration checkConfig =
@@ -194,6 +229,42 @@ public class ForbidCertainImportsCheckTest extends AbstractModuleTestSupport {
         verify(checkConfig, getPath("InputForbidCertainImportsCheckSinglePackage.java"), expected);
     }
 
+    @Test
+    public void testForbiddenImports() throws Exception {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(ForbidCertainImportsCheck.class);
+        checkConfig.addProperty("packageNameRegexp", ".+\\.sevntu\\..+");
+        checkConfig.addProperty("forbiddenImports",
+                "com.puppycrawl.tools.checkstyle.api, java.io.File.Inner");
+
+        final String[] expected = {
+            "3:1: " + getCheckMessage(MSG_KEY, "com.puppycrawl.tools.checkstyle.api",
+                    "com.puppycrawl.tools.checkstyle.api.AutomaticBean"),
+            "9:1: " + getCheckMessage(MSG_KEY, "com.puppycrawl.tools.checkstyle.api",
+                    "com.puppycrawl.tools.checkstyle.api.AutomaticBean"),
+            "21:30: " + getCheckMessage(MSG_KEY, "com.puppycrawl.tools.checkstyle.api",
+                    "com.puppycrawl.tools.checkstyle.api.AutomaticBean"),
+        };
+
+        verify(checkConfig, getPath("InputForbidCertainImportsCheck.java"), expected);
+    }
+
+    @Test
+    public void testForbiddenImportsWithExcludes() throws Exception {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(ForbidCertainImportsCheck.class);
+        checkConfig.addProperty("packageNameRegexp", ".+\\.sevntu\\..+");
+        checkConfig.addProperty("forbiddenImports", "com.puppycrawl, com.puppycrawl.tools");
+        checkConfig.addProperty("forbiddenImportsExcludesRegexp", ".+AutomaticBean");
+
+        final String[] expected = {
+            "7:1: " + getCheckMessage(MSG_KEY, "com.puppycrawl",
+                    "com.puppycrawl.tools.checkstyle.DefaultConfiguration"),
+        };
+
+        verify(checkConfig, getPath("InputForbidCertainImportsCheck.java"), expected);
+    }
+
     @Test
     public void testUnsupportedNode() {
         final DetailAstImpl sync = new DetailAstImpl();
@@ -20,6 +20,7 @@
 package com.github.sevntu.checkstyle.checks.coding;
 
 import static com.github.sevntu.checkstyle.checks.coding.ForbidCertainMethodCheck.MSG_KEY;
+import static com.github.sevntu.checkstyle.checks.coding.ForbidCertainMethodCheck.MSG_KEY_RULE;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -55,6 +56,28 @@ public class ForbidCertainMethodCheckTest extends AbstractModuleTestSupport {
         verify(checkConfig, getPath("InputForbidCertainMethodCheck.java"), expected);
     }
 
+    @Test
+    public void testAnchoredMethodName() throws Exception {
+        final DefaultConfiguration checkConfig =
+            createModuleConfig(ForbidCertainMethodCheck.class);
+        checkConfig.addProperty("methodName", "exit$");
+        final String[] expected = {
+            "22:20: " + getCheckMessage(MSG_KEY, "exit", "exit$", "1", "0-"),
+        };
+        verify(checkConfig, getPath("InputForbidCertainMethodCheck.java"), expected);
+    }
+
+    @Test
+    public void testRulesWithAnchoredMethodName() throws Exception {
+        final DefaultConfiguration checkConfig =
+            createModuleConfig(ForbidCertainMethodCheck.class);
+        checkConfig.addProperty("rules", "^exit$##Use exceptions instead");
+        final String[] expected = {
+            "22:20: " + getCheckMessage(MSG_KEY_RULE, "exit", 1, "Use exceptions instead"),
+        };
+        verify(checkConfig, getPath("InputForbidCertainMethodCheck.java"), expected);
+    }
+
     @Test
     public void testWithEmptyArgumentCount() throws Exception {
         final DefaultConfiguration checkConfig =
@@ -424,4 +447,95 @@ public class ForbidCertainMethodCheckTest extends AbstractModuleTestSupport {
         verify(checkConfig, getPath("InputForbidCertainMethodCheck.java"), expected);
     }
 
+
+    @Test
+    public void testRules() throws Exception {
+        final DefaultConfiguration checkConfig =
+            createModuleConfig(ForbidCertainMethodCheck.class);
+        checkConfig.addProperty("rules", "exit##Use exceptions instead;"
+            + " assert(True|False)#1; asList#-1#Too few arguments;");
+
+        final String[] expected = {
+            "22:20: " + getCheckMessage(MSG_KEY_RULE, "exit", 1, "Use exceptions instead"),
+            "29:26: " + getCheckMessage(MSG_KEY, "assertTrue", "assert(True|False)", 1, "1"),
+            "43:26: " + getCheckMessage(MSG_KEY_RULE, "asList", 1, "Too few arguments"),
+        };
+        verify(checkConfig, getPath("InputForbidCertainMethodCheck.java"), expected);
+    }
+
+    @Test
+    public void testRulesAreReportedInOrderOfConfiguration() throws Exception {
+        final DefaultConfiguration checkConfig =
+            createModuleConfig(ForbidCertainMethodCheck.class);
+        checkConfig.addProperty("methodName", "exit");
+        checkConfig.addProperty("argumentCount", "2");
+        checkConfig.addProperty("rules", "as.*#3#First rule; asList#3-4#Second rule;"
+            + " ex.*#2-# ; a.*#4#Never reported");
+
+        final String[] expected = {
+            "45:26: " + getCheckMessage(MSG_KEY_RULE, "asList", 3, "First rule"),
+            "46:26: " + getCheckMessage(MSG_KEY_RULE, "asList", 4, "Second rule"),
+        };
+        verify(checkConfig, getPath("InputForbidCertainMethodCheck.java"), expected);
+    }
+
+    @Test
+    public void testRulesWithGroupsInPatterns() throws Exception {
+        final DefaultConfiguration checkConfig =
+            createModuleConfig(ForbidCertainMethodCheck.class);
+        checkConfig.addProperty("rules", "(x)y#0-#Never reported;"
+            + " a(s)\\1ert.*#1#Doubled letter");
+
+        final String[] expected = {
+            "29:26: " + getCheckMessage(MSG_KEY_RULE, "assertTrue", 1, "Doubled letter"),
+        };
+        verify(checkConfig, getPath("InputForbidCertainMethodCheck.java"), expected);
+    }
+
+    @Test
+    public void testBlankRules() throws Exception {
+        final DefaultConfiguration checkConfig =
+            createModuleConfig(ForbidCertainMethodCheck.class);
+        checkConfig.addProperty("rules", " ; ");
+        verify(checkConfig, getPath("InputForbidCertainMethodCheck.java"));
+    }
+
+    @Test
+    public void testRuleWithoutMethodName() throws Exception {
+        final DefaultConfiguration checkConfig =
+            createModuleConfig(ForbidCertainMethodCheck.class);
+        checkConfig.addProperty("rules", "exit; #1");
+        try {
+            verify(checkConfig, getPath("InputForbidCertainMethodCheck.java"));
+            Assertions.fail("Expecting CheckstyleException");
+        }
+        catch (CheckstyleException exc) {
+            Assertions.assertEquals(
+                "cannot initialize module com.puppycrawl.tools.checkstyle.TreeWalker - "
+                    + "cannot initialize module"
+                    + " com.github.sevntu.checkstyle.checks.coding.ForbidCertainMethodCheck -"
+                    + " Cannot set property 'rules' to 'exit; #1'",
+                exc.getMessage(), "Exception did not have correct error message.");
+        }
+    }
+
+    @Test
+    public void testRuleWithBadArgumentCount() throws Exception {
+        final DefaultConfiguration checkConfig =
+            createModuleConfig(ForbidCertainMethodCheck.class);
+        checkConfig.addProperty("rules", "exit#10-1");
+        try {
+            verify(checkConfig, getPath("InputForbidCertainMethodCheck.java"));
+            Assertions.fail("Expecting CheckstyleException");
+        }
+        catch (CheckstyleException exc) {
+            Assertions.assertEquals(
+                "cannot initialize module com.puppycrawl.tools.checkstyle.TreeWalker - "
+                    + "cannot initialize module"
+                    + " com.github.sevntu.checkstyle.checks.coding.ForbidCertainMethodCheck -"
+                    + " Cannot set property 'rules' to 'exit#10-1'",
+                exc.getMessage(), "Exception did not have correct error message.");
+        }
+    }
+
 }
@@ -62,6 +62,17 @@ public class ForbidInstantiationCheckTest extends AbstractModuleTestSupport {
         verify(checkConfig, getPath("InputForbidInstantiationCheck.java"), expected);
     }
 
+    @Test
+    public void testForbiddenNestedClass() throws Exception {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(ForbidInstantiationCheck.class);
+        checkConfig.addProperty("forbiddenClasses", "java.lang.String.Nested");
+
+        final String[] expected = {};
+
+        verify(checkConfig, getPath("InputForbidInstantiationCheck.java"), expected);
+    }
+
     @Test
     public void testNormalWork() throws Exception {
         final DefaultConfiguration checkConfig =
@@ -77,6 +88,22 @@ public class ForbidInstantiationCheckTest extends AbstractModuleTestSupport {
         verify(checkConfig, getPath("InputForbidInstantiationCheck.java"), expected);
     }
 
+    @Test
+    public void testImportToken() throws Exception {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(ForbidInstantiationCheck.class);
+        checkConfig.addProperty("forbiddenClasses", "java.io.File , java.lang.String , ");
+        checkConfig.addProperty("tokens", "IMPORT");
+
+        final String[] expected = {
+            "13:21: " + getCheckMessage(MSG_KEY, "File"),
+            "14:22: " + getCheckMessage(MSG_KEY, "File"),
+            "15:20: " + getCheckMessage(MSG_KEY, "String"),
+        };
+
+        verify(checkConfig, getPath("InputForbidInstantiationCheck.java"), expected);
+    }
+
     @Test
     public void testNormalWork2() throws Exception {
         final DefaultConfiguration checkConfig =
@@ -120,6 +147,20 @@ public class ForbidInstantiationCheckTest extends AbstractModuleTestSupport {
         verify(checkConfig, getPath("InputForbidInstantiationCheckWithAsterisk.java"), expected);
     }
 
+    @Test
+    public void testAsteriskInInputWithoutForbiddenClasses() throws Exception {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(ForbidInstantiationCheck.class);
+        checkConfig.addProperty("forbiddenClasses", "java.lang.NullPointerException");
+
+        final String[] expected = {
+            "9:35: " + getCheckMessage(MSG_KEY, "NullPointerException"),
+            "12:36: " + getCheckMessage(MSG_KEY, "NullPointerException"),
+        };
+
+        verify(checkConfig, getPath("InputForbidInstantiationCheckWithAsterisk.java"), expected);
+    }
+
     @Test
     public void testUnsupportedNode() {
         final DetailAstImpl sync = new DetailAstImpl();
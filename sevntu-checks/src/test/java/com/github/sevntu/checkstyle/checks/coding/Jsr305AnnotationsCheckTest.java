@@ -60,6 +60,43 @@ public class Jsr305AnnotationsCheckTest extends AbstractModuleTestSupport {
         verify(checkConfig, getPath("InputJsr305AnnotationsCheckWithParameter.java"), expected);
     }
 
+    @Test
+    public void testPackageToken() throws Exception {
+        final DefaultConfiguration checkConfig = createModuleConfig(Jsr305AnnotationsCheck.class);
+        checkConfig.addProperty("packages", "com.github.sevntu.checkstyle.checks.coding");
+        checkConfig.addProperty("tokens", "PACKAGE_DEF, PARAMETER_DEF, METHOD_DEF, CTOR_DEF,"
+                + " CLASS_DEF, INTERFACE_DEF, ENUM_DEF");
+
+        final String[] expected = {
+            "36:44: " + getCheckMessage(
+                    Jsr305AnnotationsCheck.MSG_PARAMETER_WITHOUT_NULLNESS_ANNOTATION, "e"),
+            "40:45: " + getCheckMessage(
+                    Jsr305AnnotationsCheck.MSG_PARAMETER_WITHOUT_NULLNESS_ANNOTATION, "e"),
+            "40:64: " + getCheckMessage(
+                    Jsr305AnnotationsCheck.MSG_PARAMETER_WITHOUT_NULLNESS_ANNOTATION, "e"),
+            "68:41: "
+                    + getCheckMessage(Jsr305AnnotationsCheck.MSG_PARAM_DEFINITIONS_WITH_CHECK, "e"),
+            "73:27: " + getCheckMessage(
+                    Jsr305AnnotationsCheck.MSG_OVERRIDDEN_WITH_INCREASED_CONSTRAINT, "e"),
+            "88:35: " + getCheckMessage(Jsr305AnnotationsCheck.MSG_PARAM_NONNULL_AND_NULLABLE, "e"),
+        };
+
+        verify(checkConfig, getPath("InputJsr305AnnotationsCheckWithParameter.java"), expected);
+    }
+
+    @Test
+    public void testWithoutPackage() throws Exception {
+        final DefaultConfiguration checkConfig = createModuleConfig(Jsr305AnnotationsCheck.class);
+        checkConfig.addProperty("packages", "com.github.sevntu.checkstyle.checks.coding");
+
+        final String[] expected = {
+            "22:54: " + getCheckMessage(
+                    Jsr305AnnotationsCheck.MSG_PARAMETER_WITHOUT_NULLNESS_ANNOTATION, "e"),
+        };
+
+        verify(checkConfig, getPath("InputJsr305AnnotationsCheckWithoutPackage.java"), expected);
+    }
+
     @Test
     public void testPrimitives() throws Exception {
         final DefaultConfiguration checkConfig = createModuleConfig(Jsr305AnnotationsCheck.class);
@@ -369,6 +406,39 @@ public class Jsr305AnnotationsCheckTest extends AbstractModuleTestSupport {
         verify(checkConfig, getPath("InputJsr305AnnotationsCheckWithParameter.java"), expected);
     }
 
+    @Test
+    public void testIncludeParentPackage() throws Exception {
+        final DefaultConfiguration checkConfig = createModuleConfig(Jsr305AnnotationsCheck.class);
+        checkConfig.addProperty("packages", "com.github.sevntu");
+        checkConfig.addProperty("excludePackages", "com.github.sevntu.checkstyle.checks.cod");
+
+        final String[] expected = {
+            "36:44: " + getCheckMessage(
+                    Jsr305AnnotationsCheck.MSG_PARAMETER_WITHOUT_NULLNESS_ANNOTATION, "e"),
+            "40:45: " + getCheckMessage(
+                    Jsr305AnnotationsCheck.MSG_PARAMETER_WITHOUT_NULLNESS_ANNOTATION, "e"),
+            "40:64: " + getCheckMessage(
+                    Jsr305AnnotationsCheck.MSG_PARAMETER_WITHOUT_NULLNESS_ANNOTATION, "e"),
+            "68:41: "
+                    + getCheckMessage(Jsr305AnnotationsCheck.MSG_PARAM_DEFINITIONS_WITH_CHECK, "e"),
+            "73:27: " + getCheckMessage(
+                    Jsr305AnnotationsCheck.MSG_OVERRIDDEN_WITH_INCREASED_CONSTRAINT, "e"),
+            "88:35: " + getCheckMessage(Jsr305AnnotationsCheck.MSG_PARAM_NONNULL_AND_NULLABLE, "e"),
+        };
+
+        verify(checkConfig, getPath("InputJsr305AnnotationsCheckWithParameter.java"), expected);
+    }
+
+    @Test
+    public void testIncludePackageNotParent() throws Exception {
+        final DefaultConfiguration checkConfig = createModuleConfig(Jsr305AnnotationsCheck.class);
+        checkConfig.addProperty("packages", "com.github.sevntu.checkstyle.checks.cod");
+
+        final String[] expected = {};
+
+        verify(checkConfig, getPath("InputJsr305AnnotationsCheckWithParameter.java"), expected);
+    }
+
     /**
      * This must be a reflection test as it is too difficult to hit normally and the responsible
      * code can't be removed without hitting checkstyle violations. This test targets the handling
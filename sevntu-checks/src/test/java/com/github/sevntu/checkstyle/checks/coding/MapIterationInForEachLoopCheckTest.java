@@ -60,6 +60,31 @@ public class MapIterationInForEachLoopCheckTest extends AbstractModuleTestSuppor
                 getPath("InputMapIterationInForEachLoopCheck.java"), expected);
     }
 
+    @Test
+    public final void importTokenTest() throws Exception {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(MapIterationInForEachLoopCheck.class);
+        checkConfig.addProperty("proposeValuesUsage", "true");
+        checkConfig.addProperty("proposeKeySetUsage", "true");
+        checkConfig.addProperty("proposeEntrySetUsage", "true");
+        checkConfig.addProperty("tokens", "IMPORT");
+
+        final String[] expected = {
+            "23:13: " + getCheckMessage(MSG_KEY_ENTRYSET),
+            "46:13: " + getCheckMessage(MSG_KEY_VALUES),
+            "48:17: " + getCheckMessage(MSG_KEY_KEYSET),
+            "72:17: " + getCheckMessage(MSG_KEY_ENTRYSET),
+            "77:13: " + getCheckMessage(MSG_KEY_KEYSET),
+            "84:9: " + getCheckMessage(MSG_KEY_ENTRYSET),
+            "89:9: " + getCheckMessage(MSG_KEY_VALUES),
+            "107:9: " + getCheckMessage(MSG_KEY_ENTRYSET),
+            "117:9: " + getCheckMessage(MSG_KEY_VALUES),
+        };
+
+        verify(checkConfig,
+                getPath("InputMapIterationInForEachLoopCheck.java"), expected);
+    }
+
     @Test
     public final void importsWithoutFullPathTest() throws Exception {
         final DefaultConfiguration checkConfig =
@@ -108,4 +133,21 @@ public class MapIterationInForEachLoopCheckTest extends AbstractModuleTestSuppor
                 CommonUtil.EMPTY_STRING_ARRAY);
     }
 
+    @Test
+    public final void testMapInBody() throws Exception {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(MapIterationInForEachLoopCheck.class);
+        checkConfig.addProperty("proposeValuesUsage", "true");
+        checkConfig.addProperty("proposeKeySetUsage", "true");
+        checkConfig.addProperty("proposeEntrySetUsage", "true");
+
+        final String[] expected = {
+            "17:9: " + getCheckMessage(MSG_KEY_VALUES),
+        };
+
+        verify(checkConfig,
+                getPath("InputMapIterationInForEachLoopCheckMapInBody.java"),
+                expected);
+    }
+
 }
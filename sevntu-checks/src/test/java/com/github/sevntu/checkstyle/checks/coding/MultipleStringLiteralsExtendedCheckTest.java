@@ -20,14 +20,24 @@
 package com.github.sevntu.checkstyle.checks.coding;
 
 import static com.github.sevntu.checkstyle.checks.coding.MultipleStringLiteralsExtendedCheck.MSG_KEY;
+import static com.github.sevntu.checkstyle.checks.coding.MultipleStringLiteralsExtendedCheck.MSG_KEY_PROJECT;
 
+import java.io.File;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import com.puppycrawl.tools.checkstyle.AbstractModuleTestSupport;
 import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 
 public class MultipleStringLiteralsExtendedCheckTest extends AbstractModuleTestSupport {
 
+    @TempDir
+    public Path temporaryFolder;
+
     @Override
     public String getPackageLocation() {
         return "com/github/sevntu/checkstyle/checks/coding";
@@ -147,4 +157,69 @@ public class MultipleStringLiteralsExtendedCheckTest extends AbstractModuleTestS
         verify(checkConfig, getPath("InputMultipleStringLiteralsExtendedCheck.java"), expected);
     }
 
+    @Test
+    public void testProjectDuplicates() throws Exception {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(MultipleStringLiteralsExtendedCheck.class);
+        checkConfig.addProperty("allowedDuplicates", "10");
+        checkConfig.addProperty("allowedProjectDuplicates", "3");
+
+        verifyProject(checkConfig);
+    }
+
+    @Test
+    public void testProjectDuplicatesOnDisk() throws Exception {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(MultipleStringLiteralsExtendedCheck.class);
+        checkConfig.addProperty("allowedDuplicates", "10");
+        checkConfig.addProperty("allowedProjectDuplicates", "3");
+        checkConfig.addProperty("projectMemoryBudget", "0");
+        checkConfig.addProperty("projectTemporaryDirectory", "");
+
+        verifyProject(checkConfig);
+    }
+
+    @Test
+    public void testProjectDuplicatesInTemporaryDirectory() throws Exception {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(MultipleStringLiteralsExtendedCheck.class);
+        checkConfig.addProperty("allowedDuplicates", "10");
+        checkConfig.addProperty("allowedProjectDuplicates", "3");
+        checkConfig.addProperty("projectMemoryBudget", "0");
+        checkConfig.addProperty("projectTemporaryDirectory", temporaryFolder.toString());
+
+        verifyProject(checkConfig);
+    }
+
+    @Test
+    public void testProjectTemporaryDirectoryNotFound() throws Exception {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(MultipleStringLiteralsExtendedCheck.class);
+        final String directory = getPath("NotExistingDirectory");
+        checkConfig.addProperty("allowedProjectDuplicates", "3");
+        checkConfig.addProperty("projectMemoryBudget", "0");
+        checkConfig.addProperty("projectTemporaryDirectory", directory);
+
+        try {
+            verify(checkConfig, getPath("InputMultipleStringLiteralsExtendedCheckProject2.java"));
+            Assertions.fail("Expecting CheckstyleException");
+        }
+        catch (CheckstyleException exc) {
+            Assertions.assertEquals("Unable to create a temporary file in " + directory,
+                    exc.getCause().getMessage());
+        }
+    }
+
+    private void verifyProject(DefaultConfiguration checkConfig) throws Exception {
+        final String firstFile = getPath("InputMultipleStringLiteralsExtendedCheckProject1.java");
+        final String secondFile = getPath("InputMultipleStringLiteralsExtendedCheckProject2.java");
+        final String[] expected = {
+            "7:21: " + getCheckMessage(MSG_KEY_PROJECT, "\"Magic\"", 3, firstFile, 5),
+        };
+
+        verify(createChecker(checkConfig),
+                new File[] {new File(firstFile), new File(secondFile)},
+                secondFile, expected);
+    }
+
 }
@@ -199,4 +199,20 @@ public class NoNullForCollectionReturnCheckTest extends AbstractModuleTestSuppor
                 expected);
     }
 
+    @Test
+    public void testSeveralReturnsInMethod()
+            throws Exception {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(NoNullForCollectionReturnCheck.class);
+        checkConfig.addProperty("searchThroughMethodBody", "true");
+        final String[] expected = {
+            "16:13: " + warningMessage,
+            "20:13: " + warningMessage,
+            "23:9: " + warningMessage,
+        };
+
+        verify(checkConfig, getPath("InputNoNullForCollectionReturnCheckSummary.java"),
+                expected);
+    }
+
 }
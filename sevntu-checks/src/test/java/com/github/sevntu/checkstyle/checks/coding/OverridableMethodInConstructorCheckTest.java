@@ -21,6 +21,7 @@ package com.github.sevntu.checkstyle.checks.coding;
 
 import static com.github.sevntu.checkstyle.checks.coding.OverridableMethodInConstructorCheck.MSG_KEY;
 import static com.github.sevntu.checkstyle.checks.coding.OverridableMethodInConstructorCheck.MSG_KEY_LEADS;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 
 import org.junit.jupiter.api.Test;
 
@@ -466,4 +467,40 @@ public class OverridableMethodInConstructorCheckTest extends AbstractModuleTestS
         verify(checkConfig, getPath("InputOverridableMethodInConstructorCheck28.java"), expected);
     }
 
+    @Test
+    public final void testSharedCallee() throws Exception {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(OverridableMethodInConstructorCheck.class);
+        checkConfig.addProperty("checkCloneMethod", "true");
+        checkConfig.addProperty("checkReadObjectMethod", "true");
+        checkConfig.addProperty("matchMethodsByArgCount", "true");
+
+        final String[] expected = {
+            "6:14: " + getCheckMessage(MSG_KEY_LEADS, "first", CTOR_KEY, "overrideMe"),
+            "7:15: " + getCheckMessage(MSG_KEY_LEADS, "second", CTOR_KEY, "overrideMe"),
+        };
+
+        verify(checkConfig, getPath("InputOverridableMethodInConstructorCheck29.java"), expected);
+    }
+
+    @Test
+    public final void testOverloadsBeforeField() throws Exception {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(OverridableMethodInConstructorCheck.class);
+        checkConfig.addProperty("checkCloneMethod", "true");
+        checkConfig.addProperty("checkReadObjectMethod", "true");
+        checkConfig.addProperty("matchMethodsByArgCount", "true");
+
+        final String[] expected = {};
+
+        verify(checkConfig, getPath("InputOverridableMethodInConstructorCheck30.java"), expected);
+    }
+
+    @Test
+    public void testEmptyFile() {
+        final OverridableMethodInConstructorCheck check =
+                new OverridableMethodInConstructorCheck();
+        assertDoesNotThrow(() -> check.beginTree(null));
+    }
+
 }
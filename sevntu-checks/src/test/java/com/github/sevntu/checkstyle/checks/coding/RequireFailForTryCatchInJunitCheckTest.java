@@ -157,6 +157,20 @@ public class RequireFailForTryCatchInJunitCheckTest extends AbstractModuleTestSu
             "InputRequireFailForTryCatchInJunitCheckTruthStaticImport.java"), expected);
     }
 
+    @Test
+    public void testImportTokens() throws Exception {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(RequireFailForTryCatchInJunitCheck.class);
+        checkConfig.addProperty("tokens", "IMPORT, STATIC_IMPORT");
+        final String[] expected = {
+            "106:9: " + getCheckMessage(MSG_KEY),
+            "117:9: " + getCheckMessage(MSG_KEY),
+            "49:9: " + getCheckMessage(MSG_KEY),
+        };
+        verify(checkConfig, getPath(
+            "InputRequireFailForTryCatchInJunitCheckTruthStaticImport.java"), expected);
+    }
+
     @Test
     public void testTruthSupportStarImport() throws Exception {
         final DefaultConfiguration checkConfig =
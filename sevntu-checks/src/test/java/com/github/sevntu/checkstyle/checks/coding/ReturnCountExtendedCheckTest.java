@@ -242,6 +242,27 @@ public class ReturnCountExtendedCheckTest extends AbstractModuleTestSupport {
         verify(checkConfig, getPath("InputReturnCountExtendedCheckMethods.java"), expected);
     }
 
+    @Test
+    public void testAnchoredIgnoreMethodsNamesProperty() throws Exception {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(ReturnCountExtendedCheck.class);
+        checkConfig.addProperty("maxReturnCount", "1");
+        checkConfig.addProperty("ignoreMethodLinesCount", "0");
+        checkConfig.addProperty("minIgnoreReturnDepth", "5");
+        checkConfig.addProperty("ignoreEmptyReturns", "false");
+        checkConfig.addProperty("topLinesToIgnoreCount", "0");
+        checkConfig.addProperty("ignoreMethodsNames",
+                "threeReturnsInMethod$, ^twoReturnsInMethod$");
+
+        final String[] expected = {
+            "58:16: " + getCheckMessage(MSG_KEY_METHOD, "fourReturnsInMethod", 4, 1),
+            "92:16: " + getCheckMessage(MSG_KEY_METHOD, "nm", 2, 1),
+            "105:17: " + getCheckMessage(MSG_KEY_METHOD, "returnFromLiteral", 6, 1),
+        };
+
+        verify(checkConfig, getPath("InputReturnCountExtendedCheckMethods.java"), expected);
+    }
+
     @Test
     public void testRegexIgnoreMethodsNamesProperty() throws Exception {
         final DefaultConfiguration checkConfig =
@@ -262,6 +283,44 @@ public class ReturnCountExtendedCheckTest extends AbstractModuleTestSupport {
         verify(checkConfig, getPath("InputReturnCountExtendedCheckMethods.java"), expected);
     }
 
+    @Test
+    public void testMixedIgnoreMethodsNamesProperty() throws Exception {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(ReturnCountExtendedCheck.class);
+        checkConfig.addProperty("maxReturnCount", "1");
+        checkConfig.addProperty("ignoreMethodLinesCount", "0");
+        checkConfig.addProperty("minIgnoreReturnDepth", "5");
+        checkConfig.addProperty("ignoreEmptyReturns", "false");
+        checkConfig.addProperty("topLinesToIgnoreCount", "0");
+        checkConfig.addProperty("ignoreMethodsNames", "three.+, nm, two.+");
+
+        final String[] expected = {
+            "58:16: " + getCheckMessage(MSG_KEY_METHOD, "fourReturnsInMethod", 4, 1),
+            "105:17: " + getCheckMessage(MSG_KEY_METHOD, "returnFromLiteral", 6, 1),
+        };
+
+        verify(checkConfig, getPath("InputReturnCountExtendedCheckMethods.java"), expected);
+    }
+
+    @Test
+    public void testIgnoreMethodsNamesPatternsWithGroups() throws Exception {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(ReturnCountExtendedCheck.class);
+        checkConfig.addProperty("maxReturnCount", "1");
+        checkConfig.addProperty("ignoreMethodLinesCount", "0");
+        checkConfig.addProperty("minIgnoreReturnDepth", "5");
+        checkConfig.addProperty("ignoreEmptyReturns", "false");
+        checkConfig.addProperty("topLinesToIgnoreCount", "0");
+        checkConfig.addProperty("ignoreMethodsNames", "(x)y, th(r)(e)\\2.+, nm, two.+");
+
+        final String[] expected = {
+            "58:16: " + getCheckMessage(MSG_KEY_METHOD, "fourReturnsInMethod", 4, 1),
+            "105:17: " + getCheckMessage(MSG_KEY_METHOD, "returnFromLiteral", 6, 1),
+        };
+
+        verify(checkConfig, getPath("InputReturnCountExtendedCheckMethods.java"), expected);
+    }
+
     @Test
     public void testAnonymousClass() throws Exception {
         final DefaultConfiguration checkConfig =
@@ -302,4 +361,22 @@ public class ReturnCountExtendedCheckTest extends AbstractModuleTestSupport {
         verify(checkConfig, getPath("InputReturnCountExtendedCheckLambdas.java"), expected);
     }
 
+    @Test
+    public void testIgnoreLambdas() throws Exception {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(ReturnCountExtendedCheck.class);
+        checkConfig.addProperty("maxReturnCount", "1");
+        checkConfig.addProperty("ignoreMethodLinesCount", "0");
+        checkConfig.addProperty("minIgnoreReturnDepth", "99");
+        checkConfig.addProperty("ignoreEmptyReturns", "false");
+        checkConfig.addProperty("topLinesToIgnoreCount", "0");
+        checkConfig.addProperty("ignoreMethodsNames", "null");
+
+        final String[] expected = {
+            "38:9: " + getCheckMessage(MSG_KEY_METHOD, "methodWithTwoReturnWithLambdas", 2, 1),
+        };
+
+        verify(checkConfig, getPath("InputReturnCountExtendedCheckLambdas.java"), expected);
+    }
+
 }
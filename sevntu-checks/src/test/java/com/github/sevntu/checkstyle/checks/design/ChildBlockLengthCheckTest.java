@@ -150,4 +150,18 @@ public class ChildBlockLengthCheckTest extends AbstractModuleTestSupport {
         verify(checkConfig, getPath("InputChildBlockLengthCheckNestedClass.java"), expected);
     }
 
+    @Test
+    public void testBlockAfterNestedClass() throws Exception {
+        final DefaultConfiguration checkConfig = createModuleConfig(ChildBlockLengthCheck.class);
+        checkConfig.addProperty("maxChildBlockPercentage", "19");
+        checkConfig.addProperty("blockTypes", "LITERAL_IF");
+        checkConfig.addProperty("ignoreBlockLinesCount", "0");
+
+        final String[] expected = {
+            "15:13: " + getCheckMessage(MSG_KEY, 5, 2),
+        };
+
+        verify(checkConfig, getPath("InputChildBlockLengthCheckAfterNestedClass.java"), expected);
+    }
+
 }
@@ -21,6 +21,7 @@ package com.github.sevntu.checkstyle.checks.design;
 
 import static com.github.sevntu.checkstyle.checks.design.StaticMethodCandidateCheck.MSG_KEY;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 
 import org.junit.jupiter.api.Test;
 
@@ -161,4 +162,36 @@ public class StaticMethodCandidateCheckTest extends AbstractModuleTestSupport {
         verify(checkConfig, getPath("InputStaticMethodCandidateCheckTypeParameter.java"), expected);
     }
 
+    @Test
+    public void testForwardReferences() throws Exception {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(StaticMethodCandidateCheck.class);
+        final String[] expected = {
+            "7:9: " + getCheckMessage(MSG_KEY, "foo"),
+            "11:9: " + getCheckMessage(MSG_KEY, "bar"),
+            "15:9: " + getCheckMessage(MSG_KEY, "qux"),
+            "55:9: " + getCheckMessage(MSG_KEY, "kind"),
+        };
+        verify(checkConfig, getPath("InputStaticMethodCandidateCheckForwardReferences.java"),
+                expected);
+    }
+
+    @Test
+    public void testForwardReferencesToTopLevelTypes() throws Exception {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(StaticMethodCandidateCheck.class);
+        final String[] expected = {
+            "5:5: " + getCheckMessage(MSG_KEY, "callLater"),
+        };
+        verify(checkConfig,
+                getPath("InputStaticMethodCandidateCheckForwardReferencesToTopLevelTypes.java"),
+                expected);
+    }
+
+    @Test
+    public void testEmptyFile() {
+        final StaticMethodCandidateCheck check = new StaticMethodCandidateCheck();
+        assertDoesNotThrow(() -> check.beginTree(null));
+    }
+
 }
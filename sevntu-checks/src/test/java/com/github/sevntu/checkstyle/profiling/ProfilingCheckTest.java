@@ -0,0 +1,274 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.sevntu.checkstyle.profiling;
+
+import static com.github.sevntu.checkstyle.checks.coding.ReturnCountExtendedCheck.MSG_KEY_METHOD;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.sevntu.checkstyle.checks.annotation.ForbidAnnotationCheck;
+import com.github.sevntu.checkstyle.checks.coding.ForbidCCommentsInMethodsCheck;
+import com.github.sevntu.checkstyle.checks.coding.ReturnCountExtendedCheck;
+import com.github.sevntu.checkstyle.checks.design.StaticMethodCandidateCheck;
+import com.puppycrawl.tools.checkstyle.AbstractModuleTestSupport;
+import com.puppycrawl.tools.checkstyle.Checker;
+import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+import jdk.jfr.Recording;
+
+public class ProfilingCheckTest extends AbstractModuleTestSupport {
+
+    @TempDir
+    public Path temporaryFolder;
+
+    @Override
+    public String getPackageLocation() {
+        return "com/github/sevntu/checkstyle/checks/coding";
+    }
+
+    @Test
+    public void testViolationsOfWrappedCheckAreReported() throws Exception {
+        final DefaultConfiguration checkConfig = createModuleConfig(ProfilingCheck.class);
+        checkConfig.addChild(createReturnCountConfig());
+
+        final String[] expected = {
+            "38:16: " + getCheckMessage(ReturnCountExtendedCheck.class, MSG_KEY_METHOD,
+                    "threeReturnsInMethod", 3, 2),
+            "58:16: " + getCheckMessage(ReturnCountExtendedCheck.class, MSG_KEY_METHOD,
+                    "fourReturnsInMethod", 4, 2),
+            "105:17: " + getCheckMessage(ReturnCountExtendedCheck.class, MSG_KEY_METHOD,
+                    "returnFromLiteral", 6, 2),
+        };
+
+        verify(checkConfig, getPath("InputReturnCountExtendedCheckMethods.java"), expected);
+    }
+
+    @Test
+    public void testViolationsAreReportedWithJfrRecording() throws Exception {
+        final DefaultConfiguration checkConfig = createModuleConfig(ProfilingCheck.class);
+        checkConfig.addChild(createReturnCountConfig());
+
+        final String[] expected = {
+            "38:16: " + getCheckMessage(ReturnCountExtendedCheck.class, MSG_KEY_METHOD,
+                    "threeReturnsInMethod", 3, 2),
+            "58:16: " + getCheckMessage(ReturnCountExtendedCheck.class, MSG_KEY_METHOD,
+                    "fourReturnsInMethod", 4, 2),
+            "105:17: " + getCheckMessage(ReturnCountExtendedCheck.class, MSG_KEY_METHOD,
+                    "returnFromLiteral", 6, 2),
+        };
+
+        try (Recording recording = new Recording()) {
+            recording.enable(CheckFileEvent.class);
+            recording.start();
+            verify(checkConfig, getPath("InputReturnCountExtendedCheckMethods.java"), expected);
+        }
+    }
+
+    @Test
+    public void testCommentNodesRequired() throws Exception {
+        final DefaultConfiguration checkConfig = createModuleConfig(ProfilingCheck.class);
+        checkConfig.addChild(createModuleConfig(ForbidCCommentsInMethodsCheck.class));
+        checkConfig.addChild(createModuleConfig(ForbidCCommentsInMethodsCheck.class));
+
+        final ProfilingCheck check = new ProfilingCheck();
+        check.configure(checkConfig);
+
+        Assertions.assertTrue(check.isCommentNodesRequired(),
+                "Comment nodes are required by wrapped checks");
+    }
+
+    @Test
+    public void testTokensAreUnionOfWrappedChecks() throws Exception {
+        final DefaultConfiguration annotationConfig =
+                createModuleConfig(ForbidAnnotationCheck.class);
+        annotationConfig.addProperty("tokens", "ANNOTATION");
+        final DefaultConfiguration checkConfig = createModuleConfig(ProfilingCheck.class);
+        checkConfig.addChild(annotationConfig);
+
+        final ProfilingCheck check = new ProfilingCheck();
+        check.configure(checkConfig);
+
+        Assertions.assertArrayEquals(new int[] {TokenTypes.ANNOTATION},
+                check.getAcceptableTokens(), "Invalid tokens");
+        Assertions.assertArrayEquals(new int[] {TokenTypes.ANNOTATION},
+                check.getRequiredTokens(), "Invalid tokens");
+        Assertions.assertFalse(check.isCommentNodesRequired(),
+                "Comment nodes are not required by wrapped checks");
+    }
+
+    @Test
+    public void testMixedCommentNodesRequirement() throws Exception {
+        final DefaultConfiguration checkConfig = createModuleConfig(ProfilingCheck.class);
+        checkConfig.addChild(createReturnCountConfig());
+        checkConfig.addChild(createModuleConfig(ForbidCCommentsInMethodsCheck.class));
+
+        try {
+            new ProfilingCheck().configure(checkConfig);
+            Assertions.fail("Expecting CheckstyleException");
+        }
+        catch (CheckstyleException exc) {
+            Assertions.assertEquals(ForbidCCommentsInMethodsCheck.class.getName()
+                    + " can not be wrapped together with checks which differ in requirement"
+                    + " of comment nodes", exc.getMessage(), "Invalid exception message");
+        }
+    }
+
+    @Test
+    public void testChildIsNotCheck() throws Exception {
+        final DefaultConfiguration checkConfig = createModuleConfig(ProfilingCheck.class);
+        checkConfig.addChild(new DefaultConfiguration(
+                "com.puppycrawl.tools.checkstyle.checks.whitespace.FileTabCharacterCheck"));
+
+        try {
+            new ProfilingCheck().configure(checkConfig);
+            Assertions.fail("Expecting CheckstyleException");
+        }
+        catch (CheckstyleException exc) {
+            Assertions.assertEquals(
+                    "com.puppycrawl.tools.checkstyle.checks.whitespace.FileTabCharacterCheck"
+                    + " is not allowed as a child in ProfilingCheck",
+                    exc.getMessage(), "Invalid exception message");
+        }
+    }
+
+    @Test
+    public void testInvalidReportFormat() {
+        try {
+            new ProfilingCheck().setReportFormat("xml");
+            Assertions.fail("Expecting IllegalArgumentException");
+        }
+        catch (IllegalArgumentException exc) {
+            Assertions.assertEquals("Unsupported report format: xml", exc.getMessage(),
+                    "Invalid exception message");
+        }
+    }
+
+    @Test
+    public void testJsonReport() throws Exception {
+        final String report = runWithReport("JSON");
+
+        Assertions.assertTrue(report.startsWith("[\n  {\"check\": \""
+                + ReturnCountExtendedCheck.class.getName() + "\", \"files\": 1, "),
+                "Invalid report: " + report);
+        Assertions.assertTrue(report.contains("\n    {\"token\": \"METHOD_DEF\", "
+                + "\"visitCount\": "), "Invalid report: " + report);
+        Assertions.assertTrue(report.endsWith("]}\n]\n"), "Invalid report: " + report);
+    }
+
+    @Test
+    public void testJsonReportOfSeveralChecks() throws Exception {
+        final File reportFile = temporaryFolder.resolve("profile").toFile();
+        final DefaultConfiguration checkConfig = createModuleConfig(ProfilingCheck.class);
+        checkConfig.addProperty("reportFile", reportFile.getPath());
+        checkConfig.addChild(createReturnCountConfig());
+        checkConfig.addChild(createModuleConfig(StaticMethodCandidateCheck.class));
+
+        final Checker checker = createChecker(checkConfig);
+        checker.process(Collections.singletonList(
+                new File(getPath("InputReturnCountExtendedCheckMethods.java"))));
+        checker.destroy();
+        final String report =
+                new String(Files.readAllBytes(reportFile.toPath()), StandardCharsets.UTF_8);
+
+        Assertions.assertTrue(report.contains("{\"check\": \""
+                + ReturnCountExtendedCheck.class.getName() + "\", "), "Invalid report: " + report);
+        Assertions.assertTrue(report.contains("{\"check\": \""
+                + StaticMethodCandidateCheck.class.getName() + "\", "),
+                "Invalid report: " + report);
+        Assertions.assertTrue(report.contains("]},\n  {\"check\": "),
+                "Invalid report: " + report);
+        Assertions.assertTrue(report.contains("},\n    {\"token\": "),
+                "Invalid report: " + report);
+    }
+
+    @Test
+    public void testCsvReport() throws Exception {
+        final String report = runWithReport("csv");
+
+        Assertions.assertTrue(report.startsWith(String.format("check,phase,token,count,nanos%n")
+                + ReturnCountExtendedCheck.class.getName() + ",beginTree,,1,"),
+                "Invalid report: " + report);
+        Assertions.assertTrue(report.contains(ReturnCountExtendedCheck.class.getName()
+                + ",visitToken,METHOD_DEF,"), "Invalid report: " + report);
+        Assertions.assertTrue(report.contains(ReturnCountExtendedCheck.class.getName()
+                + ",finishTree,,1,"), "Invalid report: " + report);
+    }
+
+    @Test
+    public void testNoReport() throws Exception {
+        final DefaultConfiguration checkConfig = createModuleConfig(ProfilingCheck.class);
+        final ProfilingCheck check = new ProfilingCheck();
+        check.configure(checkConfig);
+        check.destroy();
+
+        Assertions.assertEquals("[\n]\n", check.getReport(), "Invalid report");
+    }
+
+    @Test
+    public void testUnwritableReport() throws Exception {
+        final ProfilingCheck check = new ProfilingCheck();
+        check.setReportFile(temporaryFolder.toString());
+
+        try {
+            check.destroy();
+            Assertions.fail("Expecting IllegalStateException");
+        }
+        catch (IllegalStateException exc) {
+            Assertions.assertEquals("Unable to write profile to " + temporaryFolder,
+                    exc.getMessage(), "Invalid exception message");
+        }
+    }
+
+    private String runWithReport(String format) throws Exception {
+        final File reportFile = temporaryFolder.resolve("profile").toFile();
+        final DefaultConfiguration checkConfig = createModuleConfig(ProfilingCheck.class);
+        checkConfig.addProperty("reportFile", reportFile.getPath());
+        checkConfig.addProperty("reportFormat", format);
+        checkConfig.addChild(createReturnCountConfig());
+
+        final Checker checker = createChecker(checkConfig);
+        checker.process(Collections.singletonList(
+                new File(getPath("InputReturnCountExtendedCheckMethods.java"))));
+        checker.destroy();
+
+        return new String(Files.readAllBytes(reportFile.toPath()), StandardCharsets.UTF_8);
+    }
+
+    private DefaultConfiguration createReturnCountConfig() {
+        final DefaultConfiguration checkConfig =
+                createModuleConfig(ReturnCountExtendedCheck.class);
+        checkConfig.addProperty("maxReturnCount", "2");
+        checkConfig.addProperty("ignoreMethodLinesCount", "0");
+        checkConfig.addProperty("minIgnoreReturnDepth", "5");
+        checkConfig.addProperty("ignoreEmptyReturns", "false");
+        checkConfig.addProperty("topLinesToIgnoreCount", "0");
+        return checkConfig;
+    }
+
+}
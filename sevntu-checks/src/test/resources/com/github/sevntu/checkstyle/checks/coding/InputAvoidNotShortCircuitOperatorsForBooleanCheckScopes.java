@@ -0,0 +1,23 @@
+package com.github.sevntu.checkstyle.checks.coding;
+
+public class InputAvoidNotShortCircuitOperatorsForBooleanCheckScopes {
+
+    private boolean field = true;
+
+    private boolean other = field | field; // warning
+
+    void method(int value) {
+        boolean local = value > 0;
+        boolean result = local | field; // warning
+        for (int i = 0; i < value; i++) {
+            boolean nested = i > 1;
+            boolean onlyNested = nested | nested;
+            int bits = value | i;
+        }
+        boolean fromField = field & field;
+        int mask = value & 1;
+        boolean late = result; boolean sameLine = late & late;
+        boolean withFalse = value > 1 | false; // warning
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.github.sevntu.checkstyle.checks.coding;
+
+public class InputCustomDeclarationOrderCheckLaterRule {
+    private int value;
+
+    public int getValue() {
+        return value;
+    }
+
+    public void setValue(int value) {
+        this.value = value;
+    }
+
+    public void other() { // violation, getter and setter match the later rule
+    }
+}
@@ -0,0 +1,37 @@
+package com.github.sevntu.checkstyle.checks.coding;
+
+public class InputCustomDeclarationOrderCheckLocalClasses {
+    private int field;
+
+    public InputCustomDeclarationOrderCheckLocalClasses() {
+        class LocalInCtor {
+            public void localMethod() {
+            }
+
+            private int localField; // warn, constructor is not a method
+        }
+    }
+
+    public void method() {
+        class Local {
+            public void localMethod() {
+            }
+
+            private int localField;
+
+            class Nested {
+                public void nestedMethod() {
+                }
+
+                private int nestedField;
+            }
+        }
+    }
+
+    class Inner {
+        public void innerMethod() {
+        }
+
+        private int innerField; // warn
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.sevntu.checkstyle.checks.coding;
+
+import java.util.List;
+
+public class InputCustomDeclarationOrderCheckModifiers {
+    private int first;
+
+    @Deprecated
+    private int annotated;
+
+    private List<String> generic;
+
+    private int[] array;
+
+    int plain;
+
+    @Deprecated
+    int annotatedPlain;
+
+    private int late; // violation
+
+    Notprivate typeEndsWithModifier; // violation, rule is found in the type
+
+    List<Notprivate> genericEndsWithBracket;
+
+    public void method() {
+    }
+
+    void other() {
+    }
+
+    private strictfp void calculate() {
+    }
+
+    public void last() { // violation
+    }
+}
+
+class Notprivate {
+}
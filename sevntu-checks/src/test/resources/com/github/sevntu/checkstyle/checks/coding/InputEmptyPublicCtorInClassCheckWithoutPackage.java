@@ -0,0 +1,6 @@
+public class InputEmptyPublicCtorInClassCheckWithoutPackage
+{
+    public InputEmptyPublicCtorInClassCheckWithoutPackage() {
+
+    }
+}
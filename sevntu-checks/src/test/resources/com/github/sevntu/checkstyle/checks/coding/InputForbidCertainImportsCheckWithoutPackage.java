@@ -0,0 +1,6 @@
+import java.io.File;
+
+public class InputForbidCertainImportsCheckWithoutPackage
+{
+    private File file;
+}
@@ -0,0 +1,23 @@
+package com.github.sevntu.checkstyle.checks.coding;
+import java.util.HashMap;
+import java.util.Map;
+
+public class InputMapIterationInForEachLoopCheckMapInBody
+{
+    public static void main(String[] args)
+    {
+        Map<String, String> map = new HashMap<String, String>();
+
+        int counter = 0;
+        for (String key : map.keySet())
+        {
+            counter++;
+        }
+
+        for (Map.Entry<String, String> entry : map.entrySet())
+        {
+            Object copy = map;
+            System.out.println(entry.getValue());
+        }
+    }
+}
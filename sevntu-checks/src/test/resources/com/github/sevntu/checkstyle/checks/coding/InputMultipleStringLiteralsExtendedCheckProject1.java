@@ -0,0 +1,12 @@
+package com.github.sevntu.checkstyle.checks.coding;
+
+public class InputMultipleStringLiteralsExtendedCheckProject1 {
+
+    String first = "Magic";
+
+    String second = "Magic";
+
+    String[] numbers = {"one", "two", "three", "four", "five",
+        "six", "seven", "eight", "nine", "ten", };
+
+}
@@ -0,0 +1,11 @@
+package com.github.sevntu.checkstyle.checks.coding;
+
+public class InputMultipleStringLiteralsExtendedCheckProject2 {
+
+    String first = "Magic";
+
+    String second = "Magic";
+
+    String third = "Project";
+
+}
@@ -0,0 +1,34 @@
+package com.github.sevntu.checkstyle.checks.coding;
+
+import java.util.List;
+
+public class InputNoNullForCollectionReturnCheckSummary {
+
+    private List<String> values;
+
+    private int[] counts = new int[1];
+
+    public List<String> earlyReturns(int value) {
+        List<String> result = null;
+        counts[0] = 1;
+        this.values = null;
+        if (value > 0) {
+            return result;
+        }
+        if (value < 0) {
+            result = null;
+            return result;
+        }
+        System.out.println(value);
+        return result;
+    }
+
+    public List<String> assigned(int value) {
+        List<String> result = null;
+        if (value > 0) {
+            result = values;
+        }
+        return result;
+    }
+
+}
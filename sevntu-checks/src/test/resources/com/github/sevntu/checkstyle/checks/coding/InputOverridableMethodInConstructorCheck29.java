@@ -0,0 +1,24 @@
+package com.github.sevntu.checkstyle.checks.coding;
+
+public class InputOverridableMethodInConstructorCheck29 {
+
+    public InputOverridableMethodInConstructorCheck29() {
+        first();
+        second();
+    }
+
+    private void first() {
+        shared();
+    }
+
+    private void second() {
+        shared();
+    }
+
+    private void shared() {
+        overrideMe();
+    }
+
+    public void overrideMe() {
+    }
+}
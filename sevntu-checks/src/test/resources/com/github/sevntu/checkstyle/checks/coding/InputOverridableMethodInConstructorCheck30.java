@@ -0,0 +1,16 @@
+package com.github.sevntu.checkstyle.checks.coding;
+
+public class InputOverridableMethodInConstructorCheck30 {
+
+    public InputOverridableMethodInConstructorCheck30() {
+        init(1);
+    }
+
+    public void init() {
+    }
+
+    public void init(int value) {
+    }
+
+    private int field = 0;
+}
@@ -0,0 +1,29 @@
+package com.github.sevntu.checkstyle.checks.design;
+
+public class InputChildBlockLengthCheckAfterNestedClass {
+
+    public static void main(String[] args)
+    {
+        if (isTrue()) {
+            class Inner {
+                void method() {
+                    if (isTrue()) {
+                        return;
+                    }
+                }
+            }
+            if (isTrue()) {
+                System.out.println();
+                System.out.println();
+                System.out.println();
+                System.out.println();
+                System.out.println();
+            }
+        }
+    }
+
+    public static boolean isTrue() {
+        return Boolean.TRUE;
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.github.sevntu.checkstyle.checks.design;
+
+public class InputStaticMethodCandidateCheckForwardReferences {
+
+    static class First {
+
+        private void foo() { // violation
+            int result = value + 1;
+        }
+
+        private void bar() { // violation
+            Second.baz();
+        }
+
+        private void qux() { // violation
+            helper();
+        }
+
+        private void quux() {
+            instanceHelper();
+        }
+
+        void instanceHelper() {
+        }
+
+    }
+
+    private static int value;
+
+    private static void helper() {
+    }
+
+    static class Second {
+
+        static void baz() {
+        }
+
+    }
+
+    interface Holder {
+
+        class Nested {
+
+            private void unreachable() {
+            }
+
+        }
+
+    }
+
+    enum Kind {
+
+        FIRST;
+
+        private void kind() { // violation
+        }
+
+    }
+
+}
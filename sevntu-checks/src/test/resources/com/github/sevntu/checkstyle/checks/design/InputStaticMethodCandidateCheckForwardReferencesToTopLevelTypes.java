@@ -0,0 +1,16 @@
+package com.github.sevntu.checkstyle.checks.design;
+
+public class InputStaticMethodCandidateCheckForwardReferencesToTopLevelTypes {
+
+    private void callLater() { // violation
+        InputStaticMethodCandidateCheckLaterTopLevelType.foo();
+    }
+
+}
+
+class InputStaticMethodCandidateCheckLaterTopLevelType {
+
+    static void foo() {
+    }
+
+}
@@ -0,0 +1,313 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.sevntu.checkstyle.runner;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.github.sevntu.checkstyle.checks.coding.MultipleStringLiteralsExtendedCheck;
+import com.github.sevntu.checkstyle.profiling.ProfilingCheck;
+import com.puppycrawl.tools.checkstyle.Checker;
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+
+/**
+ * Audits a set of files with a single configuration on several threads of a
+ * {@link ForkJoinPool}.
+ *
+ * <p>
+ * {@code Checker}, {@code TreeWalker} and checks keep per file state in their fields, so
+ * each worker configures its own {@code Checker} from the shared configuration and keeps
+ * it for all the files it processes. Workers take files one by one from a shared counter
+ * rather than a fixed share each, so a few large files do not leave other cores idle.
+ * Results are stored by file position and returned in the order the files were given,
+ * whatever worker processed them.
+ * </p>
+ *
+ * <p>
+ * Every file is passed to {@code Checker} on its own, so checks which compare files with
+ * each other (like {@code TranslationCheck}) see a single file at a time. The
+ * {@code cacheFile} of {@code Checker} and the {@code reportFile} of {@code ProfilingCheck}
+ * are not supported, as they would be written by all workers at once. For the same reason
+ * a not negative {@code allowedProjectDuplicates} of
+ * {@code MultipleStringLiteralsExtendedCheck} is not supported: every worker would count
+ * project duplicates only in the files it happened to take.
+ * </p>
+ */
+public final class ParallelAudit {
+
+    /** Name of the {@code Checker} property which is not supported. */
+    private static final String CACHE_FILE_PROPERTY = "cacheFile";
+
+    /** Name of the {@code ProfilingCheck} property which is not supported. */
+    private static final String REPORT_FILE_PROPERTY = "reportFile";
+
+    /** Name of the {@code MultipleStringLiteralsExtendedCheck} property which is not supported. */
+    private static final String PROJECT_DUPLICATES_PROPERTY = "allowedProjectDuplicates";
+
+    /** Suffix checkstyle allows to omit from module names. */
+    private static final String CHECK_SUFFIX = "Check";
+
+    /** Configuration every worker is built from. */
+    private final Configuration configuration;
+
+    /** Number of workers. */
+    private final int threads;
+
+    /**
+     * Creates the audit.
+     *
+     * @param configuration root {@code Checker} configuration
+     * @param threads number of workers
+     * @throws CheckstyleException if configuration uses cache file, profiling report or
+     *     project wide string literal duplicates
+     */
+    public ParallelAudit(Configuration configuration, int threads) throws CheckstyleException {
+        if (hasProperty(configuration, CACHE_FILE_PROPERTY)) {
+            throw new CheckstyleException(CACHE_FILE_PROPERTY
+                    + " is not supported, as all workers would write to it at once");
+        }
+        if (hasCheckProperty(configuration, ProfilingCheck.class, REPORT_FILE_PROPERTY)) {
+            throw new CheckstyleException(REPORT_FILE_PROPERTY + " of "
+                    + ProfilingCheck.class.getSimpleName()
+                    + " is not supported, as all workers would write to it at once");
+        }
+        if (hasCheckProperty(configuration, MultipleStringLiteralsExtendedCheck.class,
+                PROJECT_DUPLICATES_PROPERTY)) {
+            throw new CheckstyleException(PROJECT_DUPLICATES_PROPERTY + " of "
+                    + MultipleStringLiteralsExtendedCheck.class.getSimpleName()
+                    + " is not supported, as every worker would see only a part of the files");
+        }
+        this.configuration = configuration;
+        this.threads = threads;
+    }
+
+    /**
+     * Audits the files.
+     *
+     * @param files files to audit
+     * @return events reported for every file, in the order of the given files
+     * @throws CheckstyleException if any worker failed, after all workers have stopped
+     */
+    public List<List<AuditEvent>> process(List<File> files) throws CheckstyleException {
+        final AtomicReferenceArray<List<AuditEvent>> results =
+                new AtomicReferenceArray<>(files.size());
+        final AtomicInteger nextFile = new AtomicInteger();
+        final ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            final List<Future<Void>> workers = new ArrayList<>();
+            for (int index = 0; index < threads; index++) {
+                workers.add(pool.submit(new Worker(files, nextFile, results)));
+            }
+            // a failed worker makes the others stop after their current file, wait for them
+            // so that no audit is left running after the failure is reported
+            CheckstyleException failure = null;
+            for (Future<Void> worker : workers) {
+                try {
+                    await(worker);
+                }
+                catch (CheckstyleException exc) {
+                    if (failure == null) {
+                        failure = exc;
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+        finally {
+            pool.shutdownNow();
+        }
+        final List<List<AuditEvent>> result = new ArrayList<>(files.size());
+        for (int index = 0; index < files.size(); index++) {
+            result.add(results.get(index));
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether any module of the check in the configuration enables the property.
+     * A property is enabled when it is set to anything but a negative number.
+     *
+     * @param configuration root {@code Checker} configuration
+     * @param check class of the check
+     * @param property property name
+     * @return true if a module of the check has the property enabled
+     * @throws CheckstyleException if the property value cannot be read
+     */
+    private static boolean hasCheckProperty(Configuration configuration, Class<?> check,
+            String property) throws CheckstyleException {
+        final Deque<Configuration> modules = new ArrayDeque<>();
+        modules.push(configuration);
+        boolean result = false;
+        while (!result && !modules.isEmpty()) {
+            final Configuration module = modules.pop();
+            result = isCheck(module.getName(), check)
+                    && hasProperty(module, property)
+                    && !isNegativeNumber(module.getProperty(property));
+            for (Configuration child : module.getChildren()) {
+                modules.push(child);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the module name refers to the check, either by its fully qualified
+     * class name or by its short name, with or without suffix.
+     *
+     * @param name module name
+     * @param check class of the check
+     * @return true if the module is the check
+     */
+    private static boolean isCheck(String name, Class<?> check) {
+        final String fullName;
+        if (name.endsWith(CHECK_SUFFIX)) {
+            fullName = name;
+        }
+        else {
+            fullName = name + CHECK_SUFFIX;
+        }
+        return check.getName().equals(fullName)
+                || check.getSimpleName().equals(fullName);
+    }
+
+    /**
+     * Checks whether the module has the property set.
+     *
+     * @param module module configuration
+     * @param property property name
+     * @return true if the property is set
+     */
+    private static boolean hasProperty(Configuration module, String property) {
+        return Arrays.asList(module.getPropertyNames()).contains(property);
+    }
+
+    /**
+     * Checks whether the property value is a negative number, which turns a numeric
+     * property off.
+     *
+     * @param value property value
+     * @return true if the value is a negative number
+     */
+    private static boolean isNegativeNumber(String value) {
+        boolean result;
+        try {
+            result = Integer.parseInt(value.trim()) < 0;
+        }
+        catch (NumberFormatException ignored) {
+            result = false;
+        }
+        return result;
+    }
+
+    /**
+     * Waits for the worker to finish, rethrowing its failure.
+     *
+     * @param worker worker to wait for
+     * @throws CheckstyleException if worker failed or waiting was interrupted
+     */
+    private static void await(Future<Void> worker) throws CheckstyleException {
+        try {
+            worker.get();
+        }
+        catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            throw new CheckstyleException("Audit was interrupted", exc);
+        }
+        catch (ExecutionException exc) {
+            final Throwable cause = exc.getCause();
+            if (cause instanceof CheckstyleException) {
+                throw (CheckstyleException) cause;
+            }
+            throw new CheckstyleException("Audit failed", cause);
+        }
+    }
+
+    /**
+     * Processes files with its own {@code Checker} until none are left.
+     */
+    private final class Worker implements Callable<Void> {
+
+        /** All files of the audit. */
+        private final List<File> files;
+
+        /** Position of the next file nobody has taken yet. */
+        private final AtomicInteger nextFile;
+
+        /** Events of the processed files by file position. */
+        private final AtomicReferenceArray<List<AuditEvent>> results;
+
+        /**
+         * Creates the worker.
+         *
+         * @param files all files of the audit
+         * @param nextFile position of the next file nobody has taken yet
+         * @param results events of the processed files by file position
+         */
+        private Worker(List<File> files, AtomicInteger nextFile,
+                AtomicReferenceArray<List<AuditEvent>> results) {
+            this.files = files;
+            this.nextFile = nextFile;
+            this.results = results;
+        }
+
+        @Override
+        public Void call() throws CheckstyleException {
+            final ViolationCollector collector = new ViolationCollector();
+            final Checker checker = new Checker();
+            try {
+                checker.setModuleClassLoader(Checker.class.getClassLoader());
+                checker.configure(configuration);
+                checker.addListener(collector);
+                int index = nextFile.getAndIncrement();
+                while (index < files.size()) {
+                    checker.process(Collections.singletonList(files.get(index)));
+                    results.set(index, collector.takeEvents());
+                    index = nextFile.getAndIncrement();
+                }
+            }
+            catch (CheckstyleException | RuntimeException exc) {
+                // let other workers stop as soon as they finish their current file
+                nextFile.set(files.size());
+                throw exc;
+            }
+            finally {
+                checker.destroy();
+            }
+            return null;
+        }
+
+    }
+
+}
@@ -0,0 +1,160 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.sevntu.checkstyle.runner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import com.puppycrawl.tools.checkstyle.AbstractAutomaticBean.OutputStreamOptions;
+import com.puppycrawl.tools.checkstyle.ConfigurationLoader;
+import com.puppycrawl.tools.checkstyle.DefaultLogger;
+import com.puppycrawl.tools.checkstyle.PropertiesExpander;
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.AuditListener;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+
+/**
+ * Audits files and directories with a checkstyle configuration using {@link ParallelAudit}
+ * and prints violations in the plain checkstyle format, ordered by file path whatever
+ * the number of threads is.
+ *
+ * <p>
+ * Usage: {@code java -jar target/sevntu-runner.jar -c <configFile> [-t <threads>]
+ * <file or directory>...}
+ * </p>
+ *
+ * <p>
+ * Exit code is the number of violations with error severity, as of checkstyle CLI.
+ * </p>
+ */
+public final class ParallelRunner {
+
+    /** Usage message. */
+    private static final String USAGE = "Usage: java -jar sevntu-runner.jar -c <configFile>"
+            + " [-t <threads>] <file or directory>...";
+
+    /** Option followed by configuration file. */
+    private static final String CONFIG_OPTION = "-c";
+
+    /** Option followed by number of threads. */
+    private static final String THREADS_OPTION = "-t";
+
+    /** Prevent instances. */
+    private ParallelRunner() {
+    }
+
+    /**
+     * Entry point.
+     *
+     * @param args options and files or directories to audit
+     * @throws Exception if audit can not be run
+     */
+    public static void main(String... args) throws Exception {
+        String configFile = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        final List<String> paths = new ArrayList<>();
+        int index = 0;
+        while (index < args.length) {
+            final boolean hasValue = index + 1 < args.length;
+            if (CONFIG_OPTION.equals(args[index]) && hasValue) {
+                index++;
+                configFile = args[index];
+            }
+            else if (THREADS_OPTION.equals(args[index]) && hasValue) {
+                index++;
+                threads = Integer.parseInt(args[index]);
+            }
+            else {
+                paths.add(args[index]);
+            }
+            index++;
+        }
+        if (configFile == null || paths.isEmpty() || threads < 1) {
+            throw new IllegalArgumentException(USAGE);
+        }
+
+        final Configuration configuration = ConfigurationLoader.loadConfiguration(configFile,
+                new PropertiesExpander(System.getProperties()));
+        final List<File> files = collectFiles(paths);
+        final List<List<AuditEvent>> events =
+                new ParallelAudit(configuration, threads).process(files);
+        System.exit(report(files, events));
+    }
+
+    /**
+     * Gets all regular files of the given files and directories, sorted by path so the
+     * report does not depend on file system order.
+     *
+     * @param paths files and directories
+     * @return sorted files
+     * @throws IOException if directory can not be read
+     */
+    private static List<File> collectFiles(List<String> paths) throws IOException {
+        final SortedSet<Path> result = new TreeSet<>();
+        for (String path : paths) {
+            try (Stream<Path> walk = Files.walk(Paths.get(path))) {
+                walk.filter(Files::isRegularFile)
+                    .map(file -> file.toAbsolutePath().normalize())
+                    .forEach(result::add);
+            }
+        }
+        final List<File> files = new ArrayList<>(result.size());
+        for (Path path : result) {
+            files.add(path.toFile());
+        }
+        return files;
+    }
+
+    /**
+     * Replays events to checkstyle's default logger, file by file.
+     *
+     * @param files audited files
+     * @param events events reported for every file, in the order of the files
+     * @return number of violations with error severity
+     */
+    private static int report(List<File> files, List<List<AuditEvent>> events) {
+        final AuditListener logger = new DefaultLogger(System.out, OutputStreamOptions.NONE);
+        int errors = 0;
+        logger.auditStarted(new AuditEvent(files));
+        for (int index = 0; index < files.size(); index++) {
+            final AuditEvent fileEvent = new AuditEvent(files, files.get(index).getPath());
+            logger.fileStarted(fileEvent);
+            for (AuditEvent event : events.get(index)) {
+                logger.addError(event);
+                if (event.getSeverityLevel() == SeverityLevel.ERROR) {
+                    errors++;
+                }
+            }
+            logger.fileFinished(fileEvent);
+        }
+        logger.auditFinished(new AuditEvent(files));
+        return errors;
+    }
+
+}
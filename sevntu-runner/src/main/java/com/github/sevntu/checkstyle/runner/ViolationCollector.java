@@ -0,0 +1,79 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.sevntu.checkstyle.runner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.AuditListener;
+
+/**
+ * Keeps the events reported by a {@code Checker} for the file it is processing,
+ * so they can be merged with the results of the other workers later.
+ */
+final class ViolationCollector implements AuditListener {
+
+    /** Events reported for the current file. */
+    private List<AuditEvent> events = new ArrayList<>();
+
+    @Override
+    public void auditStarted(AuditEvent event) {
+        // no code
+    }
+
+    @Override
+    public void auditFinished(AuditEvent event) {
+        // no code
+    }
+
+    @Override
+    public void fileStarted(AuditEvent event) {
+        // no code
+    }
+
+    @Override
+    public void fileFinished(AuditEvent event) {
+        // no code
+    }
+
+    @Override
+    public void addError(AuditEvent event) {
+        events.add(event);
+    }
+
+    @Override
+    public void addException(AuditEvent event, Throwable throwable) {
+        throw new IllegalStateException(
+                "Exception was thrown while processing " + event.getFileName(), throwable);
+    }
+
+    /**
+     * Hands over the events collected so far and starts collecting anew.
+     *
+     * @return events reported since the previous call
+     */
+    public List<AuditEvent> takeEvents() {
+        final List<AuditEvent> result = events;
+        events = new ArrayList<>();
+        return result;
+    }
+
+}
@@ -0,0 +1,238 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.sevntu.checkstyle.runner;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.sevntu.checkstyle.checks.coding.ForbidReturnInFinallyBlockCheck;
+import com.github.sevntu.checkstyle.checks.coding.MultipleStringLiteralsExtendedCheck;
+import com.github.sevntu.checkstyle.checks.design.StaticMethodCandidateCheck;
+import com.github.sevntu.checkstyle.profiling.ProfilingCheck;
+import com.puppycrawl.tools.checkstyle.Checker;
+import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.TreeWalker;
+import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+
+public class ParallelAuditTest {
+
+    private static final String INPUT_DIRECTORY =
+            "src/test/resources/com/github/sevntu/checkstyle/runner/";
+
+    @Test
+    public void testSameEventsOnOneAndFourThreads() throws Exception {
+        final DefaultConfiguration treeWalker =
+                new DefaultConfiguration(TreeWalker.class.getName());
+        treeWalker.addChild(new DefaultConfiguration(StaticMethodCandidateCheck.class.getName()));
+        treeWalker.addChild(
+                new DefaultConfiguration(ForbidReturnInFinallyBlockCheck.class.getName()));
+        final DefaultConfiguration configuration = createCheckerConfig(treeWalker);
+
+        final List<File> files = new ArrayList<>();
+        for (int index = 0; index < 4; index++) {
+            files.add(getInput("InputParallelAuditFirst.java"));
+            files.add(getInput("InputParallelAuditSecond.java"));
+            files.add(getInput("InputParallelAuditThird.java"));
+        }
+
+        final List<List<String>> single =
+                describe(new ParallelAudit(configuration, 1).process(files));
+        final List<List<String>> parallel =
+                describe(new ParallelAudit(configuration, 4).process(files));
+
+        Assertions.assertEquals(files.size(), single.size(), "Every file should have results");
+        Assertions.assertFalse(single.get(0).isEmpty(), "Fixture should have violations");
+        Assertions.assertEquals(single, parallel,
+                "Events should not depend on the number of threads");
+    }
+
+    @Test
+    public void testFailingWorkerStopsOthers() throws Exception {
+        final DefaultConfiguration treeWalker =
+                new DefaultConfiguration(TreeWalker.class.getName());
+        treeWalker.addChild(new DefaultConfiguration(FailingCheck.class.getName()));
+        final DefaultConfiguration configuration = createCheckerConfig(treeWalker);
+
+        final List<File> files = new ArrayList<>();
+        files.add(getInput("InputParallelAuditFailing.java"));
+        files.addAll(Collections.nCopies(1000, getInput("InputParallelAuditFirst.java")));
+
+        final ParallelAudit audit = new ParallelAudit(configuration, 4);
+        Assertions.assertThrows(CheckstyleException.class, () -> audit.process(files),
+                "Failure of a worker should be rethrown");
+        final int processed = FailingCheck.PROCESSED_FILES.get();
+        Assertions.assertTrue(processed < files.size() - 1,
+                "Other workers should stop, processed " + processed);
+    }
+
+    @Test
+    public void testCacheFileIsRejected() {
+        final DefaultConfiguration configuration =
+                createCheckerConfig(new DefaultConfiguration(TreeWalker.class.getName()));
+        configuration.addProperty("cacheFile", "target/cache.properties");
+
+        final CheckstyleException exc = Assertions.assertThrows(CheckstyleException.class,
+            () -> new ParallelAudit(configuration, 2));
+        Assertions.assertEquals(
+                "cacheFile is not supported, as all workers would write to it at once",
+                exc.getMessage(), "Invalid exception message");
+    }
+
+    @Test
+    public void testProfilingReportFileIsRejected() {
+        final DefaultConfiguration profiling = new DefaultConfiguration("Profiling");
+        profiling.addProperty("reportFile", "target/sevntu-profile.json");
+        profiling.addChild(new DefaultConfiguration(StaticMethodCandidateCheck.class.getName()));
+        final DefaultConfiguration treeWalker =
+                new DefaultConfiguration(TreeWalker.class.getName());
+        treeWalker.addChild(profiling);
+        final DefaultConfiguration configuration = createCheckerConfig(treeWalker);
+
+        final CheckstyleException exc = Assertions.assertThrows(CheckstyleException.class,
+            () -> new ParallelAudit(configuration, 2));
+        Assertions.assertEquals(
+                "reportFile of ProfilingCheck is not supported, as all workers would write to it"
+                        + " at once",
+                exc.getMessage(), "Invalid exception message");
+    }
+
+    @Test
+    public void testProfilingWithoutReportFileIsAccepted() {
+        final DefaultConfiguration profiling =
+                new DefaultConfiguration(ProfilingCheck.class.getName());
+        profiling.addChild(new DefaultConfiguration(StaticMethodCandidateCheck.class.getName()));
+        final DefaultConfiguration treeWalker =
+                new DefaultConfiguration(TreeWalker.class.getName());
+        treeWalker.addChild(profiling);
+        final DefaultConfiguration configuration = createCheckerConfig(treeWalker);
+
+        Assertions.assertDoesNotThrow(() -> new ParallelAudit(configuration, 2));
+    }
+
+    @Test
+    public void testProjectDuplicatesAreRejected() {
+        final DefaultConfiguration literals =
+                new DefaultConfiguration("MultipleStringLiteralsExtended");
+        literals.addProperty("allowedProjectDuplicates", "0");
+        final DefaultConfiguration treeWalker =
+                new DefaultConfiguration(TreeWalker.class.getName());
+        treeWalker.addChild(literals);
+        final DefaultConfiguration configuration = createCheckerConfig(treeWalker);
+
+        final CheckstyleException exc = Assertions.assertThrows(CheckstyleException.class,
+            () -> new ParallelAudit(configuration, 2));
+        Assertions.assertEquals(
+                "allowedProjectDuplicates of MultipleStringLiteralsExtendedCheck is not supported,"
+                        + " as every worker would see only a part of the files",
+                exc.getMessage(), "Invalid exception message");
+    }
+
+    @Test
+    public void testDisabledProjectDuplicatesAreAccepted() {
+        final DefaultConfiguration literals = new DefaultConfiguration(
+                MultipleStringLiteralsExtendedCheck.class.getName());
+        literals.addProperty("allowedProjectDuplicates", "-1");
+        final DefaultConfiguration treeWalker =
+                new DefaultConfiguration(TreeWalker.class.getName());
+        treeWalker.addChild(literals);
+        final DefaultConfiguration configuration = createCheckerConfig(treeWalker);
+
+        Assertions.assertDoesNotThrow(() -> new ParallelAudit(configuration, 2));
+    }
+
+    private static DefaultConfiguration createCheckerConfig(DefaultConfiguration treeWalker) {
+        final DefaultConfiguration configuration =
+                new DefaultConfiguration(Checker.class.getName());
+        configuration.addChild(treeWalker);
+        return configuration;
+    }
+
+    private static File getInput(String fileName) {
+        return new File(INPUT_DIRECTORY + fileName).getAbsoluteFile();
+    }
+
+    private static List<List<String>> describe(List<List<AuditEvent>> events) {
+        final List<List<String>> result = new ArrayList<>();
+        for (List<AuditEvent> fileEvents : events) {
+            final List<String> descriptions = new ArrayList<>();
+            for (AuditEvent event : fileEvents) {
+                descriptions.add(event.getFileName() + ":" + event.getLine() + ":"
+                        + event.getColumn() + ": " + event.getMessage()
+                        + " [" + event.getSourceName() + "]");
+            }
+            result.add(descriptions);
+        }
+        return result;
+    }
+
+    /**
+     * Fails on the failing fixture and makes the workers processing other files wait
+     * for the failure, so they can only stop afterwards.
+     */
+    public static class FailingCheck extends AbstractCheck {
+
+        private static final AtomicInteger PROCESSED_FILES = new AtomicInteger();
+
+        private static final CountDownLatch FAILED = new CountDownLatch(1);
+
+        @Override
+        public int[] getDefaultTokens() {
+            return new int[0];
+        }
+
+        @Override
+        public int[] getAcceptableTokens() {
+            return new int[0];
+        }
+
+        @Override
+        public int[] getRequiredTokens() {
+            return new int[0];
+        }
+
+        @Override
+        public void beginTree(DetailAST rootAST) {
+            if (getFilePath().endsWith("InputParallelAuditFailing.java")) {
+                FAILED.countDown();
+                throw new IllegalStateException("Failing on purpose");
+            }
+            try {
+                FAILED.await(10, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+            }
+            PROCESSED_FILES.incrementAndGet();
+        }
+
+    }
+
+}
@@ -0,0 +1,4 @@
+package com.github.sevntu.checkstyle.runner;
+
+public class InputParallelAuditFailing {
+}
@@ -0,0 +1,24 @@
+package com.github.sevntu.checkstyle.runner;
+
+public class InputParallelAuditFirst {
+
+    private int count;
+
+    private int twice(int value) {
+        return value * 2;
+    }
+
+    private int next() {
+        return count++;
+    }
+
+    public int read() {
+        try {
+            return next();
+        }
+        finally {
+            return twice(count);
+        }
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.github.sevntu.checkstyle.runner;
+
+public class InputParallelAuditSecond {
+
+    private String name = "second";
+
+    private String greet(String other) {
+        return "Hello, " + other;
+    }
+
+    private String describe() {
+        return greet(name);
+    }
+
+    private static String quote(String text) {
+        return '"' + text + '"';
+    }
+
+    public String toText() {
+        return quote(describe());
+    }
+
+}
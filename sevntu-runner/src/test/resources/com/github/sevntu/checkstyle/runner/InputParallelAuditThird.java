@@ -0,0 +1,29 @@
+package com.github.sevntu.checkstyle.runner;
+
+public class InputParallelAuditThird {
+
+    private boolean closed;
+
+    private void log(String message) {
+        System.out.println(message);
+    }
+
+    public boolean close() {
+        try {
+            closed = true;
+        }
+        finally {
+            log("closed");
+            return closed;
+        }
+    }
+
+    class Inner {
+
+        private int size() {
+            return 0;
+        }
+
+    }
+
+}